@@ -0,0 +1,19 @@
+package com.udea.fe.DTO;
+
+import com.udea.fe.entity.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignedUserDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private Role role;
+}
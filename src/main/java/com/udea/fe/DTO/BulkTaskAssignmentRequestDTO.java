@@ -0,0 +1,15 @@
+package com.udea.fe.DTO;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkTaskAssignmentRequestDTO {
+    private Long taskId;
+    private List<Long> userIds = new ArrayList<>();
+    private List<Long> teamIds = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.udea.fe.DTO;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkTaskAssignmentResponseDTO {
+    private Long taskId;
+    private int assigned;
+    private int alreadyAssigned;
+    private int notified;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedbackThreadDTO {
+
+  private Long feedbackId;
+  private String comment;
+  private Integer rating;
+  private LocalDateTime createdAt;
+  private Long createdById;
+  private Long parentFeedbackId;
+  private List<FeedbackResponseDTO> responses = new ArrayList<>();
+  private List<FeedbackThreadDTO> replies = new ArrayList<>();
+}
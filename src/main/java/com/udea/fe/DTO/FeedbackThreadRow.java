@@ -0,0 +1,26 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la consulta del hilo de feedback: un feedback junto con una de
+ * sus respuestas (o sin respuesta, por el left join).
+ */
+@Getter
+@AllArgsConstructor
+public class FeedbackThreadRow {
+
+  private Long feedbackId;
+  private String comment;
+  private Integer rating;
+  private LocalDateTime createdAt;
+  private Long createdById;
+  private Long parentFeedbackId;
+  private Long responseId;
+  private String responseComment;
+  private LocalDateTime responseDate;
+  private Long responseCreatedById;
+}
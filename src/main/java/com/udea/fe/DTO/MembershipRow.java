@@ -0,0 +1,15 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Par usuario-proyecto de la carga completa del índice de pertenencias.
+ */
+@Getter
+@AllArgsConstructor
+public class MembershipRow {
+
+  private Long userId;
+  private Long projectId;
+}
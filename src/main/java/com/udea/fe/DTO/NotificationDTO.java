@@ -19,4 +19,7 @@ public class NotificationDTO {
     private boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
+    private int eventCount;
+    private LocalDateTime lastEventAt;
+    private LocalDateTime publishedAt;
 }
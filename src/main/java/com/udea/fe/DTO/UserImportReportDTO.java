@@ -0,0 +1,16 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class UserImportReportDTO {
+
+  private int total;
+  private int created;
+  private int failed;
+  private List<UserImportRowDTO> rows;
+}
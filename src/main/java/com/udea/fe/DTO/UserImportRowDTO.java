@@ -0,0 +1,29 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de una fila de la importación masiva de usuarios; row empieza en 1 y no cuenta la cabecera del CSV.
+ */
+@Getter
+@AllArgsConstructor
+public class UserImportRowDTO {
+
+  public static final String CREATED = "CREATED";
+  public static final String ERROR = "ERROR";
+
+  private long row;
+  private String email;
+  private String status;
+  private Long userId;
+  private String message;
+
+  public static UserImportRowDTO created(long row, String email, Long userId) {
+    return new UserImportRowDTO(row, email, CREATED, userId, null);
+  }
+
+  public static UserImportRowDTO error(long row, String email, String message) {
+    return new UserImportRowDTO(row, email, ERROR, null, message);
+  }
+}
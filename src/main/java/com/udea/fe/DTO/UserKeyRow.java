@@ -0,0 +1,15 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Email y DNI de un usuario existente, para comprobar la unicidad en la importación masiva.
+ */
+@Getter
+@AllArgsConstructor
+public class UserKeyRow {
+
+  private String email;
+  private String dni;
+}
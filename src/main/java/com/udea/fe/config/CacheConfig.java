@@ -0,0 +1,50 @@
+package com.udea.fe.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cachés en memoria de ids existentes de proyectos, equipos, tareas y usuarios.
+ * Se guardan solo ids (nunca entidades, que no se pueden compartir entre sesiones de Hibernate):
+ * los servicios validan la existencia contra la caché y enlazan la relación con getReferenceById,
+ * sin SELECT. Los repositorios anotan existsById (@Cacheable) y deleteById (@CacheEvict); solo se
+ * cachean los ids que existen, para que un id creado después no quede marcado como inexistente.
+ * Las escrituras en la caché se aplican tras el commit, así un borrado revertido no la vacía
+ * y una lectura dentro de una transacción fallida no la llena.
+ * Cada instancia tiene su caché: un borrado en otra instancia no la vacía. Las escrituras que enlazan
+ * ids cacheados pasan por EntityReferences, que traduce la clave foránea rota a "no encontrado".
+ * Métricas: cache.gets, cache.puts y cache.evictions con el tag cache (projectIds, teamIds, taskIds, userIds).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROJECT_IDS = "projectIds";
+    public static final String TEAM_IDS = "teamIds";
+    public static final String TASK_IDS = "taskIds";
+    public static final String USER_IDS = "userIds";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.entity-ids.max-size:10000}") long maxSize,
+            @Value("${app.cache.entity-ids.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        // Nombres fijos: una anotación con un nombre mal escrito falla en lugar de crear una caché nueva
+        cacheManager.setCacheNames(List.of(PROJECT_IDS, TEAM_IDS, TASK_IDS, USER_IDS));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
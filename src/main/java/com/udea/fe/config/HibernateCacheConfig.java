@@ -0,0 +1,80 @@
+package com.udea.fe.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine) para las entidades de referencia
+ * (proyectos, equipos, workspaces), que se leen mucho más de lo que se escriben.
+ * La caché es local a cada instancia: lo que escribe otra instancia se ve al expirar la entrada (TTL).
+ * Por eso solo guarda datos de referencia, donde un nombre desactualizado unos minutos es aceptable;
+ * no hay caché de consultas, y las pertenencias (UserTeam) y User quedan fuera: las primeras deciden
+ * permisos y destinatarios, y User guardaría el hash de la contraseña en el heap.
+ * Cada región tiene su tamaño y TTL por defecto, configurables con app.hibernate-cache.{región}.max-size y .ttl.
+ * Las regiones se crean aquí y Hibernate falla al arrancar si alguna anotación pide una que no existe.
+ * Con app.hibernate-cache.enabled=false (y en los tests @DataJpaTest) Hibernate no cachea nada.
+ * Métricas: cache.gets, cache.puts y cache.removals con el tag cache igual al nombre de la región.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.hibernate-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    // Regiones de entidades
+    public static final String PROJECTS = "projects";
+    public static final String TEAMS = "teams";
+    public static final String WORKSPACES = "workspaces";
+
+    private record Region(String name, long maxSize, Duration ttl) {
+    }
+
+    private static final List<Region> REGIONS = List.of(
+            new Region(PROJECTS, 5_000, Duration.ofMinutes(30)),
+            new Region(TEAMS, 10_000, Duration.ofMinutes(30)),
+            new Region(WORKSPACES, 5_000, Duration.ofMinutes(30)));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment, MeterRegistry meterRegistry) {
+        // Una URI por instancia: el proveedor comparte el CacheManager entre contextos con la misma URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + System.identityHashCode(this)), getClass().getClassLoader());
+
+        for (Region region : REGIONS) {
+            String prefix = "app.hibernate-cache." + region.name();
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(
+                    environment.getProperty(prefix + ".max-size", Long.class, region.maxSize())));
+            configuration.setExpireAfterWrite(OptionalLong.of(
+                    environment.getProperty(prefix + ".ttl", Duration.class, region.ttl()).toNanos()));
+            configuration.setStatisticsEnabled(true);
+            JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(region.name(), configuration));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
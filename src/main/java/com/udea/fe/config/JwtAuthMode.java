@@ -0,0 +1,10 @@
+package com.udea.fe.config;
+
+/**
+ * Modo en que el filtro JWT construye la autenticación.
+ * DATABASE: carga el usuario (con caché) desde la base de datos.
+ * CLAIMS: confía en los claims firmados (role, status) sin acceder al repositorio.
+ */
+public enum JwtAuthMode {
+    DATABASE, CLAIMS
+}
@@ -4,24 +4,39 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.udea.fe.security.service.UserDetailsServiceImpl;
+import com.udea.fe.entity.Status;
+import com.udea.fe.security.AuthenticatedUser;
+import com.udea.fe.security.service.PrincipalCache;
+import com.udea.fe.security.service.TokenRevocationList;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final JwtAuthMode authMode;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            PrincipalCache principalCache,
+            TokenRevocationList tokenRevocationList,
+            @Value("${security.jwt.auth-mode:DATABASE}") JwtAuthMode authMode) {
+        this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.authMode = authMode;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -39,12 +54,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        Optional<JwtToken> token = jwtService.parseToken(jwt);
+
+        if (token.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        userEmail = token.get().subject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            AuthenticatedUser userDetails = authMode == JwtAuthMode.CLAIMS
+                    ? fromClaims(token.get())
+                    : principalCache.get(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+            if (userDetails != null && userDetails.isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -60,4 +84,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Construye el principal solo con los claims firmados, sin acceder al repositorio.
+     * Devuelve null si el token fue revocado o le faltan claims.
+     */
+    private AuthenticatedUser fromClaims(JwtToken token) {
+        if (token.userId() == null || token.role() == null
+                || tokenRevocationList.isRevoked(token.subject(), token.issuedAt())) {
+            return null;
+        }
+
+        return new AuthenticatedUser(token.userId(), token.subject(), "", token.role(),
+                token.status() == Status.ACTIVE);
+    }
 }
@@ -5,23 +5,32 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${security.jwt.secret}")
-    private String secretKey;
+    // La clave y el parser son inmutables y seguros entre hilos: se crean una sola vez
+    private final Key signingKey;
+    private final JwtParser jwtParser;
 
-    @Value("${security.jwt.expiration}")
     private long jwtExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtService(
+            @Value("${security.jwt.secret}") String secretKey,
+            @Value("${security.jwt.expiration}") long jwtExpiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.jwtExpiration = jwtExpiration;
     }
 
     public String generateToken(User user) {
@@ -35,7 +44,7 @@ public class JwtService {
                 .claim("status", user.getStatus())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -49,13 +58,38 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    /**
+     * Valida firma y expiración con un único parseo del token.
+     * Devuelve la vista tipada si el token es válido, o vacío en caso contrario.
+     */
+    public Optional<JwtToken> parseToken(String token) {
+        try {
+            return Optional.of(toToken(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty(); // Expirado, mal formado, firma o claims inválidos
+        }
+    }
+
+    private JwtToken toToken(Claims claims) {
+        Number id = claims.get("id", Number.class);
+        String role = claims.get("role", String.class);
+        String status = claims.get("status", String.class);
+
+        return new JwtToken(
+                claims.getSubject(),
+                id != null ? id.longValue() : null,
+                role != null ? Role.valueOf(role) : null,
+                status != null ? Status.valueOf(status) : null,
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
     public boolean isTokenValid(String token, String userEmail) {
         try {
             final String username = extractUsername(token);
@@ -0,0 +1,19 @@
+package com.udea.fe.config;
+
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+
+import java.util.Date;
+
+/**
+ * Vista tipada de un token ya verificado (firma y expiración).
+ * Se obtiene con un único parseo mediante {@link JwtService#parseToken(String)}.
+ */
+public record JwtToken(
+        String subject,
+        Long userId,
+        Role role,
+        Status status,
+        Date issuedAt,
+        Date expiration) {
+}
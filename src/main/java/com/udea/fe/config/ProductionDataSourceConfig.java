@@ -0,0 +1,65 @@
+package com.udea.fe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pool de conexiones (HikariCP) para PostgreSQL en dev/prod, activado con app.datasource.production.enabled.
+ * Tamaño fijo (mínimo de conexiones libres = máximo): núcleos de la base de datos * 2 + 1, acotado por la
+ * concurrencia esperada; más conexiones que eso solo añaden contención dentro de PostgreSQL.
+ * Las conexiones viven 25 minutos, por debajo de los cortes del pooler de Supabase, y un keepalive
+ * evita que se cierren por inactividad. En el driver: sentencias preparadas en el servidor a partir de
+ * prepare-threshold ejecuciones, caché de sentencias por conexión y reWriteBatchedInserts, que convierte
+ * los lotes de Hibernate en un único INSERT multi-fila. Con el pooler en modo transacción (puerto 6543)
+ * hay que poner prepare-threshold=0.
+ * Cualquier valor se puede sobrescribir con spring.datasource.hikari.* (se aplica después de estos).
+ * Métricas (actuator): hikaricp.connections.active, .idle, .pending, .acquire (tiempo de espera por
+ * una conexión), .usage y .timeout, con el tag pool=innosistemas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.production.enabled", havingValue = "true")
+public class ProductionDataSourceConfig {
+
+    static final String POOL_NAME = "innosistemas";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.production.database-cores:0}") int databaseCores,
+            @Value("${app.datasource.production.expected-concurrency:20}") int expectedConcurrency,
+            @Value("${app.datasource.production.prepare-threshold:3}") int prepareThreshold,
+            @Value("${app.datasource.production.statement-cache-queries:512}") int statementCacheQueries,
+            @Value("${app.datasource.production.statement-cache-size-mib:8}") int statementCacheSizeMiB) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+        // Sin dato de la base de datos se asume una máquina como la de la aplicación
+        int cores = databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors();
+        int poolSize = poolSize(cores, expectedConcurrency);
+        dataSource.setPoolName(POOL_NAME);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(poolSize);
+        dataSource.setConnectionTimeout(Duration.ofSeconds(5).toMillis());
+        dataSource.setMaxLifetime(Duration.ofMinutes(25).toMillis());
+        dataSource.setKeepaliveTime(Duration.ofMinutes(2).toMillis());
+
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+            dataSource.addDataSourceProperty("preparedStatementCacheQueries", statementCacheQueries);
+            dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", statementCacheSizeMiB);
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", true);
+        }
+        return dataSource;
+    }
+
+    static int poolSize(int databaseCores, int expectedConcurrency) {
+        return Math.max(2, Math.min(databaseCores * 2 + 1, expectedConcurrency));
+    }
+}
@@ -0,0 +1,58 @@
+package com.udea.fe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Instrumentación de SQL en lugar de spring.jpa.show-sql: envuelve el DataSource con datasource-proxy
+ * y SqlStatementListener mide cada sentencia (timer sql.statements, etiquetado con el método de
+ * servicio de StatementOrigin) y registra solo las que superan app.sql-metrics.slow-threshold.
+ * El pool sigue siendo Hikari por debajo: sus métricas hikaricp.* no cambian.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    // Estático: los BeanPostProcessor se crean antes que el resto (y antes del ConversionService,
+    // por eso las duraciones se convierten a mano); el registro se pide al envolver
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourceWrapper(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.sql-metrics.slow-threshold:200ms}") String slowThreshold,
+            @Value("${app.sql-metrics.slow-log-sample-rate:1.0}") double slowLogSampleRate,
+            @Value("${app.sql-metrics.max-logged-sql-length:1000}") int maxLoggedSqlLength,
+            @Value("${app.sql-metrics.slo-buckets:5ms,25ms,100ms,200ms,1s}") String sloBuckets) {
+        Duration threshold = DurationStyle.detectAndParse(slowThreshold);
+        List<Duration> buckets = Arrays.stream(sloBuckets.split(","))
+                .map(String::trim)
+                .filter(bucket -> !bucket.isEmpty())
+                .map(DurationStyle::detectAndParse)
+                .toList();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementListener(
+                                meterRegistry.getObject(), threshold, slowLogSampleRate, maxLoggedSqlLength, buckets))
+                        .build();
+            }
+        };
+    }
+}
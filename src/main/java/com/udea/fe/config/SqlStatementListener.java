@@ -0,0 +1,104 @@
+package com.udea.fe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Registra la latencia de cada sentencia JDBC en el timer sql.statements (tags origin, type y success)
+ * y escribe en el log solo las que superan el umbral, en una sola línea y sin parámetros. Cada
+ * combinación de tags publica solo los buckets configurados (slo-buckets), no un histograma completo:
+ * con un timer por método de servicio, los ~70 buckets por serie dispararían el número de series. Con mucha carga se puede registrar solo una fracción de las lentas (sample-rate);
+ * sql.statements.slow las cuenta todas.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementListener.class);
+    private static final String START = "startNanos";
+
+    private record MeterKey(String origin, String type, boolean success) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double slowLogSampleRate;
+    private final int maxLoggedSqlLength;
+    private final Duration[] sloBuckets;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    public SqlStatementListener(MeterRegistry meterRegistry, Duration slowThreshold,
+                                double slowLogSampleRate, int maxLoggedSqlLength, List<Duration> sloBuckets) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogSampleRate = slowLogSampleRate;
+        this.maxLoggedSqlLength = maxLoggedSqlLength;
+        this.sloBuckets = sloBuckets.toArray(Duration[]::new);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // getElapsedTime solo tiene milisegundos; la mayoría de las sentencias tardan menos
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long elapsed = start != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String origin = StatementOrigin.current();
+        String type = queryInfoList.isEmpty() ? "OTHER" : QueryUtils.getQueryType(queryInfoList.get(0).getQuery()).name();
+
+        timers.computeIfAbsent(new MeterKey(origin, type, execInfo.isSuccess()), this::timer)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (elapsed >= slowThresholdNanos) {
+            slowCounters.computeIfAbsent(origin, this::slowCounter).increment();
+            if (slowLogSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+                logger.warn("SQL lenta: {} ms desde {}{}: {}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), origin,
+                        execInfo.isBatch() ? " (lote de " + execInfo.getBatchSize() + ")" : "",
+                        sql(queryInfoList));
+            }
+        }
+    }
+
+    private Timer timer(MeterKey key) {
+        return Timer.builder("sql.statements")
+                .description("Latencia de las sentencias JDBC")
+                .tag("origin", key.origin())
+                .tag("type", key.type())
+                .tag("success", String.valueOf(key.success()))
+                .serviceLevelObjectives(sloBuckets)
+                .register(meterRegistry);
+    }
+
+    private Counter slowCounter(String origin) {
+        return Counter.builder("sql.statements.slow")
+                .description("Sentencias JDBC por encima del umbral de log")
+                .tag("origin", origin)
+                .register(meterRegistry);
+    }
+
+    private String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream()
+                .map(query -> query.getQuery().replaceAll("\\s+", " ").trim())
+                .distinct()
+                .collect(Collectors.joining("; "));
+        return sql.length() > maxLoggedSqlLength ? sql.substring(0, maxLoggedSqlLength) + "..." : sql;
+    }
+}
@@ -0,0 +1,41 @@
+package com.udea.fe.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Método de servicio que originó las sentencias SQL del hilo actual ("TaskService.createTask"),
+ * para etiquetar las métricas de SqlStatementListener. Se guarda el método más externo: las llamadas
+ * entre servicios no lo cambian. Envuelve a la transacción, así que el flush del commit también cuenta.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementOrigin {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public static String current() {
+        String origin = CURRENT.get();
+        return origin != null ? origin : NONE;
+    }
+
+    @Around("execution(public * com.udea.fe.service..*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+        CURRENT.set(joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.udea.fe.config;
 
+import com.udea.fe.controller.ListResponses;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.*;
@@ -19,6 +20,7 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(origins.toArray(new String[0]))
             .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders(ListResponses.NEXT_CURSOR_HEADER, ListResponses.TOTAL_COUNT_HEADER)
             .allowCredentials(true);
     }
 }
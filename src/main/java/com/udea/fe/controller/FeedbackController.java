@@ -1,6 +1,7 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
 import com.udea.fe.service.FeedbackService;
 import java.util.List;
 
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/feedback")
@@ -20,6 +22,7 @@ public class FeedbackController {
   private static final Logger logger = LoggerFactory.getLogger(FeedbackController.class);
 
   private final FeedbackService feedbackService;
+  private final ListResponses listResponses;
 
   @PostMapping("/create_feedback")
   public ResponseEntity<FeedbackDTO> createFeedback(@RequestBody FeedbackDTO feedbackDTO) {
@@ -43,9 +46,18 @@ public class FeedbackController {
   }
 
   @GetMapping("/all")
-  public ResponseEntity<List<FeedbackDTO>> getAllFeedbacks() {
-    List<FeedbackDTO> feedbacks = feedbackService.getAllFeedbacks();
-    return ResponseEntity.ok(feedbacks);
+  public ResponseEntity<List<FeedbackDTO>> getAllFeedbacks(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    int pageSize = ListResponses.pageSize(size);
+    List<FeedbackDTO> feedbacks = feedbackService.getAllFeedbacks(after, pageSize);
+    return ListResponses.page(feedbacks, pageSize, FeedbackDTO::getFeedbackId);
+  }
+
+  @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllFeedbacks() {
+    return listResponses.ndjson(feedbackService::streamAllFeedbacks);
   }
 
   @DeleteMapping("/{id}/delete")
@@ -67,4 +79,18 @@ public class FeedbackController {
       return ResponseEntity.badRequest().build();
     }
   }
+
+  @GetMapping("/submission/{submissionId}/thread")
+  public ResponseEntity<List<FeedbackThreadDTO>> getFeedbackThreadBySubmission(
+    @PathVariable Long submissionId
+  ) {
+    logger.info("Llamada a getFeedbackThreadBySubmission con submissionId: {}", submissionId);
+    try {
+      List<FeedbackThreadDTO> thread = feedbackService.getFeedbackThreadBySubmissionId(submissionId);
+      return ResponseEntity.ok(thread);
+    } catch (Exception e) {
+      logger.error("Error en getFeedbackThreadBySubmission: {}", e.getMessage(), e);
+      return ResponseEntity.badRequest().build();
+    }
+  }
 }
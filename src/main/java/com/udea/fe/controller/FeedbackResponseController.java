@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +16,7 @@ import java.util.List;
 public class FeedbackResponseController {
 
     private final FeedbackResponseService feedbackResponseService;
+    private final ListResponses listResponses;
 
 
     @PostMapping("/create_feedbackResponse")
@@ -30,9 +32,18 @@ public class FeedbackResponseController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<FeedbackResponseDTO>> getAllFeedbackResponses() {
-        List<FeedbackResponseDTO> feedbackResponses = feedbackResponseService.getAllFeedbackResponses();
-        return ResponseEntity.ok(feedbackResponses);
+    public ResponseEntity<List<FeedbackResponseDTO>> getAllFeedbackResponses(
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size
+    ) {
+        int pageSize = ListResponses.pageSize(size);
+        List<FeedbackResponseDTO> feedbackResponses = feedbackResponseService.getAllFeedbackResponses(after, pageSize);
+        return ListResponses.page(feedbackResponses, pageSize, FeedbackResponseDTO::getId);
+    }
+
+    @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllFeedbackResponses() {
+        return listResponses.ndjson(feedbackResponseService::streamAllFeedbackResponses);
     }
 
     @PutMapping("/{id}/edit")
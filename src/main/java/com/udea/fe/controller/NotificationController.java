@@ -1,12 +1,16 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.security.AuthenticatedUser;
+import com.udea.fe.service.NotificationHub;
 import com.udea.fe.service.NotificationService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -15,6 +19,7 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
 
     @GetMapping("/{id}")
     public ResponseEntity<NotificationDTO> getById(@PathVariable Long id) {
@@ -22,9 +27,27 @@ public class NotificationController {
     }
 
     @GetMapping("/user/")
-    public ResponseEntity<List<NotificationDTO>> getByUserId(Principal principal) {
-        String userEmail = principal.getName();
-        return ResponseEntity.ok(notificationService.getByUser(userEmail));
+    public ResponseEntity<List<NotificationDTO>> getByUserId(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.getByUser(user.getUserId()));
+    }
+
+    // Solo el número para el badge; se responde desde memoria salvo el primer acceso
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.countUnread(user.getUserId()));
+    }
+
+    // Alternativa a consultar /user/ periódicamente: las notificaciones nuevas llegan por SSE
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationHub.subscribe(user.getUserId(), lastEventId);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Integer> deleteAll(@AuthenticationPrincipal AuthenticatedUser user, @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(notificationService.delete(user.getUserId(), ids));
     }
 
     @DeleteMapping("/{id}/delete")
@@ -33,6 +56,17 @@ public class NotificationController {
         return ResponseEntity.noContent().build();
     }
 
+    // Devuelven cuántas notificaciones cambiaron, sin cargar ninguna
+    @PatchMapping("/read-all")
+    public ResponseEntity<Integer> markAllAsRead(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(user.getUserId()));
+    }
+
+    @PatchMapping("/read")
+    public ResponseEntity<Integer> markAsRead(@AuthenticationPrincipal AuthenticatedUser user, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(notificationService.markAsRead(user.getUserId(), ids));
+    }
+
     @PatchMapping("/{id}/read")
     public ResponseEntity<NotificationDTO> markAsRead(@PathVariable Long id) {
         return ResponseEntity.ok(notificationService.markAsRead(id));
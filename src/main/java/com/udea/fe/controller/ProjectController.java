@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/project")
@@ -23,6 +24,7 @@ public class ProjectController {
   private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
 
   private final ProjectService projectService;
+  private final ListResponses listResponses;
 
   @GetMapping("/my-projects/{userId}")
   public ResponseEntity<List<ProjectDTO>> getMyProjects(@PathVariable Long userId) {
@@ -52,9 +54,18 @@ public class ProjectController {
   }
 
   @GetMapping("/all")
-  public ResponseEntity<List<ProjectDTO>> getAllProjects() {
-    List<ProjectDTO> projects = projectService.getAllProjects();
-    return ResponseEntity.ok(projects);
+  public ResponseEntity<List<ProjectDTO>> getAllProjects(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    int pageSize = ListResponses.pageSize(size);
+    List<ProjectDTO> projects = projectService.getAllProjects(after, pageSize);
+    return ListResponses.page(projects, pageSize, ProjectDTO::getId);
+  }
+
+  @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllProjects() {
+    return listResponses.ndjson(projectService::streamAllProjects);
   }
 
   @PutMapping("/{id}/edit")
@@ -2,16 +2,18 @@ package com.udea.fe.controller;
 
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.security.AuthenticatedUser;
 import com.udea.fe.service.SubmissionService;
 
-import java.security.Principal;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/submissions")
@@ -20,10 +22,12 @@ public class SubmissionController {
   private static final Logger logger = LoggerFactory.getLogger(SubmissionController.class);
 
   private final SubmissionService submissionService;
+  private final ListResponses listResponses;
 
   // Inyección por constructor
-  public SubmissionController(SubmissionService submissionService) {
+  public SubmissionController(SubmissionService submissionService, ListResponses listResponses) {
     this.submissionService = submissionService;
+    this.listResponses = listResponses;
   }
 
   @PostMapping
@@ -39,17 +43,27 @@ public class SubmissionController {
   }
 
   @GetMapping
-  public ResponseEntity<List<SubmissionResponseDTO>> getAllSubmissions() {
-    logger.info("Llamada a getAllSubmissions");
+  public ResponseEntity<List<SubmissionResponseDTO>> getAllSubmissions(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    logger.info("Llamada a getAllSubmissions después del id: {}", after);
     try {
-      List<SubmissionResponseDTO> response = submissionService.getAllSubmissions();
-      return ResponseEntity.ok(response);
+      int pageSize = ListResponses.pageSize(size);
+      List<SubmissionResponseDTO> response = submissionService.getAllSubmissions(after, pageSize);
+      return ListResponses.page(response, pageSize, SubmissionResponseDTO::getSubmissionId);
     } catch (Exception e) {
       logger.error("Error en getAllSubmissions: {}", e.getMessage(), e);
       return ResponseEntity.badRequest().build();
     }
   }
 
+  @GetMapping(value = "/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllSubmissions() {
+    logger.info("Llamada a streamAllSubmissions");
+    return listResponses.ndjson(submissionService::streamAllSubmissions);
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<SubmissionResponseDTO> getSubmissionById(@PathVariable Long id) {
     logger.info("Llamada a getSubmissionById con id: {}", id);
@@ -65,12 +79,12 @@ public class SubmissionController {
   @GetMapping("/by-task/{taskId}")
   public ResponseEntity<List<SubmissionResponseDTO>> getSubmissionsByTask(
     @PathVariable Long taskId,
-    Principal principal
+    @AuthenticationPrincipal AuthenticatedUser user
   ) {
     logger.info("Llamada a getSubmissionsByTask con taskId: {}", taskId);
     try {
-      String userEmail = principal.getName();
-      List<SubmissionResponseDTO> response = submissionService.getSubmissionsByTaskId(taskId, userEmail);
+      List<SubmissionResponseDTO> response = submissionService.getSubmissionsByTaskId(
+        taskId, user.getUserId(), user.getRole());
       return ResponseEntity.ok(response);
     } catch (Exception e) {
       logger.error("Error en getSubmissionsByTask: {}", e.getMessage(), e);
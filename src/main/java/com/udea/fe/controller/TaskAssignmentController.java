@@ -8,9 +8,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
-import com.udea.fe.entity.User;
 import com.udea.fe.service.TaskAssignmentService;
 
 @RestController
@@ -38,11 +40,25 @@ public class TaskAssignmentController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskAssignmentResponseDTO> assignTaskBulk(@RequestBody BulkTaskAssignmentRequestDTO request) {
+        try {
+            logger.info("Asignando tarea ID: {} a {} usuarios y {} equipos", request.getTaskId(),
+                    request.getUserIds() == null ? 0 : request.getUserIds().size(),
+                    request.getTeamIds() == null ? 0 : request.getTeamIds().size());
+            BulkTaskAssignmentResponseDTO response = taskAssignmentService.assignTaskBulk(request);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error al asignar la tarea en bloque: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/task/{taskId}/users")
-    public ResponseEntity<List<User>> getUsersAssignedToTask(@PathVariable Long taskId) {
+    public ResponseEntity<List<AssignedUserDTO>> getUsersAssignedToTask(@PathVariable Long taskId) {
         try {
             logger.info("Obteniendo usuarios asignados a la tarea con ID: {}", taskId);
-            List<User> users = taskAssignmentService.getUsersAssignedToTask(taskId);
+            List<AssignedUserDTO> users = taskAssignmentService.getUsersAssignedToTask(taskId);
             return ResponseEntity.ok(users);
         } catch (Exception e) {
             logger.error("Error al obtener usuarios asignados: {}", e.getMessage(), e);
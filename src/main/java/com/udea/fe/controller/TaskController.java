@@ -1,19 +1,25 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.entity.TaskPriority;
 import com.udea.fe.entity.TaskStatus;
+import com.udea.fe.security.AuthenticatedUser;
 import com.udea.fe.service.TaskService;
 
-import java.security.Principal;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,6 +29,7 @@ public class TaskController {
   private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
   private final TaskService taskService;
+  private final ListResponses listResponses;
 
   @PostMapping("/create_task")
   public ResponseEntity<TaskDTO> createTask(@RequestBody TaskDTO taskDTO) {
@@ -39,10 +46,19 @@ public class TaskController {
   }
 
   @GetMapping("/all")
-  public ResponseEntity<List<TaskDTO>> getAllTasks() {
-    logger.info("Obteniendo todas las tareas");
-    List<TaskDTO> tasks = taskService.getAllTasks();
-    return ResponseEntity.ok(tasks);
+  public ResponseEntity<List<TaskDTO>> getAllTasks(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    logger.info("Obteniendo tareas después del ID: {}", after);
+    int pageSize = ListResponses.pageSize(size);
+    List<TaskDTO> tasks = taskService.getAllTasks(after, pageSize);
+    return ListResponses.page(tasks, pageSize, TaskDTO::getId);
+  }
+
+  @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+    return listResponses.ndjson(taskService::streamAllTasks);
   }
 
   @PutMapping("/{id}/edit")
@@ -68,11 +84,14 @@ public class TaskController {
   @GetMapping("/project/{projectId}")
   public ResponseEntity<List<TaskDTO>> getTasksByProject(
     @PathVariable Long projectId,
-    Principal principal
+    @RequestParam(required = false) TaskStatus status,
+    @RequestParam(required = false) TaskPriority priority,
+    @PageableDefault(size = ListResponses.DEFAULT_PAGE_SIZE, sort = "taskId") Pageable pageable,
+    @AuthenticationPrincipal AuthenticatedUser user
   ) {
     logger.info("Obteniendo tareas del proyecto con ID: {}", projectId);
-    String userEmail = principal.getName();
-    List<TaskDTO> tasks = taskService.getTasksByProjectIdAndUser(projectId, userEmail);
-    return ResponseEntity.ok(tasks);
+    Page<TaskDTO> tasks = taskService.getTasksByProjectIdAndUser(
+      projectId, user.getUserId(), user.getRole(), status, priority, pageable);
+    return ListResponses.page(tasks);
   }
 }
@@ -1,13 +1,21 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.DTO.UserImportReportDTO;
+import com.udea.fe.service.UserImportService;
 import com.udea.fe.service.UserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -15,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
   private final UserService userService;
+  private final UserImportService userImportService;
+  private final ListResponses listResponses;
 
   @PreAuthorize("hasRole('ADMIN')")
   @PostMapping("/register")
@@ -25,10 +35,33 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
   }
 
+  // Alta masiva: el cuerpo (CSV con cabecera name,email,password,dni,role,status o arreglo JSON de
+  // usuarios) se procesa a medida que llega; la respuesta trae el resultado de cada fila
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<UserImportReportDTO> importUsersCsv(InputStream body) throws IOException {
+    return ResponseEntity.ok(userImportService.importUsers(body, UserImportService.Format.CSV));
+  }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<UserImportReportDTO> importUsersJson(InputStream body) throws IOException {
+    return ResponseEntity.ok(userImportService.importUsers(body, UserImportService.Format.JSON));
+  }
+
   @GetMapping("/all")
-  public ResponseEntity<Iterable<UserDTO>> getAllUsers() {
-    Iterable<UserDTO> users = userService.getAllUsers();
-    return ResponseEntity.ok(users);
+  public ResponseEntity<List<UserDTO>> getAllUsers(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    int pageSize = ListResponses.pageSize(size);
+    List<UserDTO> users = userService.getAllUsers(after, pageSize);
+    return ListResponses.page(users, pageSize, UserDTO::getId);
+  }
+
+  @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+    return listResponses.ndjson(userService::streamAllUsers);
   }
 
   @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
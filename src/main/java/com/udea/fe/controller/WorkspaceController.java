@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +16,7 @@ import java.util.List;
 public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
+    private final ListResponses listResponses;
 
     @PostMapping
     public ResponseEntity<WorkspaceDTO> createWorkspace(@RequestBody WorkspaceDTO workspaceDTO) {
@@ -29,9 +31,18 @@ public class WorkspaceController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<WorkspaceDTO>> getAllWorkspaces() {
-        List<WorkspaceDTO> workspaces = workspaceService.getAllWorkspaces();
-        return ResponseEntity.ok(workspaces);
+    public ResponseEntity<List<WorkspaceDTO>> getAllWorkspaces(
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size
+    ) {
+        int pageSize = ListResponses.pageSize(size);
+        List<WorkspaceDTO> workspaces = workspaceService.getAllWorkspaces(after, pageSize);
+        return ListResponses.page(workspaces, pageSize, WorkspaceDTO::getId);
+    }
+
+    @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllWorkspaces() {
+        return listResponses.ndjson(workspaceService::streamAllWorkspaces);
     }
 
     @PutMapping("/{id}/edit")
@@ -16,17 +16,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FeedbackResponse {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_responses_seq")
+    @SequenceGenerator(name = "feedbacks_responses_seq", sequenceName = "feedbacks_responses_seq", allocationSize = 50)
     private Long feedbackResponseId;
 
     private String comment;
     private LocalDateTime responseDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "feedback_id")
     private Feedback feedback;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -16,10 +17,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long notificationId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -33,8 +35,33 @@ public class Notification {
 
     private LocalDateTime readAt;
 
+    // Eventos agrupados en esta notificación (digest); 1 para una notificación normal
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private int eventCount = 1;
+
+    private LocalDateTime lastEventAt;
+
+    // Momento en que se confirmó la notificación o su última agrupación: cursor de reenvío del canal SSE
+    private LocalDateTime publishedAt;
+
+    public Notification(Long notificationId, User user, String message, String type, boolean isRead,
+                        LocalDateTime createdAt, LocalDateTime readAt) {
+        this(notificationId, user, message, type, isRead, createdAt, readAt, 1, createdAt, null);
+    }
+
     @PrePersist
     public void prePersist() {
-        createdAt = LocalDateTime.now();
+        // Las notificaciones que llegan del outbox conservan la hora del evento
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (lastEventAt == null) {
+            lastEventAt = createdAt;
+        }
+        // La hora de persistir, no la del evento: el outbox puede entregar con retraso
+        if (publishedAt == null) {
+            publishedAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.udea.fe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación pendiente de entregar. Se escribe en la misma transacción que la operación
+ * que la origina y {@code NotificationOutboxDispatcher} la convierte después en una
+ * {@link Notification}; las filas que agotan los reintentos quedan con {@code failedAt}.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long outboxId;
+
+    // Sin relación con User: encolar no debe cargar ni bloquear al destinatario
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private String message;
+
+    private String type;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    public NotificationOutbox(Long userId, String message, String type, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.message = message;
+        this.type = type;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+}
@@ -10,14 +10,19 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "submissions")
+@NamedEntityGraph(name = Submission.WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Submission {
 
+  // Autor de la entrega, para mostrar su nombre en los listados por tarea
+  public static final String WITH_USER = "Submission.withUser";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submissions_seq")
+  @SequenceGenerator(name = "submissions_seq", sequenceName = "submissions_seq", allocationSize = 50)
   private Long submissionId;
 
   @Size(
@@ -29,11 +34,11 @@ public class Submission {
   private String fileUrl;
   private LocalDateTime submittedAt;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "task_id")
   private Task task;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private User user;
 }
@@ -1,21 +1,39 @@
 package com.udea.fe.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "task_assignment")
 @Getter
 @Setter
 
-public class TaskAssignment {
+public class TaskAssignment implements Persistable<TaskAssignmentId> {
     @EmbeddedId
     private TaskAssignmentId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("taskId")
     @JoinColumn(name = "task_id")
     private Task task;
 
+    // Con id asignado, save() haría merge (un SELECT por fila); así se inserta directamente y en lote
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -0,0 +1,27 @@
+package com.udea.fe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Momento a partir del cual se aceptan los tokens de un email: los emitidos antes se rechazan en el
+ * modo de autenticación por claims. Sin relación con User: la fila debe sobrevivir al borrado del usuario.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    @Id
+    private String email;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -4,20 +4,46 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+// Sin caché de segundo nivel: la pertenencia decide permisos y la caché no se comparte entre instancias
 @Entity
 @Table(name = "user_teams")
+@NamedEntityGraph(
+    name = UserTeam.WITH_TEAM_DETAILS,
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "team", subgraph = "team")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "team", attributeNodes = {
+            @NamedAttributeNode(value = "project", subgraph = "project"),
+            @NamedAttributeNode("leader")
+        }),
+        @NamedSubgraph(name = "project", attributeNodes = @NamedAttributeNode("createdBy"))
+    }
+)
+@NamedEntityGraph(
+    name = UserTeam.WITH_PROJECT,
+    attributeNodes = @NamedAttributeNode(value = "team", subgraph = "team"),
+    subgraphs = @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("project"))
+)
 @Getter
 @Setter
 public class UserTeam {
+
+    // Miembro con su equipo completo (proyecto, creador y líder), tal como se serializa en /teams/{id}/users
+    public static final String WITH_TEAM_DETAILS = "UserTeam.withTeamDetails";
+    // Equipo y proyecto, para listar los proyectos de un usuario
+    public static final String WITH_PROJECT = "UserTeam.withProject";
+
     @EmbeddedId
     private UserTeamId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("userId")
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("teamId")
     @JoinColumn(name = "team_id")
     private Team team;
@@ -1,12 +1,17 @@
 package com.udea.fe.entity;
 
+import com.udea.fe.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.WORKSPACES)
 @Table(name = "workspaces")
 @Getter
 @Setter
@@ -14,13 +19,14 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Workspace {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspaces_seq")
+    @SequenceGenerator(name = "workspaces_seq", sequenceName = "workspaces_seq", allocationSize = 50)
     private Long workspaceId;
 
     private String name;
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
 }
@@ -0,0 +1,37 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackResponseDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.DTO.FeedbackThreadRow;
+import com.udea.fe.entity.Feedback;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface FeedbackMapper {
+
+    @Mapping(target = "createdById", source = "createdBy.userId")
+    @Mapping(target = "submissionId", source = "submission.submissionId")
+    @Mapping(target = "parentFeedbackId", source = "parentFeedback.feedbackId")
+    FeedbackDTO toDTO(Feedback feedback);
+
+    // Entrega, autor, padre y fecha los resuelve el servicio
+    @Mapping(target = "feedbackId", ignore = true)
+    @Mapping(target = "submission", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "parentFeedback", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    Feedback toEntity(FeedbackDTO feedbackDTO);
+
+    // Respuestas y réplicas se agregan al armar el árbol
+    @Mapping(target = "responses", ignore = true)
+    @Mapping(target = "replies", ignore = true)
+    FeedbackThreadDTO toThreadDTO(FeedbackThreadRow row);
+
+    @Mapping(target = "id", source = "responseId")
+    @Mapping(target = "comment", source = "responseComment")
+    @Mapping(target = "createdById", source = "responseCreatedById")
+    FeedbackResponseDTO toThreadResponseDTO(FeedbackThreadRow row);
+}
@@ -0,0 +1,22 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.FeedbackResponseDTO;
+import com.udea.fe.entity.FeedbackResponse;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface FeedbackResponseMapper {
+
+    @Mapping(target = "id", source = "feedbackResponseId")
+    @Mapping(target = "feedbackId", source = "feedback.feedbackId")
+    @Mapping(target = "createdById", source = "createdBy.userId")
+    FeedbackResponseDTO toDTO(FeedbackResponse feedbackResponse);
+
+    @Mapping(target = "feedbackResponseId", ignore = true)
+    @Mapping(target = "feedback", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "responseDate", ignore = true)
+    FeedbackResponse toEntity(FeedbackResponseDTO feedbackResponseDTO);
+}
@@ -0,0 +1,26 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.Notification;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface NotificationMapper {
+
+    @Mapping(target = "id", source = "notificationId")
+    @Mapping(target = "userId", source = "user.userId")
+    NotificationDTO toDTO(Notification notification);
+
+    // Usuario, estado de lectura, fechas y agrupación los gestiona el servicio
+    @Mapping(target = "notificationId", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "read", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "readAt", ignore = true)
+    @Mapping(target = "eventCount", ignore = true)
+    @Mapping(target = "lastEventAt", ignore = true)
+    @Mapping(target = "publishedAt", ignore = true)
+    Notification toEntity(NotificationDTO notificationDTO);
+}
@@ -3,15 +3,30 @@ package com.udea.fe.mapper;
 import com.udea.fe.DTO.ProjectDTO;
 import com.udea.fe.entity.Project;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = SharedMapperConfig.class)
 public interface ProjectMapper {
 
     @Mapping(target = "id", source = "projectId")
     @Mapping(target = "createdById", source = "createdBy.userId")
     ProjectDTO toDTO(Project project);
-}
 
+    // El creador y el estado inicial los asigna el servicio
+    @Mapping(target = "projectId", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    Project toEntity(ProjectDTO projectDTO);
+
+    // El estado solo cambia con changeProjectStatus
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "projectId", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    void updateEntity(ProjectDTO projectDTO, @MappingTarget Project project);
+}
@@ -0,0 +1,12 @@
+package com.udea.fe.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Configuración común de los mappers MapStruct (generados en compilación).
+ * Cualquier propiedad destino sin mapear hace fallar la compilación.
+ */
+@MapperConfig(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SharedMapperConfig {
+}
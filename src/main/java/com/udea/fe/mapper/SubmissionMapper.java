@@ -0,0 +1,21 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.entity.Submission;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface SubmissionMapper {
+
+    @Mapping(target = "taskId", source = "task.taskId")
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "userName", ignore = true)
+    SubmissionResponseDTO toDTO(Submission submission);
+
+    @Mapping(target = "taskId", source = "task.taskId")
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "userName", source = "user.name")
+    SubmissionResponseDTO toDTOWithUserName(Submission submission);
+}
@@ -3,14 +3,33 @@ package com.udea.fe.mapper;
 import com.udea.fe.DTO.TaskDTO;
 import com.udea.fe.entity.Task;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(componentModel = "spring")
+@Mapper(config = SharedMapperConfig.class)
 public interface TaskMapper {
 
     @Mapping(target = "id", source = "taskId")
     @Mapping(target = "projectId", source = "project.projectId")
     @Mapping(target = "createdById", source = "createdBy.userId")
     TaskDTO toDTO(Task task);
+
+    // Proyecto, creador, estado y fecha de creación los asigna el servicio
+    @Mapping(target = "taskId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    Task toEntity(TaskDTO taskDTO);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "taskId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    void updateEntity(TaskDTO taskDTO, @MappingTarget Task task);
 }
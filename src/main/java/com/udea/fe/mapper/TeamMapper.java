@@ -0,0 +1,22 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.entity.Team;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface TeamMapper {
+
+    @Mapping(target = "id", source = "teamId")
+    @Mapping(target = "projectId", source = "project.projectId")
+    @Mapping(target = "leaderId", source = "leader.userId")
+    TeamDTO toDTO(Team team);
+
+    // Proyecto y líder los resuelve el servicio
+    @Mapping(target = "teamId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "leader", ignore = true)
+    Team toEntity(TeamDTO teamDTO);
+}
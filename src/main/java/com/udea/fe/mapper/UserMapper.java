@@ -0,0 +1,21 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.entity.User;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = SharedMapperConfig.class)
+public interface UserMapper {
+
+    // Nunca se expone el hash de la contraseña
+    @Mapping(target = "id", source = "userId")
+    @Mapping(target = "password", ignore = true)
+    UserDTO toDTO(User user);
+
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "fullName", ignore = true)
+    User toEntity(UserDTO userDTO);
+}
@@ -1,7 +1,27 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.FeedbackThreadRow;
 import com.udea.fe.entity.Feedback;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    List<Feedback> findBySubmission_SubmissionId(Long submissionId);
+
+    // Hilo completo de una entrega (feedback + respuestas) en una sola consulta por idx_feedbacks_submission_id
+    @Query("""
+        select new com.udea.fe.DTO.FeedbackThreadRow(
+            f.feedbackId, f.comment, f.rating, f.createdAt, f.createdBy.userId, f.parentFeedback.feedbackId,
+            r.feedbackResponseId, r.comment, r.responseDate, r.createdBy.userId)
+        from Feedback f
+        left join FeedbackResponse r on r.feedback = f
+        where f.submission.submissionId = :submissionId
+        order by f.feedbackId, r.feedbackResponseId
+        """)
+    List<FeedbackThreadRow> findThreadRowsBySubmissionId(@Param("submissionId") Long submissionId);
+
+    List<Feedback> findByFeedbackIdGreaterThanOrderByFeedbackIdAsc(Long feedbackId, Limit limit);
 }
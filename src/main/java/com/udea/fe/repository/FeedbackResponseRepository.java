@@ -1,7 +1,10 @@
 package com.udea.fe.repository;
 
 import com.udea.fe.entity.FeedbackResponse;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface FeedbackResponseRepository extends JpaRepository<FeedbackResponse, Long> {
+    List<FeedbackResponse> findByFeedbackResponseIdGreaterThanOrderByFeedbackResponseIdAsc(Long feedbackResponseId, Limit limit);
 }
@@ -0,0 +1,26 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED (timeout -2): cada despachador toma un lote distinto sin esperar a los demás
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<NotificationOutbox> findByFailedAtIsNullAndNextAttemptAtLessThanEqualOrderByOutboxIdAsc(
+            LocalDateTime now, Limit limit);
+
+    long countByFailedAtIsNull();
+
+    Optional<NotificationOutbox> findFirstByFailedAtIsNullOrderByOutboxIdAsc();
+}
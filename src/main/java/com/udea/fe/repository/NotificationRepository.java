@@ -1,11 +1,66 @@
 package com.udea.fe.repository;
 
 import com.udea.fe.entity.Notification;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserUserId(Long userId);
-    List<Notification> findByUserUserIdAndIsReadFalse(Long userId);
+
+    // Consultas explícitas: la versión derivada genera un left join a users y "not(is_read)",
+    // que impide usar idx_notifications_user_read_created (user_id, is_read, created_at)
+    @Query("select n from Notification n where n.user.userId = :userId and n.isRead = false order by n.createdAt desc")
+    List<Notification> findByUserUserIdAndIsReadFalse(@Param("userId") Long userId);
+
+    @Query("select count(n) from Notification n where n.user.userId = :userId and n.isRead = false")
+    long countByUserUserIdAndIsReadFalse(@Param("userId") Long userId);
+
+    // Reenvío del canal SSE; usa idx_notifications_user_published (user_id, published_at)
+    @Query("""
+        select n from Notification n
+        where n.user.userId = :userId and n.publishedAt >= :since
+        order by n.publishedAt, n.notificationId
+        """)
+    List<Notification> findPublishedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since, Limit limit);
+
+    // Digests abiertos donde agrupar eventos nuevos; se bloquean para que dos despachadores no pisen el contador.
+    // Solo los del tipo y mensaje de los eventos del lote: el resto de no leídas del usuario queda libre
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        select n from Notification n
+        where n.user.userId in :userIds and n.isRead = false and n.createdAt >= :since
+          and n.type in :types and n.message in :messages
+        order by n.createdAt
+        """)
+    List<Notification> findOpenDigests(@Param("userIds") Collection<Long> userIds, @Param("types") Collection<String> types,
+                                       @Param("messages") Collection<String> messages, @Param("since") LocalDateTime since);
+
+    // Lote de la limpieza periódica: ids de notificaciones leídas anteriores a la fecha de corte
+    @Query("select n.notificationId from Notification n where n.isRead = true and n.createdAt < :cutoff order by n.notificationId")
+    List<Long> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Operaciones masivas: una sola sentencia, siempre limitadas a las notificaciones del usuario
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true, n.readAt = :now where n.user.userId = :userId and n.isRead = false")
+    int markAllAsRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Notification n set n.isRead = true, n.readAt = :now
+        where n.user.userId = :userId and n.isRead = false and n.notificationId in :ids
+        """)
+    int markAsRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.user.userId = :userId and n.notificationId in :ids")
+    int deleteByUserAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
@@ -1,12 +1,23 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Project;
-
 import java.util.List;
-
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PROJECT_IDS, unless = "!#result")
+    boolean existsById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PROJECT_IDS)
+    void deleteById(Long id);
+
     List<Project> findByCreatedByUserId(Long userId);
 
+    List<Project> findByProjectIdGreaterThanOrderByProjectIdAsc(Long projectId, Limit limit);
 }
@@ -2,9 +2,14 @@ package com.udea.fe.repository;
 
 import com.udea.fe.entity.Submission;
 import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+  @EntityGraph(Submission.WITH_USER)
   List<Submission> findByTask_TaskId(Long taskId);
   List<Submission> findByTask_TaskIdAndUser_UserId(Long taskId, Long userId);
+
+  List<Submission> findBySubmissionIdGreaterThanOrderBySubmissionIdAsc(Long submissionId, Limit limit);
 }
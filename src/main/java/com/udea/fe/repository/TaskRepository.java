@@ -1,10 +1,62 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Task;
+import com.udea.fe.entity.TaskPriority;
+import com.udea.fe.entity.TaskStatus;
 import java.util.List;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+  @Override
+  @Cacheable(cacheNames = CacheConfig.TASK_IDS, unless = "!#result")
+  boolean existsById(Long id);
+
+  @Override
+  @CacheEvict(cacheNames = CacheConfig.TASK_IDS)
+  void deleteById(Long id);
+
   boolean existsByNameAndProject_ProjectId(String name, Long projectId);
   List<Task> findByProject_ProjectId(Long projectId);
+
+  @Query("""
+      select t from Task t
+      where t.project.projectId = :projectId
+        and (:status is null or t.status = :status)
+        and (:priority is null or t.priority = :priority)
+      """)
+  Page<Task> findByProjectFiltered(
+      @Param("projectId") Long projectId,
+      @Param("status") TaskStatus status,
+      @Param("priority") TaskPriority priority,
+      Pageable pageable);
+
+  // Tareas del proyecto asignadas al usuario directamente (USER) o a alguno de sus equipos (TEAM)
+  @Query("""
+      select t from Task t
+      where t.project.projectId = :projectId
+        and (:status is null or t.status = :status)
+        and (:priority is null or t.priority = :priority)
+        and exists (
+          select 1 from TaskAssignment a
+          where a.id.taskId = t.taskId
+            and ((a.id.assignedType = 'USER' and a.id.assignedId = :userId)
+              or (a.id.assignedType = 'TEAM' and a.id.assignedId in (
+                    select ut.id.teamId from UserTeam ut where ut.id.userId = :userId))))
+      """)
+  Page<Task> findVisibleToUser(
+      @Param("projectId") Long projectId,
+      @Param("userId") Long userId,
+      @Param("status") TaskStatus status,
+      @Param("priority") TaskPriority priority,
+      Pageable pageable);
+
+  List<Task> findByTaskIdGreaterThanOrderByTaskIdAsc(Long taskId, Limit limit);
 }
@@ -1,16 +1,34 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Project;
 import com.udea.fe.entity.Team;
 import com.udea.fe.entity.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TEAM_IDS, unless = "!#result")
+    boolean existsById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TEAM_IDS)
+    void deleteById(Long id);
+
     List<Team> findByProject(Project project);
+
     List<Team> findByLeader(User leader);
     Optional<Team> findByNameAndProject(String name, Project project);
+
+    @Query("select t.teamId from Team t where t.teamId in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
 
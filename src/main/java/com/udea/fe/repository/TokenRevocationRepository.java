@@ -0,0 +1,22 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(Instant since);
+
+    // Limpieza de las revocaciones vencidas: pasada la expiración del JWT no queda ningún token anterior
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation r where r.revokedAt < :limit")
+    int deleteRevokedBefore(@Param("limit") Instant limit);
+}
@@ -1,17 +1,59 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.config.CacheConfig;
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.UserKeyRow;
 import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_IDS, unless = "!#result")
+    boolean existsById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_IDS)
+    void deleteById(Long id);
+
     Optional<User> findByEmail(String email);
     Optional<User> findByDni(String dni);
+
     List<User> findByRole(Role role);
+
     List<User> findByStatus(Status status);
-    List<User> findByRoleNot(Role role);
+
+    List<User> findByRoleNotAndUserIdGreaterThanOrderByUserIdAsc(Role role, Long userId, Limit limit);
+
+    @Query("select u.userId from User u where u.userId in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Importación masiva: emails y DNI ya registrados de un bloque de filas, en una sola consulta
+    @Query("select new com.udea.fe.DTO.UserKeyRow(u.email, u.dni) from User u where u.email in :emails or u.dni in :dnis")
+    List<UserKeyRow> findKeysByEmailOrDni(@Param("emails") Collection<String> emails, @Param("dnis") Collection<String> dnis);
+
+    // Usuarios asignados a la tarea directamente (USER) o como miembros de un equipo asignado (TEAM)
+    @Query("""
+        select new com.udea.fe.DTO.AssignedUserDTO(u.userId, u.name, u.email, u.role)
+        from User u
+        where exists (
+          select 1 from TaskAssignment a
+          where a.id.taskId = :taskId
+            and ((a.id.assignedType = 'USER' and a.id.assignedId = u.userId)
+              or (a.id.assignedType = 'TEAM' and exists (
+                    select 1 from UserTeam ut
+                    where ut.id.teamId = a.id.assignedId and ut.id.userId = u.userId))))
+        order by u.name, u.userId
+        """)
+    List<AssignedUserDTO> findAssignedToTask(@Param("taskId") Long taskId);
 }
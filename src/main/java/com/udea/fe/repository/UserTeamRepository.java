@@ -1,17 +1,35 @@
 package com.udea.fe.repository;
 
-import com.udea.fe.entity.Team;
+import com.udea.fe.DTO.MembershipRow;
 import com.udea.fe.entity.UserTeam;
 import com.udea.fe.entity.UserTeamId;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserTeamRepository extends JpaRepository<UserTeam, UserTeamId> {
+    @EntityGraph(UserTeam.WITH_PROJECT)
     List<UserTeam> findByIdUserId(Long userId);
-    List<UserTeam> findByTeam(Team team);
+    @EntityGraph(UserTeam.WITH_TEAM_DETAILS)
+    List<UserTeam> findByTeam_TeamId(Long teamId);
+
+    // Sin caché de consultas: decide la visibilidad de un proyecto y los destinatarios de las
+    // notificaciones, y la caché de Hibernate es local a cada instancia
     @Query("SELECT COUNT(ut) > 0 FROM UserTeam ut WHERE ut.user.userId = :userId AND ut.team.project.projectId = :projectId")
     boolean existsByUserIdAndProjectId(Long userId, Long projectId);
+
+    @Query("SELECT DISTINCT ut.id.userId FROM UserTeam ut WHERE ut.id.teamId IN :teamIds")
+    List<Long> findUserIdsByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    // Para MembershipIndex: la reconciliación lee la base de datos
+    @Query("SELECT new com.udea.fe.DTO.MembershipRow(ut.id.userId, t.project.projectId) FROM UserTeam ut JOIN ut.team t WHERE t.project IS NOT NULL")
+    List<MembershipRow> findAllMemberships();
+
+    @Query("SELECT DISTINCT t.project.projectId FROM UserTeam ut JOIN ut.team t WHERE ut.id.userId = :userId AND t.project IS NOT NULL")
+    List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.udea.fe.repository;
 
 import com.udea.fe.entity.Workspace;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
+    List<Workspace> findByWorkspaceIdGreaterThanOrderByWorkspaceIdAsc(Long workspaceId, Limit limit);
 }
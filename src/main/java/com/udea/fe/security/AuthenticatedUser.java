@@ -0,0 +1,39 @@
+package com.udea.fe.security;
+
+import com.udea.fe.entity.Role;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Principal de las peticiones autenticadas: además del email (username) lleva el id y el rol
+ * del usuario, cargados una vez por el filtro JWT (desde la caché de principales o los claims).
+ * Los controladores lo reciben con @AuthenticationPrincipal y pasan id y rol a los servicios,
+ * que así no vuelven a buscar al usuario por email.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+    private final Role role;
+
+    public AuthenticatedUser(Long userId, String email, String password, Role role, boolean enabled) {
+        super(email, password, enabled, true, true, true, role.getAuthorities());
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isTeacher() {
+        return role == Role.TEACHER;
+    }
+
+    // Copia para guardar en caché: el filtro no necesita la contraseña y no debe quedar en memoria
+    public AuthenticatedUser withoutPassword() {
+        return new AuthenticatedUser(userId, getUsername(), "", role, isEnabled());
+    }
+}
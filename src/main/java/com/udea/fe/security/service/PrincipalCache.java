@@ -0,0 +1,58 @@
+package com.udea.fe.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.fe.security.AuthenticatedUser;
+import com.udea.fe.service.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada (tamaño + TTL) de los principales ya verificados por el filtro JWT.
+ * Evita consultar la tabla de usuarios en cada petición autenticada.
+ * Las métricas se publican como cache.gets / cache.evictions con el tag cache=jwtPrincipals.
+ * Dentro de una transacción, evict espera al commit: antes, otra petición podría recargar el rol o el
+ * estado anteriores y dejarlos en caché durante todo el TTL.
+ */
+@Component
+public class PrincipalCache {
+
+    static final String CACHE_NAME = "jwtPrincipals";
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(
+            UserDetailsServiceImpl userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.jwt.principal-cache.ttl:5m}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public AuthenticatedUser get(String email) {
+        return cache.get(email, this::load);
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        AfterCommit.run(() -> cache.invalidate(email));
+    }
+
+    private AuthenticatedUser load(String email) {
+        // Se guarda sin contraseña: el filtro no la necesita y no debe quedar en memoria
+        return userDetailsService.loadUserByUsername(email).withoutPassword();
+    }
+}
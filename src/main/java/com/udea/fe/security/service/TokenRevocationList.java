@@ -0,0 +1,102 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.config.JwtAuthMode;
+import com.udea.fe.entity.TokenRevocation;
+import com.udea.fe.repository.TokenRevocationRepository;
+import com.udea.fe.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación para el modo de autenticación por claims. Cada cambio de rol, estado o email y
+ * cada borrado de un usuario guarda en token_revocations el momento de la revocación: los tokens emitidos
+ * antes dejan de aceptarse. La copia en memoria se refresca periódicamente solo con las filas cambiadas
+ * desde la consulta anterior, así las revocaciones hechas en otra instancia se aplican en esta.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // Margen que se vuelve a leer en cada refresco: cubre las filas que otra instancia confirmó después
+    // de la consulta anterior con un revoked_at previo (se fija antes del commit) y el desfase de relojes
+    static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JwtAuthMode authMode;
+    private final long jwtExpiration;
+
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private Instant lastRefresh;
+
+    public TokenRevocationList(
+            TokenRevocationRepository tokenRevocationRepository,
+            @Value("${security.jwt.auth-mode:DATABASE}") JwtAuthMode authMode,
+            @Value("${security.jwt.expiration}") long jwtExpiration) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.authMode = authMode;
+        this.jwtExpiration = jwtExpiration;
+    }
+
+    /**
+     * Se guarda también en modo DATABASE: al pasar a CLAIMS, los tokens emitidos antes siguen vivos.
+     * Dentro de una transacción, la copia local se actualiza tras el commit, igual que en las demás instancias.
+     */
+    public void revoke(String email) {
+        if (email == null) {
+            return;
+        }
+        // Los claims iat tienen precisión de segundos: se redondea hacia arriba para que un token emitido
+        // en el mismo segundo (iat truncado) también quede revocado; uno nuevo puede tardar hasta un segundo
+        Instant revokedAt = ceilToSecond(Instant.now());
+        tokenRevocationRepository.save(new TokenRevocation(email, revokedAt));
+
+        AfterCommit.run(() -> apply(email, revokedAt));
+    }
+
+    public boolean isRevoked(String email, Date issuedAt) {
+        Instant revokedAt = revokedBefore.get(email);
+        return revokedAt != null && (issuedAt == null || issuedAt.toInstant().isBefore(revokedAt));
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:30s}")
+    public void refresh() {
+        // Pasada la expiración del JWT, ningún token previo a la revocación sigue vivo
+        Instant now = Instant.now();
+        Instant limit = now.minusMillis(jwtExpiration);
+        tokenRevocationRepository.deleteRevokedBefore(limit);
+        if (authMode != JwtAuthMode.CLAIMS) {
+            return;
+        }
+
+        Instant since = lastRefresh == null ? limit : lastRefresh.minus(REFRESH_OVERLAP);
+        List<TokenRevocation> changed = tokenRevocationRepository.findByRevokedAtGreaterThanEqual(since);
+        changed.forEach(revocation -> apply(revocation.getEmail(), revocation.getRevokedAt()));
+        lastRefresh = now;
+
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.isBefore(limit));
+
+        logger.debug("Lista de revocación actualizada: {} cambios, {} revocaciones vigentes",
+                changed.size(), revokedBefore.size());
+    }
+
+    static Instant ceilToSecond(Instant instant) {
+        Instant seconds = instant.truncatedTo(ChronoUnit.SECONDS);
+        return seconds.equals(instant) ? seconds : seconds.plusSeconds(1);
+    }
+
+    private void apply(String email, Instant revokedAt) {
+        revokedBefore.merge(email, revokedAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+}
@@ -0,0 +1,29 @@
+package com.udea.fe.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aplica cambios a estructuras en memoria (cachés, contadores, índices) solo si la transacción
+ * actual se confirma: si se revierte, la memoria no debe reflejar una escritura que no existe,
+ * y si se aplicara antes del commit otra petición podría recargar el valor anterior.
+ * Fuera de una transacción el cambio se aplica en el acto.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
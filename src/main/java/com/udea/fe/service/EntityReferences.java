@@ -0,0 +1,78 @@
+package com.udea.fe.service;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Enlaza relaciones sin cargar la entidad referenciada: para una clave foránea basta con saber que el id
+ * existe, y existsById pasa por la caché de ids (CacheConfig) mientras getReferenceById no consulta.
+ * La caché es de cada instancia: si otra instancia borró la entidad referenciada, la validación pasa
+ * y la clave foránea falla. saveAndFlush adelanta ese fallo al servicio, quita de la caché los ids
+ * enlazados y vuelve a comprobarlos en la base de datos para lanzar el mismo "no encontrado" que
+ * habría dado la validación.
+ */
+@Component
+public class EntityReferences {
+
+    // PostgreSQL usa 23503 para toda violación de clave foránea; H2, 23506 al insertar sin el padre
+    private static final Set<String> FOREIGN_KEY_STATES = Set.of("23503", "23506");
+
+    private final CacheManager cacheManager;
+    private final TransactionTemplate checkTemplate;
+
+    public EntityReferences(CacheManager cacheManager, PlatformTransactionManager transactionManager) {
+        this.cacheManager = cacheManager;
+        // Tras el fallo la transacción actual no admite más consultas: se comprueba en otra
+        this.checkTemplate = new TransactionTemplate(transactionManager);
+        this.checkTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.checkTemplate.setReadOnly(true);
+    }
+
+    /** Id que se enlaza; en saveAndFlush un id nulo (relación opcional sin cambios) se ignora. */
+    public record Reference<E>(String cache, Long id, JpaRepository<E, Long> repository,
+                               Supplier<? extends RuntimeException> notFound) {
+    }
+
+    public <E> E require(Reference<E> reference) {
+        if (!reference.repository().existsById(reference.id())) {
+            throw reference.notFound().get();
+        }
+        return reference.repository().getReferenceById(reference.id());
+    }
+
+    public <T> T saveAndFlush(JpaRepository<T, ?> repository, T entity, Reference<?>... references) {
+        try {
+            return repository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (!isForeignKeyViolation(e)) {
+                throw e;
+            }
+            for (Reference<?> reference : references) {
+                if (reference.id() == null) {
+                    continue;
+                }
+                // evictIfPresent no espera al commit, que no va a llegar
+                cacheManager.getCache(reference.cache()).evictIfPresent(reference.id());
+                if (!Boolean.TRUE.equals(checkTemplate.execute(status -> reference.repository().existsById(reference.id())))) {
+                    throw reference.notFound().get();
+                }
+            }
+            throw e;
+        }
+    }
+
+    private boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && FOREIGN_KEY_STATES.contains(sqlException.getSQLState());
+    }
+}
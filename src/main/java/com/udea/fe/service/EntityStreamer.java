@@ -0,0 +1,71 @@
+package com.udea.fe.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Recorre una tabla completa por páginas keyset (id mayor que el último leído) entregando cada fila
+ * ya mapeada a DTO. Cada página se lee y se mapea en su propia transacción de solo lectura, de como
+ * mucho PAGE_TIMEOUT_SECONDS; las filas se escriben después del commit, así un cliente lento no
+ * retiene la transacción ni la conexión del pool. El límite de la respuesta completa lo pone
+ * spring.mvc.async.request-timeout. No debe llamarse dentro de una transacción.
+ */
+@Component
+public class EntityStreamer {
+
+    // Filas por página, y por transacción
+    static final int PAGE_SIZE = 500;
+    static final int PAGE_TIMEOUT_SECONDS = 30;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate pageTemplate;
+
+    public EntityStreamer(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.pageTemplate = new TransactionTemplate(transactionManager);
+        this.pageTemplate.setReadOnly(true);
+        this.pageTemplate.setTimeout(PAGE_TIMEOUT_SECONDS);
+    }
+
+    private record Page<D>(List<D> rows, Long lastId) {
+    }
+
+    /**
+     * @param page consulta keyset: filas con id mayor que el primer argumento, en orden de id
+     * @param idOf id de la fila, que se usa como cursor de la siguiente página
+     */
+    public <E, D> void forEach(BiFunction<Long, Limit, List<E>> page, Function<E, Long> idOf,
+                               Function<E, D> mapper, Consumer<D> action) {
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "El recorrido por páginas no debe ejecutarse dentro de una transacción");
+        // El EntityManager de open-in-view conserva la conexión entre transacciones: cada página usa uno propio
+        Object inView = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            Long after = 0L;
+            while (after != null) {
+                Long from = after;
+                Page<D> rows = pageTemplate.execute(status -> {
+                    List<E> entities = page.apply(from, Limit.of(PAGE_SIZE));
+                    Long lastId = entities.size() < PAGE_SIZE ? null : idOf.apply(entities.get(entities.size() - 1));
+                    return new Page<>(entities.stream().map(mapper).toList(), lastId);
+                });
+                rows.rows().forEach(action);
+                after = rows.lastId();
+            }
+        } finally {
+            if (inView != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, inView);
+            }
+        }
+    }
+}
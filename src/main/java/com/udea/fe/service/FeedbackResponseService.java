@@ -1,6 +1,7 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.FeedbackResponseDTO;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Feedback;
 import com.udea.fe.entity.FeedbackResponse;
 import com.udea.fe.entity.User;
@@ -8,13 +9,15 @@ import com.udea.fe.exception.FeedbackResponseNotFoundException;
 import com.udea.fe.repository.FeedbackRepository;
 import com.udea.fe.repository.FeedbackResponseRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.FeedbackResponseMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -24,35 +27,47 @@ public class FeedbackResponseService {
     private final FeedbackResponseRepository feedbackResponseRepository;
     private final FeedbackRepository feedbackRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final FeedbackResponseMapper feedbackResponseMapper;
+    private final EntityStreamer entityStreamer;
+    private final EntityReferences entityReferences;
 
     public FeedbackResponseDTO createFeedbackResponse(FeedbackResponseDTO dto) {
-        FeedbackResponse response = modelMapper.map(dto, FeedbackResponse.class);
+        FeedbackResponse response = feedbackResponseMapper.toEntity(dto);
 
         Feedback feedback = feedbackRepository.findById(dto.getFeedbackId())
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Feedback no encontrado con id: " + dto.getFeedbackId()));
         response.setFeedback(feedback);
 
-        User createdBy = userRepository.findById(dto.getCreatedById())
-                .orElseThrow(() -> new FeedbackResponseNotFoundException("Usuario no encontrado con id: " + dto.getCreatedById()));
-        response.setCreatedBy(createdBy);
+        EntityReferences.Reference<User> createdBy = new EntityReferences.Reference<>(CacheConfig.USER_IDS,
+                dto.getCreatedById(), userRepository,
+                () -> new FeedbackResponseNotFoundException("Usuario no encontrado con id: " + dto.getCreatedById()));
+        response.setCreatedBy(entityReferences.require(createdBy));
 
         response.setResponseDate(LocalDateTime.now());
 
-        FeedbackResponse saved = feedbackResponseRepository.save(response);
-        return modelMapper.map(saved, FeedbackResponseDTO.class);
+        FeedbackResponse saved = entityReferences.saveAndFlush(feedbackResponseRepository, response, createdBy);
+        return feedbackResponseMapper.toDTO(saved);
     }
 
     public FeedbackResponseDTO getFeedbackResponseById(Long id) {
         FeedbackResponse response = feedbackResponseRepository.findById(id)
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Respuesta no encontrada con id: " + id));
-        return modelMapper.map(response, FeedbackResponseDTO.class);
+        return feedbackResponseMapper.toDTO(response);
     }
 
-    public List<FeedbackResponseDTO> getAllFeedbackResponses() {
-        return feedbackResponseRepository.findAll().stream()
-                .map(response -> modelMapper.map(response, FeedbackResponseDTO.class))
-                .toList(); // Reemplazo de .collect(Collectors.toList())
+    public List<FeedbackResponseDTO> getAllFeedbackResponses(Long after, int size) {
+        return feedbackResponseRepository
+                .findByFeedbackResponseIdGreaterThanOrderByFeedbackResponseIdAsc(after == null ? 0L : after, Limit.of(size))
+                .stream()
+                .map(feedbackResponseMapper::toDTO)
+                .toList();
+    }
+
+    // Sin transacción propia: EntityStreamer abre una por página
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamAllFeedbackResponses(Consumer<FeedbackResponseDTO> action) {
+        entityStreamer.forEach(feedbackResponseRepository::findByFeedbackResponseIdGreaterThanOrderByFeedbackResponseIdAsc,
+                FeedbackResponse::getFeedbackResponseId, feedbackResponseMapper::toDTO, action);
     }
 
     public FeedbackResponseDTO updateFeedbackResponse(Long id, FeedbackResponseDTO dto) {
@@ -60,7 +75,7 @@ public class FeedbackResponseService {
                 .map(response -> {
                     response.setComment(dto.getComment());
                     FeedbackResponse updated = feedbackResponseRepository.save(response);
-                    return modelMapper.map(updated, FeedbackResponseDTO.class);
+                    return feedbackResponseMapper.toDTO(updated);
                 })
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Respuesta no encontrada con id: " + id));
     }
@@ -1,7 +1,9 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.FeedbackDTO;
-import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.DTO.FeedbackThreadRow;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Feedback;
 import com.udea.fe.entity.Submission;
 import com.udea.fe.entity.User;
@@ -9,13 +11,18 @@ import com.udea.fe.exception.FeedbackNotFoundException;
 import com.udea.fe.repository.FeedbackRepository;
 import com.udea.fe.repository.SubmissionRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.FeedbackMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -25,11 +32,13 @@ public class FeedbackService {
   private final FeedbackRepository feedbackRepository;
   private final SubmissionRepository submissionRepository;
   private final UserRepository userRepository;
-  private final ModelMapper modelMapper;
+  private final FeedbackMapper feedbackMapper;
   private final NotificationService notificationService;
+  private final EntityStreamer entityStreamer;
+  private final EntityReferences entityReferences;
 
   public FeedbackDTO createFeedback(FeedbackDTO feedbackDTO) {
-    Feedback feedback = modelMapper.map(feedbackDTO, Feedback.class);
+    Feedback feedback = feedbackMapper.toEntity(feedbackDTO);
 
     Submission submission = submissionRepository
       .findById(feedbackDTO.getSubmissionId())
@@ -38,10 +47,9 @@ public class FeedbackService {
       );
     feedback.setSubmission(submission);
 
-    User createdBy = userRepository
-      .findById(feedbackDTO.getCreatedById())
-      .orElseThrow(() -> new FeedbackNotFoundException("Usuario no encontrado"));
-    feedback.setCreatedBy(createdBy);
+    EntityReferences.Reference<User> createdBy = new EntityReferences.Reference<>(CacheConfig.USER_IDS,
+      feedbackDTO.getCreatedById(), userRepository, () -> new FeedbackNotFoundException("Usuario no encontrado"));
+    feedback.setCreatedBy(entityReferences.require(createdBy));
 
     if (feedbackDTO.getParentFeedbackId() != null) {
       Feedback parentFeedback = feedbackRepository
@@ -54,16 +62,13 @@ public class FeedbackService {
 
     feedback.setCreatedAt(LocalDateTime.now());
 
-    Feedback savedFeedback = feedbackRepository.save(feedback);
+    Feedback savedFeedback = entityReferences.saveAndFlush(feedbackRepository, feedback, createdBy);
 
-    NotificationDTO notification = new NotificationDTO();
-    notification.setUserId(submission.getUser().getUserId());
-    notification.setMessage("Has recibido una nueva retroalimentación.");
-    notification.setType("FEEDBACK");
+    notificationService.enqueue(
+      submission.getUser().getUserId(), "Has recibido una nueva retroalimentación.", "FEEDBACK"
+    );
 
-    notificationService.createNotification(notification);
-
-    return modelMapper.map(savedFeedback, FeedbackDTO.class);
+    return feedbackMapper.toDTO(savedFeedback);
   }
 
   public FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO) {
@@ -72,7 +77,7 @@ public class FeedbackService {
       .map(feedback -> {
         feedback.setComment(feedbackDTO.getComment());
         feedback.setRating(feedbackDTO.getRating());
-        return modelMapper.map(feedbackRepository.save(feedback), FeedbackDTO.class);
+        return feedbackMapper.toDTO(feedbackRepository.save(feedback));
       })
       .orElseThrow(() ->
         new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
@@ -82,18 +87,25 @@ public class FeedbackService {
   public FeedbackDTO getFeedbackById(Long id) {
     return feedbackRepository
       .findById(id)
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
+      .map(feedbackMapper::toDTO)
       .orElseThrow(() ->
         new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
       );
   }
 
-  public List<FeedbackDTO> getAllFeedbacks() {
+  public List<FeedbackDTO> getAllFeedbacks(Long after, int size) {
     return feedbackRepository
-      .findAll()
+      .findByFeedbackIdGreaterThanOrderByFeedbackIdAsc(after == null ? 0L : after, Limit.of(size))
       .stream()
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
-      .toList(); // toList() reemplaza collect(Collectors.toList())
+      .map(feedbackMapper::toDTO)
+      .toList();
+  }
+
+  // Sin transacción propia: EntityStreamer abre una por página
+  @Transactional(Transactional.TxType.NOT_SUPPORTED)
+  public void streamAllFeedbacks(Consumer<FeedbackDTO> action) {
+    entityStreamer.forEach(feedbackRepository::findByFeedbackIdGreaterThanOrderByFeedbackIdAsc, Feedback::getFeedbackId,
+      feedbackMapper::toDTO, action);
   }
 
   public void deleteFeedback(Long id) {
@@ -105,13 +117,31 @@ public class FeedbackService {
 
   public List<FeedbackDTO> getFeedbacksBySubmissionId(Long submissionId) {
     return feedbackRepository
-      .findAll()
+      .findBySubmission_SubmissionId(submissionId)
       .stream()
-      .filter(feedback ->
-        feedback.getSubmission() != null &&
-        feedback.getSubmission().getSubmissionId().equals(submissionId)
-      )
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
-      .toList(); // también reemplazado aquí
+      .map(feedbackMapper::toDTO)
+      .toList();
+  }
+
+  public List<FeedbackThreadDTO> getFeedbackThreadBySubmissionId(Long submissionId) {
+    Map<Long, FeedbackThreadDTO> nodes = new LinkedHashMap<>();
+    for (FeedbackThreadRow row : feedbackRepository.findThreadRowsBySubmissionId(submissionId)) {
+      FeedbackThreadDTO node = nodes.computeIfAbsent(row.getFeedbackId(), id -> feedbackMapper.toThreadDTO(row));
+      if (row.getResponseId() != null) {
+        node.getResponses().add(feedbackMapper.toThreadResponseDTO(row));
+      }
+    }
+
+    // Cada feedback cuelga de su padre; los que no tienen padre en esta entrega son raíz
+    List<FeedbackThreadDTO> roots = new ArrayList<>();
+    for (FeedbackThreadDTO node : nodes.values()) {
+      FeedbackThreadDTO parent = node.getParentFeedbackId() == null ? null : nodes.get(node.getParentFeedbackId());
+      if (parent != null) {
+        parent.getReplies().add(node);
+      } else {
+        roots.add(node);
+      }
+    }
+    return roots;
   }
 }
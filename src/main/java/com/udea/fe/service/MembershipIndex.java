@@ -0,0 +1,138 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.MembershipRow;
+import com.udea.fe.repository.UserTeamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de pertenencia a proyectos: por usuario, los ids de los proyectos en cuyos
+ * equipos está, en un long[] ordenado. Responde isMember sin SQL (búsqueda binaria).
+ * TeamService lo mantiene tras cada commit: un alta añade el proyecto y las bajas, borrados de
+ * equipo o cambios de proyecto vuelven a leer solo los usuarios afectados.
+ * Una reconciliación periódica lo recarga entero (cubre cambios hechos por otras instancias);
+ * hasta la primera carga se consulta la base de datos.
+ * Métricas: memberships.index.users y memberships.index.drift (usuarios corregidos al reconciliar).
+ */
+@Component
+public class MembershipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipIndex.class);
+    private static final long[] NONE = new long[0];
+
+    private final UserTeamRepository userTeamRepository;
+    private final Counter drift;
+
+    // Lecturas sin bloqueo; las escrituras se serializan con el monitor del índice
+    private volatile Map<Long, long[]> projectsByUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Usuarios modificados mientras se recarga el índice: su fila de la carga completa puede ser anterior
+    private final Set<Long> changedDuringReload = ConcurrentHashMap.newKeySet();
+
+    public MembershipIndex(UserTeamRepository userTeamRepository, MeterRegistry meterRegistry) {
+        this.userTeamRepository = userTeamRepository;
+        this.drift = meterRegistry.counter("memberships.index.drift");
+        Gauge.builder("memberships.index.users", this, index -> index.projectsByUser.size())
+                .register(meterRegistry);
+    }
+
+    public boolean isMember(Long userId, Long projectId) {
+        if (!loaded) {
+            return userTeamRepository.existsByUserIdAndProjectId(userId, projectId);
+        }
+        long[] projects = projectsByUser.getOrDefault(userId, NONE);
+        return Arrays.binarySearch(projects, projectId) >= 0;
+    }
+
+    public void memberAdded(Long userId, Long projectId) {
+        if (projectId != null) {
+            AfterCommit.run(() -> add(userId, projectId));
+        }
+    }
+
+    // Bajas, borrado de equipo o cambio de proyecto: no se sabe si el usuario sigue en otro equipo del proyecto
+    public void membershipsChanged(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            List<Long> affected = List.copyOf(userIds);
+            AfterCommit.run(() -> affected.forEach(this::reload));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${teams.membership-index.reconcile-interval:5m}")
+    public void reconcile() {
+        changedDuringReload.clear();
+        Map<Long, long[]> fresh = userTeamRepository.findAllMemberships().stream()
+                .collect(Collectors.groupingBy(MembershipRow::getUserId, HashMap::new,
+                        Collectors.mapping(MembershipRow::getProjectId, Collectors.toSet())))
+                .entrySet().stream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> sorted(entry.getValue())));
+
+        synchronized (this) {
+            changedDuringReload.forEach(userId -> put(fresh, userId, userTeamRepository.findProjectIdsByUserId(userId)));
+            if (loaded) {
+                long corrected = countDifferences(projectsByUser, fresh);
+                drift.increment(corrected);
+                if (corrected > 0) {
+                    logger.warn("Índice de pertenencias reconciliado: {} usuarios no coincidían con la base de datos", corrected);
+                }
+            }
+            projectsByUser = fresh;
+            loaded = true;
+        }
+        logger.debug("Índice de pertenencias cargado: {} usuarios", fresh.size());
+    }
+
+    private synchronized void add(Long userId, Long projectId) {
+        long[] projects = projectsByUser.getOrDefault(userId, NONE);
+        int position = Arrays.binarySearch(projects, projectId);
+        if (position < 0) {
+            int insertAt = -position - 1;
+            long[] updated = new long[projects.length + 1];
+            System.arraycopy(projects, 0, updated, 0, insertAt);
+            updated[insertAt] = projectId;
+            System.arraycopy(projects, insertAt, updated, insertAt + 1, projects.length - insertAt);
+            projectsByUser.put(userId, updated);
+        }
+        changedDuringReload.add(userId);
+    }
+
+    private synchronized void reload(Long userId) {
+        put(projectsByUser, userId, userTeamRepository.findProjectIdsByUserId(userId));
+        changedDuringReload.add(userId);
+    }
+
+    private static void put(Map<Long, long[]> index, Long userId, Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            index.remove(userId);
+        } else {
+            index.put(userId, sorted(projectIds));
+        }
+    }
+
+    private static long[] sorted(Collection<Long> projectIds) {
+        long[] projects = projectIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        Arrays.sort(projects);
+        return projects;
+    }
+
+    private static long countDifferences(Map<Long, long[]> current, Map<Long, long[]> fresh) {
+        long differences = fresh.entrySet().stream()
+                .filter(entry -> !Arrays.equals(entry.getValue(), current.get(entry.getKey())))
+                .count();
+        return differences + current.keySet().stream().filter(userId -> !fresh.containsKey(userId)).count();
+    }
+}
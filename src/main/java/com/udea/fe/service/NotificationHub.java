@@ -0,0 +1,165 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.mapper.NotificationMapper;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Stream;
+
+/**
+ * Canal SSE de notificaciones: reparte en memoria cada notificación nueva a las conexiones abiertas
+ * de su destinatario. Las conexiones son asíncronas (no ocupan un hilo mientras están inactivas) y
+ * reciben un comentario de heartbeat periódico.
+ * <p>
+ * El id de cada evento es el {@code publishedAt} de la notificación, fijado en la transacción que la
+ * confirma (o que suma un evento a un digest). Al reconectar con Last-Event-ID se reenvían, ordenadas por
+ * (publishedAt, id), las publicadas desde ese instante menos {@code notifications.sse.replay-overlap}:
+ * una transacción más lenta puede confirmar después una fila con publishedAt anterior, y los ids
+ * (pooled-lo) tampoco siguen el orden de commit. Garantía: no se pierde ninguna notificación confirmada
+ * dentro del margen, a cambio de que el cliente pueda recibir repetidas; las reemplaza por su id.
+ * Métrica: notifications.sse.connections.
+ */
+@Component
+public class NotificationHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationHub.class);
+
+    static final String EVENT_NAME = "notification";
+    static final int MAX_CONNECTIONS_PER_USER = 5;
+    static final int REPLAY_LIMIT = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final long timeoutMillis;
+    private final Duration replayOverlap;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public NotificationHub(
+            NotificationRepository notificationRepository,
+            NotificationMapper notificationMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.sse.timeout:30m}") Duration timeout,
+            @Value("${notifications.sse.replay-overlap:1m}") Duration replayOverlap) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.replayOverlap = replayOverlap;
+        Gauge.builder("notifications.sse.connections", this, NotificationHub::connectionCount)
+                .description("Conexiones SSE de notificaciones abiertas")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        return subscribe(userId, lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long userId, String lastEventId, SseEmitter emitter) {
+        Set<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        if (userEmitters.size() >= MAX_CONNECTIONS_PER_USER) {
+            // Pestañas olvidadas: se cierra la conexión más antigua
+            Iterator<SseEmitter> oldest = userEmitters.iterator();
+            if (oldest.hasNext()) {
+                SseEmitter evicted = oldest.next();
+                remove(userId, evicted);
+                evicted.complete();
+            }
+        }
+        userEmitters.add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(error -> remove(userId, emitter));
+
+        // Se registra antes de reenviar: lo que llegue entretanto puede repetirse, pero no perderse
+        LocalDateTime lastPublishedAt = parseCursor(userId, lastEventId);
+        if (lastPublishedAt != null) {
+            notificationRepository
+                    .findPublishedSince(userId, lastPublishedAt.minus(replayOverlap), Limit.of(REPLAY_LIMIT))
+                    .stream()
+                    .map(notificationMapper::toDTO)
+                    .forEach(notification -> send(userId, emitter, notification));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        // Un digest actualizado se reenvía con el mismo id: el cliente reemplaza la entrada
+        for (NotificationDTO notification : Stream.concat(event.notifications().stream(), event.coalesced().stream()).toList()) {
+            Set<SseEmitter> userEmitters = emitters.get(notification.getUserId());
+            if (userEmitters != null) {
+                userEmitters.forEach(emitter -> send(notification.getUserId(), emitter, notification));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notifications.sse.heartbeat:25s}")
+    public void heartbeat() {
+        // Evita que proxies y balanceadores cierren las conexiones inactivas
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                remove(userId, emitter);
+            }
+        }));
+    }
+
+    int connectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private LocalDateTime parseCursor(Long userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(lastEventId);
+        } catch (DateTimeParseException e) {
+            logger.debug("Last-Event-ID no válido para el usuario {}: {}", userId, lastEventId);
+            return null;
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, NotificationDTO notification) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (notification.getPublishedAt() != null) {
+                event.id(notification.getPublishedAt().toString());
+            }
+            emitter.send(event
+                    .name(EVENT_NAME)
+                    .data(notification, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Conexión SSE cerrada para el usuario {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
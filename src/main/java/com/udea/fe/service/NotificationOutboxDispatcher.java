@@ -0,0 +1,298 @@
+package com.udea.fe.service;
+
+import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.NotificationOutbox;
+import com.udea.fe.mapper.NotificationMapper;
+import com.udea.fe.repository.NotificationOutboxRepository;
+import com.udea.fe.repository.NotificationRepository;
+import com.udea.fe.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Entrega en segundo plano las notificaciones encoladas en notification_outbox.
+ * Cada ciclo lanza como máximo {@code workers} tareas en un pool acotado; cada una toma lotes con
+ * FOR UPDATE SKIP LOCKED, inserta las notificaciones y borra las filas en la misma transacción.
+ * Si un lote falla se reintenta con espera exponencial; tras {@code max-attempts} queda marcado como fallido.
+ * Los eventos del mismo usuario, tipo y mensaje dentro de {@code coalescing-window} se agrupan en una
+ * sola notificación (digest) con {@code eventCount}; una ventana de 0 entrega una fila por evento.
+ * Tras el commit, {@link NotificationHub} empuja las notificaciones entregadas a los clientes conectados.
+ * Métricas: notifications.outbox.pending, .lag, .dispatched, .coalesced, .retried, .failed y .batch.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    static final String MSG_USUARIO_NO_ENCONTRADO = "Usuario no encontrado";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationMapper notificationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration coalescingWindow;
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter dispatched;
+    private final Counter coalesced;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            NotificationRepository notificationRepository,
+            UserRepository userRepository,
+            NotificationMapper notificationMapper,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.outbox.batch-size:100}") int batchSize,
+            @Value("${notifications.outbox.workers:2}") int workers,
+            @Value("${notifications.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${notifications.outbox.backoff:5s}") Duration backoff,
+            @Value("${notifications.outbox.coalescing-window:5m}") Duration coalescingWindow) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.notificationMapper = notificationMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.coalescingWindow = coalescingWindow;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("notification-outbox-"));
+        this.permits = new Semaphore(workers);
+
+        Gauge.builder("notifications.outbox.pending", pending, AtomicLong::get)
+                .description("Notificaciones encoladas pendientes de entregar")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad de la notificación pendiente más vieja")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.dispatched = meterRegistry.counter("notifications.outbox.dispatched");
+        this.coalesced = meterRegistry.counter("notifications.outbox.coalesced");
+        this.retried = meterRegistry.counter("notifications.outbox.retried");
+        this.failed = meterRegistry.counter("notifications.outbox.failed");
+        this.batchTimer = meterRegistry.timer("notifications.outbox.batch");
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval:1s}")
+    public void poll() {
+        long backlog = refreshBacklogMetrics();
+        long batches = (backlog + batchSize - 1) / batchSize;
+
+        // Contrapresión: si todos los workers siguen ocupados no se encola más trabajo;
+        // las filas esperan en la tabla y el retraso se refleja en notifications.outbox.lag
+        for (long i = 0; i < batches && permits.tryAcquire(); i++) {
+            executor.execute(() -> {
+                try {
+                    drain();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    void drain() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    int dispatchBatch() {
+        List<Long> claimedIds = new ArrayList<>();
+        try {
+            Integer delivered = batchTimer.record(() -> transactionTemplate.execute(status -> deliver(claimedIds)));
+            return delivered == null ? 0 : delivered;
+        } catch (RuntimeException e) {
+            logger.warn("Error al entregar {} notificaciones encoladas: {}", claimedIds.size(), e.getMessage());
+            if (!claimedIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> recordFailure(claimedIds, e));
+            }
+            return 0;
+        }
+    }
+
+    private int deliver(List<Long> claimedIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> batch = outboxRepository
+                .findByFailedAtIsNullAndNextAttemptAtLessThanEqualOrderByOutboxIdAsc(now, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.forEach(entry -> claimedIds.add(entry.getOutboxId()));
+
+        Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(
+                batch.stream().map(NotificationOutbox::getUserId).distinct().toList()));
+
+        List<NotificationOutbox> delivered = new ArrayList<>();
+        for (NotificationOutbox entry : batch) {
+            if (existingUsers.contains(entry.getUserId())) {
+                delivered.add(entry);
+            } else {
+                // Reintentar no lo arreglaría: se descarta sin bloquear el resto del lote
+                entry.setFailedAt(now);
+                entry.setLastError(MSG_USUARIO_NO_ENCONTRADO);
+                failed.increment();
+            }
+        }
+
+        List<Notification> updated = new ArrayList<>();
+        List<Notification> created = coalesce(delivered, updated);
+        notificationRepository.saveAll(created);
+        outboxRepository.deleteAllInBatch(delivered);
+        // NotificationHub las empuja por SSE tras el commit
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(
+                created.stream().map(notificationMapper::toDTO).toList(),
+                updated.stream().map(notificationMapper::toDTO).toList()));
+        dispatched.increment(delivered.size());
+        coalesced.increment(delivered.size() - created.size());
+        return batch.size();
+    }
+
+    // Devuelve las notificaciones nuevas; los digests ya guardados que suman eventos quedan en updated
+    private List<Notification> coalesce(List<NotificationOutbox> entries, List<Notification> updated) {
+        if (entries.isEmpty() || coalescingWindow.isZero()) {
+            return entries.stream().map(this::toNotification).toList();
+        }
+        LocalDateTime since = entries.stream().map(NotificationOutbox::getCreatedAt)
+                .min(Comparator.naturalOrder()).orElseThrow().minus(coalescingWindow);
+        Map<DigestKey, Notification> digests = new HashMap<>();
+        // Un evento sin tipo o sin mensaje no se agrupa con filas ya guardadas (in no compara nulos)
+        List<String> types = distinctNonNull(entries, NotificationOutbox::getType);
+        List<String> messages = distinctNonNull(entries, NotificationOutbox::getMessage);
+        if (!types.isEmpty() && !messages.isEmpty()) {
+            for (Notification open : notificationRepository.findOpenDigests(
+                    distinctNonNull(entries, NotificationOutbox::getUserId), types, messages, since)) {
+                // Ordenados por fecha: si hay varios abiertos gana el más reciente
+                digests.put(new DigestKey(open.getUser().getUserId(), open.getType(), open.getMessage()), open);
+            }
+        }
+
+        List<Notification> created = new ArrayList<>();
+        Set<Notification> touched = new LinkedHashSet<>();
+        for (NotificationOutbox entry : entries) {
+            DigestKey key = new DigestKey(entry.getUserId(), entry.getType(), entry.getMessage());
+            Notification digest = digests.get(key);
+            // La ventana se cuenta desde el primer evento del digest, así un flujo continuo no lo alarga sin fin
+            if (digest == null || !entry.getCreatedAt().isBefore(digest.getCreatedAt().plus(coalescingWindow))) {
+                digest = toNotification(entry);
+                digests.put(key, digest);
+                created.add(digest);
+                continue;
+            }
+            digest.setEventCount(digest.getEventCount() + 1);
+            if (digest.getLastEventAt() == null || entry.getCreatedAt().isAfter(digest.getLastEventAt())) {
+                digest.setLastEventAt(entry.getCreatedAt());
+            }
+            if (digest.getNotificationId() != null) {
+                // Se vuelve a publicar: los clientes que reconecten recibirán el contador nuevo
+                digest.setPublishedAt(LocalDateTime.now());
+                touched.add(digest);
+            }
+        }
+        updated.addAll(touched);
+        return created;
+    }
+
+    private <T> List<T> distinctNonNull(List<NotificationOutbox> entries, Function<NotificationOutbox, T> field) {
+        return entries.stream().map(field).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private void recordFailure(List<Long> ids, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now();
+        String message = truncate(String.valueOf(error.getMessage()));
+        for (NotificationOutbox entry : outboxRepository.findAllById(ids)) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLastError(message);
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setFailedAt(now);
+                failed.increment();
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+                retried.increment();
+            }
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private long refreshBacklogMetrics() {
+        long backlog = outboxRepository.countByFailedAtIsNull();
+        pending.set(backlog);
+        lagSeconds.set(outboxRepository.findFirstByFailedAtIsNullOrderByOutboxIdAsc()
+                .map(entry -> Math.max(0, Duration.between(entry.getCreatedAt(), LocalDateTime.now()).toSeconds()))
+                .orElse(0L));
+        return backlog;
+    }
+
+    private Notification toNotification(NotificationOutbox entry) {
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(entry.getUserId()));
+        notification.setMessage(entry.getMessage());
+        notification.setType(entry.getType());
+        notification.setRead(false);
+        notification.setCreatedAt(entry.getCreatedAt());
+        notification.setLastEventAt(entry.getCreatedAt());
+        return notification;
+    }
+
+    private record DigestKey(Long userId, String type, String message) {
+    }
+
+    private String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
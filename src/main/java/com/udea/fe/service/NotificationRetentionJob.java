@@ -0,0 +1,78 @@
+package com.udea.fe.service;
+
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Borra periódicamente las notificaciones leídas más antiguas que {@code max-age}.
+ * Trabaja en lotes de {@code batch-size} filas, cada uno en su propia transacción, para no
+ * retener bloqueos largos ni inflar el WAL. Las no leídas nunca se borran.
+ * Métrica: notifications.retention.deleted.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final Counter deleted;
+
+    public NotificationRetentionJob(
+            NotificationRepository notificationRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.retention.enabled:true}") boolean enabled,
+            @Value("${notifications.retention.max-age:180d}") Duration maxAge,
+            @Value("${notifications.retention.batch-size:1000}") int batchSize) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.deleted = meterRegistry.counter("notifications.retention.deleted");
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        long total = purge(LocalDateTime.now().minus(maxAge));
+        logger.info("Limpieza de notificaciones: {} notificaciones leídas eliminadas", total);
+    }
+
+    long purge(LocalDateTime cutoff) {
+        long total = 0;
+        int removed;
+        do {
+            removed = transactionTemplate.execute(status -> deleteBatch(cutoff));
+            total += removed;
+        } while (removed == batchSize);
+        return total;
+    }
+
+    private int deleteBatch(LocalDateTime cutoff) {
+        List<Long> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, Limit.of(batchSize));
+        if (!ids.isEmpty()) {
+            notificationRepository.deleteAllByIdInBatch(ids);
+            deleted.increment(ids.size());
+        }
+        return ids.size();
+    }
+}
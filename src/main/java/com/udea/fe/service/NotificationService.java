@@ -2,17 +2,20 @@ package com.udea.fe.service;
 
 import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.NotificationOutbox;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.NotificationNotFoundException;
 import com.udea.fe.exception.UserNotFoundException;
+import com.udea.fe.repository.NotificationOutboxRepository;
 import com.udea.fe.repository.NotificationRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.NotificationMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -22,10 +25,12 @@ public class NotificationService {
 
   private final NotificationRepository notificationRepository;
   private final UserRepository userRepository;
-  private final ModelMapper modelMapper;
+  private final NotificationMapper notificationMapper;
+  private final NotificationOutboxRepository notificationOutboxRepository;
+  private final UnreadCounter unreadCounter;
 
   public NotificationDTO createNotification(NotificationDTO dto) {
-    Notification notification = modelMapper.map(dto, Notification.class);
+    Notification notification = notificationMapper.toEntity(dto);
 
     User user = userRepository
       .findById(dto.getUserId())
@@ -36,7 +41,24 @@ public class NotificationService {
     notification.setCreatedAt(LocalDateTime.now());
 
     Notification saved = notificationRepository.save(notification);
-    return modelMapper.map(saved, NotificationDTO.class);
+    unreadCounter.increment(user.getUserId(), 1);
+    return notificationMapper.toDTO(saved);
+  }
+
+  // Encola la notificación en la transacción del llamador; NotificationOutboxDispatcher la entrega después
+  public void enqueue(Long userId, String message, String type) {
+    notificationOutboxRepository.save(new NotificationOutbox(userId, message, type, LocalDateTime.now()));
+  }
+
+  public int enqueueAll(Collection<Long> userIds, String message, String type) {
+    LocalDateTime now = LocalDateTime.now();
+    List<NotificationOutbox> entries = userIds
+      .stream()
+      .map(userId -> new NotificationOutbox(userId, message, type, now))
+      .toList();
+
+    notificationOutboxRepository.saveAll(entries);
+    return entries.size();
   }
 
   public NotificationDTO getById(Long id) {
@@ -44,29 +66,24 @@ public class NotificationService {
       .findById(id)
       .orElseThrow(() -> new NotificationNotFoundException("Notificación no encontrada"));
 
-    return modelMapper.map(notification, NotificationDTO.class);
+    return notificationMapper.toDTO(notification);
   }
 
   public List<NotificationDTO> getAll() {
     return notificationRepository
       .findAll()
       .stream()
-      .map(n -> modelMapper.map(n, NotificationDTO.class))
+      .map(notificationMapper::toDTO)
       .toList(); //  reemplazo por toList()
   }
 
-  public List<NotificationDTO> getByUser(String userEmail) {
-    User user = userRepository
-      .findByEmail(userEmail)
-      .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
-
-    List<Notification> notifications = notificationRepository.findByUserUserIdAndIsReadFalse(
-      user.getUserId()
-    );
+  // Los métodos por usuario reciben el id del principal autenticado: no se busca al usuario por email
+  public List<NotificationDTO> getByUser(Long userId) {
+    List<Notification> notifications = notificationRepository.findByUserUserIdAndIsReadFalse(userId);
 
     return notifications
       .stream()
-      .map(n -> modelMapper.map(n, NotificationDTO.class))
+      .map(notificationMapper::toDTO)
       .toList(); // reemplazo por toList()
   }
 
@@ -78,18 +95,51 @@ public class NotificationService {
     if (!notification.isRead()) {
       notification.setReadAt(LocalDateTime.now());
       notification.setRead(true);
+      unreadCounter.decrement(notification.getUser().getUserId());
     }
 
-    return modelMapper.map(
-      notificationRepository.save(notification),
-      NotificationDTO.class
-    );
+    return notificationMapper.toDTO(notificationRepository.save(notification));
+  }
+
+  public long countUnread(Long userId) {
+    return unreadCounter.get(userId);
+  }
+
+  public int markAllAsRead(Long userId) {
+    int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+    unreadCounter.decrement(userId, updated);
+    return updated;
+  }
+
+  public int markAsRead(Long userId, Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return 0;
+    }
+    int updated = notificationRepository.markAsRead(userId, ids, LocalDateTime.now());
+    unreadCounter.decrement(userId, updated);
+    return updated;
+  }
+
+  public int delete(Long userId, Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return 0;
+    }
+    int deleted = notificationRepository.deleteByUserAndIds(userId, ids);
+    // El borrado no distingue leídas de no leídas: se vuelve a contar en la próxima consulta
+    if (deleted > 0) {
+      unreadCounter.invalidate(userId);
+    }
+    return deleted;
   }
 
   public void delete(Long id) {
-    if (!notificationRepository.existsById(id)) {
-      throw new NotificationNotFoundException("Notificación no encontrada");
+    Notification notification = notificationRepository
+      .findById(id)
+      .orElseThrow(() -> new NotificationNotFoundException("Notificación no encontrada"));
+
+    if (!notification.isRead()) {
+      unreadCounter.decrement(notification.getUser().getUserId());
     }
-    notificationRepository.deleteById(id);
+    notificationRepository.delete(notification);
   }
 }
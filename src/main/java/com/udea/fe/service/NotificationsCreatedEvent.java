@@ -0,0 +1,17 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+
+import java.util.List;
+
+/**
+ * Notificaciones recién insertadas ({@code notifications}) y digests existentes que sumaron
+ * eventos ({@code coalesced}); {@link NotificationHub} las empuja a los clientes conectados
+ * cuando la transacción que las creó hace commit.
+ */
+public record NotificationsCreatedEvent(List<NotificationDTO> notifications, List<NotificationDTO> coalesced) {
+
+    public NotificationsCreatedEvent(List<NotificationDTO> notifications) {
+        this(notifications, List.of());
+    }
+}
@@ -14,11 +14,12 @@ import com.udea.fe.repository.UserRepository;
 import com.udea.fe.repository.UserTeamRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,8 +31,8 @@ public class ProjectService {
   private final ProjectRepository projectRepository;
   private final UserRepository userRepository;
   private final UserTeamRepository userTeamRepository;
-  private final ModelMapper modelMapper;
   private final ProjectMapper projectMapper;
+  private final EntityStreamer entityStreamer;
 
   public ProjectDTO createProject(ProjectDTO projectDTO) {
     if (projectDTO.getName() == null || projectDTO.getName().trim().isEmpty()) {
@@ -54,38 +55,43 @@ public class ProjectService {
       .findById(projectDTO.getCreatedById())
       .orElseThrow(() -> new UserNotFoundException("Usuario creador no encontrado"));
 
-    Project project = modelMapper.map(projectDTO, Project.class);
+    Project project = projectMapper.toEntity(projectDTO);
     project.setCreatedBy(createdBy);
     project.setStatus(ProjectStatus.IN_PROGRESS);
 
     Project savedProject = projectRepository.save(project);
-    return modelMapper.map(savedProject, ProjectDTO.class);
+    return projectMapper.toDTO(savedProject);
   }
 
   public ProjectDTO getProjectById(Long id) {
     return projectRepository
       .findById(id)
-      .map(project -> modelMapper.map(project, ProjectDTO.class))
+      .map(projectMapper::toDTO)
       .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + id));
   }
 
-  public List<ProjectDTO> getAllProjects() {
+  public List<ProjectDTO> getAllProjects(Long after, int size) {
     return projectRepository
-      .findAll()
+      .findByProjectIdGreaterThanOrderByProjectIdAsc(after == null ? 0L : after, Limit.of(size))
       .stream()
-      .map(project -> modelMapper.map(project, ProjectDTO.class))
+      .map(projectMapper::toDTO)
       .toList();
   }
 
+  // Sin transacción propia: EntityStreamer abre una por página
+  @Transactional(Transactional.TxType.NOT_SUPPORTED)
+  public void streamAllProjects(Consumer<ProjectDTO> action) {
+    entityStreamer.forEach(projectRepository::findByProjectIdGreaterThanOrderByProjectIdAsc, Project::getProjectId,
+      projectMapper::toDTO, action);
+  }
+
   public ProjectDTO updateProject(Long id, ProjectDTO projectDTO) {
     return projectRepository
       .findById(id)
       .map(existingProject -> {
-        ProjectStatus originalStatus = existingProject.getStatus();
-        modelMapper.map(projectDTO, existingProject);
-        existingProject.setStatus(originalStatus);
+        projectMapper.updateEntity(projectDTO, existingProject);
         Project updatedProject = projectRepository.save(existingProject);
-        return modelMapper.map(updatedProject, ProjectDTO.class);
+        return projectMapper.toDTO(updatedProject);
       })
       .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado"));
   }
@@ -108,7 +114,7 @@ public class ProjectService {
     }
 
     Project updatedProject = projectRepository.save(project);
-    return modelMapper.map(updatedProject, ProjectDTO.class);
+    return projectMapper.toDTO(updatedProject);
   }
 
   private void validateStatusTransition(ProjectStatus currentStatus, ProjectStatus newStatus) {
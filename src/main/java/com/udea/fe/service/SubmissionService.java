@@ -1,20 +1,25 @@
 package com.udea.fe.service;
 
-import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Submission;
+import com.udea.fe.entity.Task;
 import com.udea.fe.entity.User;
+import com.udea.fe.mapper.SubmissionMapper;
 import com.udea.fe.repository.SubmissionRepository;
 import com.udea.fe.repository.TaskRepository;
 import com.udea.fe.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -25,97 +30,67 @@ public class SubmissionService {
   private final TaskRepository taskRepository;
   private final UserRepository userRepository;
   private final NotificationService notificationService;
+  private final SubmissionMapper submissionMapper;
+  private final EntityStreamer entityStreamer;
+  private final EntityReferences entityReferences;
 
   public SubmissionResponseDTO createSubmission(SubmissionRequestDTO request) {
     Submission submission = new Submission();
     submission.setContent(request.getContent());
     submission.setFileUrl(request.getFileUrl());
     submission.setSubmittedAt(LocalDateTime.now());
-    submission.setTask(
-      taskRepository.findById(request.getTaskId()).orElseThrow()
-    );
-    submission.setUser(
-      userRepository.findById(request.getUserId()).orElseThrow()
-    );
+    EntityReferences.Reference<Task> task = new EntityReferences.Reference<>(CacheConfig.TASK_IDS,
+      request.getTaskId(), taskRepository,
+      () -> new NoSuchElementException("Tarea no encontrada con id: " + request.getTaskId()));
+    EntityReferences.Reference<User> user = new EntityReferences.Reference<>(CacheConfig.USER_IDS,
+      request.getUserId(), userRepository,
+      () -> new NoSuchElementException("Usuario no encontrado con id: " + request.getUserId()));
+    submission.setTask(entityReferences.require(task));
+    submission.setUser(entityReferences.require(user));
 
-    Submission saved = submissionRepository.save(submission);
+    Submission saved = entityReferences.saveAndFlush(submissionRepository, submission, task, user);
 
-    SubmissionResponseDTO response = new SubmissionResponseDTO();
-    response.setSubmissionId(saved.getSubmissionId());
-    response.setContent(saved.getContent());
-    response.setFileUrl(saved.getFileUrl());
-    response.setSubmittedAt(saved.getSubmittedAt());
-    response.setTaskId(saved.getTask().getTaskId());
-    response.setUserId(saved.getUser().getUserId());
+    SubmissionResponseDTO response = submissionMapper.toDTO(saved);
 
-    NotificationDTO notification = new NotificationDTO();
-    notification.setUserId(saved.getUser().getUserId());
-    notification.setMessage("Se ha realizado una nueva entrega.");
-    notification.setType("ENTREGA");
-
-    notificationService.createNotification(notification);
+    notificationService.enqueue(saved.getUser().getUserId(), "Se ha realizado una nueva entrega.", "ENTREGA");
 
     return response;
   }
 
-  public List<SubmissionResponseDTO> getAllSubmissions() {
+  public List<SubmissionResponseDTO> getAllSubmissions(Long after, int size) {
     return submissionRepository
-      .findAll()
+      .findBySubmissionIdGreaterThanOrderBySubmissionIdAsc(after == null ? 0L : after, Limit.of(size))
       .stream()
-      .map(sub -> {
-        SubmissionResponseDTO dto = new SubmissionResponseDTO();
-        dto.setSubmissionId(sub.getSubmissionId());
-        dto.setContent(sub.getContent());
-        dto.setFileUrl(sub.getFileUrl());
-        dto.setSubmittedAt(sub.getSubmittedAt());
-        dto.setTaskId(sub.getTask().getTaskId());
-        dto.setUserId(sub.getUser().getUserId());
-        return dto;
-      })
+      .map(submissionMapper::toDTO)
       .toList();
   }
 
+  // Sin transacción propia: EntityStreamer abre una por página
+  @Transactional(Transactional.TxType.NOT_SUPPORTED)
+  public void streamAllSubmissions(Consumer<SubmissionResponseDTO> action) {
+    entityStreamer.forEach(submissionRepository::findBySubmissionIdGreaterThanOrderBySubmissionIdAsc, Submission::getSubmissionId,
+      submissionMapper::toDTO, action);
+  }
+
   public SubmissionResponseDTO getSubmissionById(Long id) {
     Submission sub = submissionRepository.findById(id).orElseThrow();
-    SubmissionResponseDTO dto = new SubmissionResponseDTO();
-    dto.setSubmissionId(sub.getSubmissionId());
-    dto.setContent(sub.getContent());
-    dto.setFileUrl(sub.getFileUrl());
-    dto.setSubmittedAt(sub.getSubmittedAt());
-    dto.setTaskId(sub.getTask().getTaskId());
-    dto.setUserId(sub.getUser().getUserId());
-    return dto;
+    return submissionMapper.toDTO(sub);
   }
 
-  public List<SubmissionResponseDTO> getSubmissionsByTaskId(Long taskId, String userEmail) {
-    User user = userRepository
-      .findByEmail(userEmail)
-      .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-    boolean isTeacher = user.getRole() == Role.TEACHER;
+  // userId y role vienen del principal autenticado: no se vuelve a consultar el usuario
+  public List<SubmissionResponseDTO> getSubmissionsByTaskId(Long taskId, Long userId, Role role) {
+    boolean isTeacher = role == Role.TEACHER;
 
     List<Submission> submissions;
     if (isTeacher) {
       submissions = submissionRepository.findByTask_TaskId(taskId);
     } else {
-      submissions = submissionRepository.findByTask_TaskIdAndUser_UserId(
-        taskId, user.getUserId()
-      );
+      submissions = submissionRepository.findByTask_TaskIdAndUser_UserId(taskId, userId);
     }
 
     return submissions
       .stream()
-      .map(sub -> {
-        SubmissionResponseDTO dto = new SubmissionResponseDTO();
-        dto.setSubmissionId(sub.getSubmissionId());
-        dto.setContent(sub.getContent());
-        dto.setFileUrl(sub.getFileUrl());
-        dto.setSubmittedAt(sub.getSubmittedAt());
-        dto.setTaskId(sub.getTask().getTaskId());
-        dto.setUserId(sub.getUser().getUserId());
-        dto.setUserName(sub.getUser().getName());
-        return dto;
-      })
+      .map(submissionMapper::toDTOWithUserName)
       .toList();
   }
 }
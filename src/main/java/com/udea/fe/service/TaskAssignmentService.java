@@ -1,46 +1,65 @@
 package com.udea.fe.service;
 
-import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
 import com.udea.fe.entity.Task;
 import com.udea.fe.entity.TaskAssignment;
 import com.udea.fe.entity.TaskAssignmentId;
-import com.udea.fe.entity.User;
+import com.udea.fe.exception.TeamNotFoundException;
+import com.udea.fe.exception.UserNotFoundException;
 import com.udea.fe.repository.TaskAssignmentRepository;
 import com.udea.fe.repository.TaskRepository;
+import com.udea.fe.repository.TeamRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.repository.UserTeamRepository;
 
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 @AllArgsConstructor
 public class TaskAssignmentService {
 
+  private static final String TYPE_USER = "USER";
+  private static final String TYPE_TEAM = "TEAM";
+  private static final String MSG_TAREA_NO_ENCONTRADA = "Tarea no encontrada";
+  private static final String MSG_NUEVA_TAREA = "Se le ha asignado una nueva tarea";
+  private static final String NOTIFICATION_TYPE = "ASIGNMENT";
+
   private final TaskRepository taskRepository;
   private final TaskAssignmentRepository taskAssignmentRepository;
   private final UserRepository userRepository;
+  private final TeamRepository teamRepository;
+  private final UserTeamRepository userTeamRepository;
   private final NotificationService notificationService;
 
   public TaskAssignmentResponseDTO assignTask(TaskAssignmentRequestDTO request) {
     Task task = taskRepository
       .findById(request.getTaskId())
-      .orElseThrow(() -> new RuntimeException("Tarea no encontrada"));
-
-    TaskAssignment assignment = new TaskAssignment();
-    TaskAssignmentId assignmentId = new TaskAssignmentId();
-    assignmentId.setTaskId(task.getTaskId());
-    assignmentId.setAssignedType(request.getAssignedType());
-    assignmentId.setAssignedId(request.getAssignedId());
+      .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
 
-    assignment.setId(assignmentId);
-    assignment.setTask(task);
+    TaskAssignmentId assignmentId = assignmentId(task, normalizeType(request.getAssignedType()), request.getAssignedId());
 
-    taskAssignmentRepository.save(assignment);
+    boolean created = !taskAssignmentRepository.existsById(assignmentId);
+    if (created) {
+      taskAssignmentRepository.save(assignment(task, assignmentId));
+    }
 
     TaskAssignmentResponseDTO response = new TaskAssignmentResponseDTO();
     response.setTaskId(assignmentId.getTaskId());
@@ -48,24 +67,126 @@ public class TaskAssignmentService {
     response.setAssignedId(assignmentId.getAssignedId());
     response.setMessage("Tarea asignada correctamente");
 
-    NotificationDTO notification = new NotificationDTO();
-    notification.setUserId(assignmentId.getAssignedId());
-    notification.setMessage("Se le ha asignado una nueva tarea");
-    notification.setType("ASIGNMENT");
-
-    notificationService.createNotification(notification);
+    // Como en la asignación masiva, repetir una asignación existente no vuelve a notificar.
+    // Una asignación a equipo se notifica a sus miembros, no al id del equipo
+    if (created) {
+      Collection<Long> recipients = TYPE_TEAM.equals(assignmentId.getAssignedType())
+        ? userTeamRepository.findUserIdsByTeamIds(List.of(assignmentId.getAssignedId()))
+        : List.of(assignmentId.getAssignedId());
+      notificationService.enqueueAll(recipients, MSG_NUEVA_TAREA, NOTIFICATION_TYPE);
+    }
 
     return response;
   }
 
-  public List<User> getUsersAssignedToTask(Long taskId) {
-    List<TaskAssignment> assignments = taskAssignmentRepository.findById_TaskId(taskId);
+  // Asigna la tarea a varios usuarios y equipos a la vez. Es idempotente: los pares
+  // (tarea, tipo, asignado) que ya existen se omiten y no vuelven a notificarse.
+  public BulkTaskAssignmentResponseDTO assignTaskBulk(BulkTaskAssignmentRequestDTO request) {
+    Task task = taskRepository
+      .findById(request.getTaskId())
+      .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
+
+    Set<Long> userIds = distinct(request.getUserIds());
+    Set<Long> teamIds = distinct(request.getTeamIds());
+    if (userIds.isEmpty() && teamIds.isEmpty()) {
+      throw new RuntimeException("Debe indicar al menos un usuario o un equipo");
+    }
+    if (!userIds.isEmpty()) {
+      requireAll(userIds, userRepository.findExistingIds(userIds), missing ->
+        new UserNotFoundException("Usuarios no encontrados: " + missing));
+    }
+    if (!teamIds.isEmpty()) {
+      requireAll(teamIds, teamRepository.findExistingIds(teamIds), missing ->
+        new TeamNotFoundException("Equipos no encontrados: " + missing));
+    }
 
-    return assignments
+    Set<TaskAssignmentId> existing = taskAssignmentRepository
+      .findById_TaskId(task.getTaskId())
       .stream()
-      .filter(a -> "USER".equalsIgnoreCase(a.getId().getAssignedType()))
-      .map(a -> userRepository.findById(a.getId().getAssignedId()).orElse(null))
-      .filter(u -> u != null)
-      .collect(Collectors.toList());
+      .map(TaskAssignment::getId)
+      .collect(Collectors.toSet());
+
+    List<TaskAssignment> created = new ArrayList<>();
+    Set<Long> recipients = new LinkedHashSet<>();
+    List<Long> newTeamIds = new ArrayList<>();
+    for (Long userId : userIds) {
+      TaskAssignmentId id = assignmentId(task, TYPE_USER, userId);
+      if (!existing.contains(id)) {
+        created.add(assignment(task, id));
+        recipients.add(userId);
+      }
+    }
+    for (Long teamId : teamIds) {
+      TaskAssignmentId id = assignmentId(task, TYPE_TEAM, teamId);
+      if (!existing.contains(id)) {
+        created.add(assignment(task, id));
+        newTeamIds.add(teamId);
+      }
+    }
+
+    // Con hibernate.jdbc.batch_size y order_inserts las filas nuevas se envían en lotes
+    taskAssignmentRepository.saveAll(created);
+    if (!newTeamIds.isEmpty()) {
+      recipients.addAll(userTeamRepository.findUserIdsByTeamIds(newTeamIds));
+    }
+    int notified = recipients.isEmpty()
+      ? 0
+      : notificationService.enqueueAll(recipients, MSG_NUEVA_TAREA, NOTIFICATION_TYPE);
+
+    BulkTaskAssignmentResponseDTO response = new BulkTaskAssignmentResponseDTO();
+    response.setTaskId(task.getTaskId());
+    response.setAssigned(created.size());
+    response.setAlreadyAssigned(userIds.size() + teamIds.size() - created.size());
+    response.setNotified(notified);
+    response.setMessage("Tarea asignada correctamente");
+    return response;
+  }
+
+  public List<AssignedUserDTO> getUsersAssignedToTask(Long taskId) {
+    return userRepository.findAssignedToTask(taskId);
+  }
+
+  private TaskAssignmentId assignmentId(Task task, String assignedType, Long assignedId) {
+    TaskAssignmentId id = new TaskAssignmentId();
+    id.setTaskId(task.getTaskId());
+    id.setAssignedType(assignedType);
+    id.setAssignedId(assignedId);
+    return id;
+  }
+
+  // Se guarda siempre en mayúsculas: las consultas comparan el tipo exacto y así usan el índice
+  private String normalizeType(String assignedType) {
+    String type = assignedType == null ? null : assignedType.trim().toUpperCase(Locale.ROOT);
+    if (!TYPE_USER.equals(type) && !TYPE_TEAM.equals(type)) {
+      throw new RuntimeException("Tipo de asignación no válido: " + assignedType);
+    }
+    return type;
+  }
+
+  private TaskAssignment assignment(Task task, TaskAssignmentId id) {
+    TaskAssignment assignment = new TaskAssignment();
+    assignment.setId(id);
+    assignment.setTask(task);
+    return assignment;
+  }
+
+  private Set<Long> distinct(Collection<Long> ids) {
+    Set<Long> result = new LinkedHashSet<>();
+    if (ids != null) {
+      ids.stream().filter(Objects::nonNull).forEach(result::add);
+    }
+    return result;
+  }
+
+  private void requireAll(
+    Set<Long> requested,
+    Collection<Long> found,
+    Function<Set<Long>, RuntimeException> error
+  ) {
+    Set<Long> missing = new LinkedHashSet<>(requested);
+    missing.removeAll(new HashSet<>(found));
+    if (!missing.isEmpty()) {
+      throw error.apply(missing);
+    }
   }
 }
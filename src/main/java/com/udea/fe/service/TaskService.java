@@ -1,22 +1,25 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.*;
 import com.udea.fe.repository.ProjectRepository;
-import com.udea.fe.repository.TaskAssignmentRepository;
 import com.udea.fe.repository.TaskRepository;
 import com.udea.fe.repository.UserRepository;
-import com.udea.fe.repository.UserTeamRepository;
+import com.udea.fe.mapper.TaskMapper;
 
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -24,11 +27,12 @@ import java.util.List;
 public class TaskService {
 
     private final TaskRepository taskRepository;
-    private final TaskAssignmentRepository taskAssignmentRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final UserTeamRepository userTeamRepository;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final EntityStreamer entityStreamer;
+    private final MembershipIndex membershipIndex;
+    private final EntityReferences entityReferences;
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
@@ -57,11 +61,8 @@ public class TaskService {
             throw new IllegalArgumentException("La prioridad de la tarea es obligatoria");
         }
 
-        Project project = projectRepository.findById(taskDTO.getProjectId())
-                .orElseThrow(() -> new RuntimeException(MSG_PROYECTO_NO_ENCONTRADO));
-
-        User createdBy = userRepository.findById(taskDTO.getCreatedById())
-                .orElseThrow(() -> new RuntimeException(MSG_USUARIO_NO_ENCONTRADO));
+        Project project = entityReferences.require(projectRef(taskDTO.getProjectId()));
+        User createdBy = entityReferences.require(userRef(taskDTO.getCreatedById()));
 
         boolean taskExists = taskRepository.existsByNameAndProject_ProjectId(
                 taskDTO.getName(), taskDTO.getProjectId());
@@ -69,51 +70,57 @@ public class TaskService {
             throw new IllegalArgumentException("Ya existe una tarea con ese nombre en este proyecto");
         }
 
-        Task task = modelMapper.map(taskDTO, Task.class);
+        Task task = taskMapper.toEntity(taskDTO);
         task.setProject(project);
         task.setCreatedBy(createdBy);
         task.setStatus(TaskStatus.PENDING);
         task.setCreatedAt(LocalDateTime.now());
 
-        Task savedTask = taskRepository.save(task);
-        return modelMapper.map(savedTask, TaskDTO.class);
+        Task savedTask = entityReferences.saveAndFlush(taskRepository, task,
+                projectRef(taskDTO.getProjectId()), userRef(taskDTO.getCreatedById()));
+        return taskMapper.toDTO(savedTask);
     }
 
     public TaskDTO getTaskById(Long id) {
         return taskRepository.findById(id)
-                .map(task -> modelMapper.map(task, TaskDTO.class))
+                .map(taskMapper::toDTO)
                 .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
 
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(task -> modelMapper.map(task, TaskDTO.class))
+    public List<TaskDTO> getAllTasks(Long after, int size) {
+        return taskRepository
+                .findByTaskIdGreaterThanOrderByTaskIdAsc(after == null ? 0L : after, Limit.of(size))
+                .stream()
+                .map(taskMapper::toDTO)
                 .toList();
     }
 
+    // Sin transacción propia: EntityStreamer abre una por página
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamAllTasks(Consumer<TaskDTO> action) {
+        entityStreamer.forEach(taskRepository::findByTaskIdGreaterThanOrderByTaskIdAsc, Task::getTaskId, taskMapper::toDTO, action);
+    }
+
     public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
         return taskRepository.findById(id)
                 .map(task -> {
-                    modelMapper.map(taskDTO, task);
-
                     if (taskDTO.getStatus() != null && task.getStatus() != taskDTO.getStatus()) {
                         throw new IllegalArgumentException("El estado de la tarea no puede modificarse desde esta función");
                     }
 
+                    taskMapper.updateEntity(taskDTO, task);
+
                     if (taskDTO.getProjectId() != null) {
-                        Project project = projectRepository.findById(taskDTO.getProjectId())
-                                .orElseThrow(() -> new RuntimeException(MSG_PROYECTO_NO_ENCONTRADO));
-                        task.setProject(project);
+                        task.setProject(entityReferences.require(projectRef(taskDTO.getProjectId())));
                     }
 
                     if (taskDTO.getCreatedById() != null) {
-                        User user = userRepository.findById(taskDTO.getCreatedById())
-                                .orElseThrow(() -> new RuntimeException(MSG_USUARIO_NO_ENCONTRADO));
-                        task.setCreatedBy(user);
+                        task.setCreatedBy(entityReferences.require(userRef(taskDTO.getCreatedById())));
                     }
 
-                    Task updatedTask = taskRepository.save(task);
-                    return modelMapper.map(updatedTask, TaskDTO.class);
+                    Task updatedTask = entityReferences.saveAndFlush(taskRepository, task,
+                            projectRef(taskDTO.getProjectId()), userRef(taskDTO.getCreatedById()));
+                    return taskMapper.toDTO(updatedTask);
                 })
                 .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
@@ -135,33 +142,30 @@ public class TaskService {
 
                     task.setStatus(status);
                     Task updatedTask = taskRepository.save(task);
-                    return modelMapper.map(updatedTask, TaskDTO.class);
+                    return taskMapper.toDTO(updatedTask);
                 })
                 .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
 
-    public List<TaskDTO> getTasksByProjectIdAndUser(Long projectId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException(MSG_USUARIO_NO_ENCONTRADO));
-
-        boolean isTeacher = user.getRole() == Role.TEACHER;
-        boolean isInProjectTeam = userTeamRepository.existsByUserIdAndProjectId(user.getUserId(), projectId);
-
-        if (isTeacher && isInProjectTeam) {
-            return taskRepository.findByProject_ProjectId(projectId).stream()
-                    .map(task -> modelMapper.map(task, TaskDTO.class))
-                    .toList();
-        } else {
-            List<Long> assignedTaskIds = taskAssignmentRepository
-                    .findById_AssignedIdAndId_AssignedType(user.getUserId(), "USER")
-                    .stream()
-                    .map(a -> a.getTask().getTaskId())
-                    .toList();
-
-            return taskRepository.findByProject_ProjectId(projectId).stream()
-                    .filter(task -> assignedTaskIds.contains(task.getTaskId()))
-                    .map(task -> modelMapper.map(task, TaskDTO.class))
-                    .toList();
-        }
+    // userId y role vienen del principal autenticado: no se vuelve a consultar el usuario
+    public Page<TaskDTO> getTasksByProjectIdAndUser(
+            Long projectId, Long userId, Role role, TaskStatus status, TaskPriority priority, Pageable pageable) {
+        // Solo un docente del proyecto ve todas las tareas; el resto, las suyas
+        boolean seesWholeProject = role == Role.TEACHER && membershipIndex.isMember(userId, projectId);
+
+        Page<Task> tasks = seesWholeProject
+                ? taskRepository.findByProjectFiltered(projectId, status, priority, pageable)
+                : taskRepository.findVisibleToUser(projectId, userId, status, priority, pageable);
+        return tasks.map(taskMapper::toDTO);
+    }
+
+    private EntityReferences.Reference<Project> projectRef(Long projectId) {
+        return new EntityReferences.Reference<>(CacheConfig.PROJECT_IDS, projectId, projectRepository,
+                () -> new RuntimeException(MSG_PROYECTO_NO_ENCONTRADO));
+    }
+
+    private EntityReferences.Reference<User> userRef(Long userId) {
+        return new EntityReferences.Reference<>(CacheConfig.USER_IDS, userId, userRepository,
+                () -> new RuntimeException(MSG_USUARIO_NO_ENCONTRADO));
     }
 }
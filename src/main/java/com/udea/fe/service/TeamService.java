@@ -1,15 +1,16 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.*;
 import com.udea.fe.exception.*;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.TeamRepository;
 import com.udea.fe.repository.UserRepository;
 import com.udea.fe.repository.UserTeamRepository;
+import com.udea.fe.mapper.TeamMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,7 +24,9 @@ public class TeamService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final UserTeamRepository userTeamRepository;
-    private final ModelMapper modelMapper;
+    private final TeamMapper teamMapper;
+    private final MembershipIndex membershipIndex;
+    private final EntityReferences entityReferences;
 
     // Constantes centralizadas
     private static final String MSG_PROYECTO_NO_ENCONTRADO = "Proyecto no encontrado";
@@ -35,34 +38,28 @@ public class TeamService {
     private static final String MSG_USUARIO_NO_ESTA_EN_EQUIPO = "Usuario no está en el equipo";
 
     public TeamDTO createTeam(TeamDTO teamDTO) {
-        Team team = modelMapper.map(teamDTO, Team.class);
+        Team team = teamMapper.toEntity(teamDTO);
 
-        Project project = projectRepository.findById(teamDTO.getProjectId())
-                .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
-        team.setProject(project);
+        team.setProject(entityReferences.require(projectRef(teamDTO.getProjectId())));
 
         if (teamDTO.getLeaderId() != null) {
-            User leader = userRepository.findById(teamDTO.getLeaderId())
-                    .orElseThrow(() -> new UserNotFoundException(MSG_USUARIO_LIDER_NO_ENCONTRADO));
-            team.setLeader(leader);
+            team.setLeader(entityReferences.require(userRef(teamDTO.getLeaderId(), MSG_USUARIO_LIDER_NO_ENCONTRADO)));
         }
 
-        Team savedTeam = teamRepository.save(team);
-        return modelMapper.map(savedTeam, TeamDTO.class);
+        Team savedTeam = entityReferences.saveAndFlush(teamRepository, team,
+                projectRef(teamDTO.getProjectId()), userRef(teamDTO.getLeaderId(), MSG_USUARIO_LIDER_NO_ENCONTRADO));
+        return teamMapper.toDTO(savedTeam);
     }
 
     public TeamDTO getTeamById(Long id) {
         return teamRepository.findById(id)
-                .map(team -> modelMapper.map(team, TeamDTO.class))
+                .map(teamMapper::toDTO)
                 .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO));
     }
 
     public List<TeamDTO> getTeamsByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
-
-        return teamRepository.findByProject(project).stream()
-                .map(team -> modelMapper.map(team, TeamDTO.class))
+        return teamRepository.findByProject(entityReferences.require(projectRef(projectId))).stream()
+                .map(teamMapper::toDTO)
                 .toList();
     }
 
@@ -74,33 +71,34 @@ public class TeamService {
         existingTeam.setDescription(teamDTO.getDescription());
 
         if (teamDTO.getLeaderId() != null) {
-            User leader = userRepository.findById(teamDTO.getLeaderId())
-                    .orElseThrow(() -> new UserNotFoundException(MSG_USUARIO_LIDER_NO_ENCONTRADO));
-            existingTeam.setLeader(leader);
+            existingTeam.setLeader(entityReferences.require(userRef(teamDTO.getLeaderId(), MSG_USUARIO_LIDER_NO_ENCONTRADO)));
         }
 
-        if (teamDTO.getProjectId() != null) {
-            Project project = projectRepository.findById(teamDTO.getProjectId())
-                    .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
-            existingTeam.setProject(project);
+        if (teamDTO.getProjectId() != null && !teamDTO.getProjectId().equals(projectIdOf(existingTeam))) {
+            existingTeam.setProject(entityReferences.require(projectRef(teamDTO.getProjectId())));
+            membershipIndex.membershipsChanged(userTeamRepository.findUserIdsByTeamIds(List.of(id)));
         }
 
-        Team updatedTeam = teamRepository.save(existingTeam);
-        return modelMapper.map(updatedTeam, TeamDTO.class);
+        Team updatedTeam = entityReferences.saveAndFlush(teamRepository, existingTeam,
+                projectRef(teamDTO.getProjectId()), userRef(teamDTO.getLeaderId(), MSG_USUARIO_LIDER_NO_ENCONTRADO));
+        return teamMapper.toDTO(updatedTeam);
     }
 
     public void deleteTeam(Long id) {
         if (!teamRepository.existsById(id)) {
             throw new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + id);
         }
+        List<Long> memberIds = userTeamRepository.findUserIdsByTeamIds(List.of(id));
         teamRepository.deleteById(id);
+        membershipIndex.membershipsChanged(memberIds);
     }
 
     public void addUserToTeam(Long userId, Long teamId, String roleInGroup) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(MSG_USUARIO_NO_ENCONTRADO_CON_ID + userId));
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + teamId));
+        EntityReferences.Reference<User> userReference = userRef(userId, MSG_USUARIO_NO_ENCONTRADO_CON_ID + userId);
+        EntityReferences.Reference<Team> teamReference = new EntityReferences.Reference<>(CacheConfig.TEAM_IDS, teamId,
+                teamRepository, () -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + teamId));
+        User user = entityReferences.require(userReference);
+        Team team = entityReferences.require(teamReference);
 
         UserTeamId id = new UserTeamId(userId, teamId);
 
@@ -114,13 +112,15 @@ public class TeamService {
         userTeam.setTeam(team);
         userTeam.setRoleInGroup(roleInGroup);
 
-        userTeamRepository.save(userTeam);
+        entityReferences.saveAndFlush(userTeamRepository, userTeam, userReference, teamReference);
+        membershipIndex.memberAdded(userId, projectIdOf(team));
     }
 
     public List<UserTeam> getUsersByTeam(Long teamId) {
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO));
-        return userTeamRepository.findByTeam(team);
+        if (!teamRepository.existsById(teamId)) {
+            throw new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO);
+        }
+        return userTeamRepository.findByTeam_TeamId(teamId);
     }
 
     public void removeUserFromTeam(Long userId, Long teamId) {
@@ -131,5 +131,21 @@ public class TeamService {
         }
 
         userTeamRepository.deleteById(id);
+        membershipIndex.membershipsChanged(List.of(userId));
+    }
+
+    // El id de un proxy de Project se lee sin inicializarlo
+    private Long projectIdOf(Team team) {
+        return team.getProject() != null ? team.getProject().getProjectId() : null;
+    }
+
+    private EntityReferences.Reference<Project> projectRef(Long projectId) {
+        return new EntityReferences.Reference<>(CacheConfig.PROJECT_IDS, projectId, projectRepository,
+                () -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
+    }
+
+    private EntityReferences.Reference<User> userRef(Long userId, String notFoundMessage) {
+        return new EntityReferences.Reference<>(CacheConfig.USER_IDS, userId, userRepository,
+                () -> new UserNotFoundException(notFoundMessage));
     }
 }
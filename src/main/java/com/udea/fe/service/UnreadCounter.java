@@ -0,0 +1,93 @@
+package com.udea.fe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Contador en memoria de notificaciones no leídas por usuario, para el badge del front.
+ * Un acierto no consulta la tabla de notificaciones; un fallo la cuenta una vez y queda en caché.
+ * Los cambios se aplican tras el commit y solo sobre contadores ya cargados.
+ * Cada instancia tiene sus contadores y solo ve los cambios que hace ella: lo que entrega el despachador,
+ * marca como leído o borra la retención en otra instancia se ve cuando expira la entrada. Por eso el TTL
+ * es corto (segundos): acota cuánto puede mostrar un badge desactualizado y el conteo que evita sigue
+ * siendo una consulta indexada. Métricas: cache.gets con el tag cache=unreadNotifications.
+ */
+@Component
+public class UnreadCounter {
+
+    static final String CACHE_NAME = "unreadNotifications";
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counters;
+
+    @Autowired
+    public UnreadCounter(
+            NotificationRepository notificationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.unread-counter.max-size:50000}") long maxSize,
+            @Value("${notifications.unread-counter.ttl:30s}") Duration ttl) {
+        this(notificationRepository, meterRegistry, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    UnreadCounter(NotificationRepository notificationRepository, MeterRegistry meterRegistry,
+                  long maxSize, Duration ttl, Ticker ticker) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, CACHE_NAME);
+    }
+
+    public long get(Long userId) {
+        return counters.get(userId, id -> new AtomicLong(notificationRepository.countByUserUserIdAndIsReadFalse(id))).get();
+    }
+
+    public void increment(Long userId, long delta) {
+        AfterCommit.run(() -> adjust(userId, delta));
+    }
+
+    public void decrement(Long userId) {
+        decrement(userId, 1);
+    }
+
+    public void decrement(Long userId, long count) {
+        AfterCommit.run(() -> adjust(userId, -count));
+    }
+
+    // Para cambios cuyo efecto sobre las no leídas se desconoce: el siguiente get() vuelve a contar
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> counters.invalidate(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        // Los digests que solo suman eventos ya estaban contados como no leídos
+        Map<Long, Long> perUser = event.notifications().stream()
+                .collect(Collectors.groupingBy(NotificationDTO::getUserId, Collectors.counting()));
+        perUser.forEach(this::adjust);
+    }
+
+    private void adjust(Long userId, long delta) {
+        AtomicLong counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            counter.updateAndGet(value -> Math.max(0, value + delta));
+        }
+    }
+}
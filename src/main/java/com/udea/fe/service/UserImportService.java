@@ -0,0 +1,224 @@
+package com.udea.fe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.DTO.UserImportReportDTO;
+import com.udea.fe.DTO.UserImportRowDTO;
+import com.udea.fe.DTO.UserKeyRow;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import com.udea.fe.mapper.UserMapper;
+import com.udea.fe.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de usuarios desde un CSV con cabecera o un arreglo JSON, con los campos de UserDTO.
+ * El archivo se lee fila a fila, sin cargarlo entero, y se procesa en bloques de {@code chunk-size}:
+ * una sola consulta comprueba los emails y DNI del bloque, las contraseñas se cifran en paralelo en un
+ * pool de {@code hash-threads} hilos (BCrypt es lo más caro del alta) y el bloque se inserta en lote en
+ * su propia transacción. Un bloque guardado no se deshace si falla una fila posterior: el informe
+ * indica el resultado de cada fila. Si falla el cifrado o el guardado de un bloque, sus filas se
+ * informan como error y la importación sigue con el bloque siguiente.
+ * Las filas sin rol se crean como STUDENT; las de rol ADMIN se rechazan salvo con {@code allow-admin}.
+ */
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, JSON }
+
+    static final String MSG_EMAIL_DUPLICADO = "Ya existe un usuario con el email proporcionado";
+    static final String MSG_DNI_DUPLICADO = "Ya existe un usuario con el DNI proporcionado";
+    static final String MSG_CONFLICTO = "No se pudo guardar el bloque: otro proceso registró un email o DNI del bloque";
+    static final String MSG_ERROR_BLOQUE = "No se pudo guardar el bloque por un error interno; puede reintentarse";
+    static final String MSG_ROL_NO_PERMITIDO = "La importación no puede crear usuarios con rol ADMIN";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final boolean allowAdmin;
+    private final ExecutorService hashExecutor;
+    private final ObjectReader csvReader;
+    private final ObjectReader jsonReader;
+
+    public UserImportService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            UserMapper userMapper,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${users.import.chunk-size:500}") int chunkSize,
+            @Value("${users.import.hash-threads:4}") int hashThreads,
+            @Value("${users.import.allow-admin:false}") boolean allowAdmin) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.allowAdmin = allowAdmin;
+        this.hashExecutor = Executors.newFixedThreadPool(hashThreads, new CustomizableThreadFactory("user-import-hash-"));
+        this.csvReader = new CsvMapper().readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+        this.jsonReader = objectMapper.readerFor(Map.class);
+    }
+
+    private record PendingRow(long row, UserDTO user, String email, String error) {
+    }
+
+    public UserImportReportDTO importUsers(InputStream input, Format format) throws IOException {
+        List<UserImportRowDTO> results = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        UserImportRowDTO malformed = null;
+        long row = 0;
+
+        // Con un arreglo JSON en la raíz, readValues recorre sus elementos uno a uno
+        try (MappingIterator<Map<String, Object>> rows = (format == Format.CSV ? csvReader : jsonReader).readValues(input)) {
+            while (rows.hasNextValue()) {
+                Map<String, Object> values = rows.nextValue();
+                chunk.add(pendingRow(++row, values));
+                if (chunk.size() == chunkSize) {
+                    results.addAll(importChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            malformed = UserImportRowDTO.error(row + 1, null, "Archivo mal formado: " + e.getOriginalMessage());
+        }
+        results.addAll(importChunk(chunk));
+        if (malformed != null) {
+            results.add(malformed);
+        }
+
+        int created = (int) results.stream().filter(r -> UserImportRowDTO.CREATED.equals(r.getStatus())).count();
+        return new UserImportReportDTO(results.size(), created, results.size() - created, results);
+    }
+
+    private PendingRow pendingRow(long row, Map<String, Object> values) {
+        values.replaceAll((field, value) -> value instanceof String text ? (text.isBlank() ? null : text.trim()) : value);
+        Object email = values.get("email");
+        try {
+            UserDTO user = objectMapper.convertValue(values, UserDTO.class);
+            List<String> missing = new ArrayList<>();
+            if (user.getEmail() == null) missing.add("email");
+            if (user.getDni() == null) missing.add("dni");
+            if (user.getPassword() == null) missing.add("password");
+            String error = missing.isEmpty() ? null : "Faltan campos obligatorios: " + String.join(", ", missing);
+            if (error == null && user.getRole() == Role.ADMIN && !allowAdmin) {
+                error = MSG_ROL_NO_PERMITIDO;
+            }
+            return new PendingRow(row, user, user.getEmail(), error);
+        } catch (IllegalArgumentException e) {
+            return new PendingRow(row, null, Objects.toString(email, null), "Fila inválida: " + e.getMessage());
+        }
+    }
+
+    private List<UserImportRowDTO> importChunk(List<PendingRow> chunk) {
+        List<PendingRow> candidates = chunk.stream().filter(r -> r.error() == null).toList();
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenDnis = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            Set<String> emails = candidates.stream().map(PendingRow::email).collect(Collectors.toSet());
+            Set<String> dnis = candidates.stream().map(r -> r.user().getDni()).collect(Collectors.toSet());
+            for (UserKeyRow existing : userRepository.findKeysByEmailOrDni(emails, dnis)) {
+                takenEmails.add(existing.getEmail());
+                takenDnis.add(existing.getDni());
+            }
+        }
+
+        // Los repetidos dentro del archivo también se rechazan: gana la primera fila
+        UserImportRowDTO[] results = new UserImportRowDTO[chunk.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingRow pending = chunk.get(i);
+            if (pending.error() != null) {
+                results[i] = UserImportRowDTO.error(pending.row(), pending.email(), pending.error());
+            } else if (takenEmails.contains(pending.email())) {
+                results[i] = UserImportRowDTO.error(pending.row(), pending.email(), MSG_EMAIL_DUPLICADO);
+            } else if (takenDnis.contains(pending.user().getDni())) {
+                results[i] = UserImportRowDTO.error(pending.row(), pending.email(), MSG_DNI_DUPLICADO);
+            } else {
+                takenEmails.add(pending.email());
+                takenDnis.add(pending.user().getDni());
+                accepted.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            // Cifrado fuera de la transacción, para no retener una conexión mientras corre BCrypt
+            List<CompletableFuture<User>> hashed = accepted.stream()
+                    .map(i -> CompletableFuture.supplyAsync(() -> toEntity(chunk.get(i).user()), hashExecutor))
+                    .toList();
+            try {
+                List<User> users = hashed.stream().map(CompletableFuture::join).toList();
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+                for (int j = 0; j < accepted.size(); j++) {
+                    PendingRow pending = chunk.get(accepted.get(j));
+                    results[accepted.get(j)] = UserImportRowDTO.created(pending.row(), pending.email(), users.get(j).getUserId());
+                }
+            } catch (DataIntegrityViolationException e) {
+                markFailed(chunk, accepted, results, MSG_CONFLICTO);
+            } catch (RuntimeException e) {
+                // Los bloques anteriores ya están guardados: se informa este y se sigue con el resto
+                logger.error("Falló la importación del bloque que empieza en la fila {}", chunk.get(0).row(), e);
+                markFailed(chunk, accepted, results, MSG_ERROR_BLOQUE);
+            }
+        }
+        return List.of(results);
+    }
+
+    private void markFailed(List<PendingRow> chunk, List<Integer> accepted, UserImportRowDTO[] results, String message) {
+        for (int i : accepted) {
+            results[i] = UserImportRowDTO.error(chunk.get(i).row(), chunk.get(i).email(), message);
+        }
+    }
+
+    private User toEntity(UserDTO userDTO) {
+        User user = userMapper.toEntity(userDTO);
+        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setCreatedAt(LocalDateTime.now());
+        if (user.getRole() == null) {
+            user.setRole(Role.STUDENT);
+        }
+        if (user.getStatus() == null) {
+            user.setStatus(Status.ACTIVE);
+        }
+        return user;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+}
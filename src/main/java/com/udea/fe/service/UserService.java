@@ -6,14 +6,18 @@ import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.UserException;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.service.PrincipalCache;
+import com.udea.fe.security.service.TokenRevocationList;
+import com.udea.fe.mapper.UserMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -22,7 +26,10 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
-  private final ModelMapper modelMapper;
+  private final UserMapper userMapper;
+  private final PrincipalCache principalCache;
+  private final TokenRevocationList tokenRevocationList;
+  private final EntityStreamer entityStreamer;
 
   private static final String MSG_USUARIO_NO_ENCONTRADO = "Usuario no encontrado";
 
@@ -39,7 +46,7 @@ public class UserService {
       throw new UserException("Ya existe un usuario con el ID proporcionado");
     }
 
-    User user = modelMapper.map(userDTO, User.class);
+    User user = userMapper.toEntity(userDTO);
     user.setPassword(passwordEncoder.encode(user.getPassword()));
 
     if (user.getCreatedAt() == null) {
@@ -51,22 +58,29 @@ public class UserService {
     }
 
     User savedUser = userRepository.save(user);
-    return modelMapper.map(savedUser, UserDTO.class);
+    return userMapper.toDTO(savedUser);
   }
 
   public UserDTO getUserByID(Long id) {
     return userRepository
       .findById(id)
-      .map(user -> modelMapper.map(user, UserDTO.class))
+      .map(userMapper::toDTO)
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
   }
 
-  public List<UserDTO> getAllUsers() {
+  public List<UserDTO> getAllUsers(Long after, int size) {
     return userRepository
-      .findByRoleNot(Role.ADMIN)
+      .findByRoleNotAndUserIdGreaterThanOrderByUserIdAsc(Role.ADMIN, after == null ? 0L : after, Limit.of(size))
       .stream()
-      .map(user -> modelMapper.map(user, UserDTO.class))
-      .toList(); // Reemplazo de .collect(Collectors.toList())
+      .map(userMapper::toDTO)
+      .toList();
+  }
+
+  // Sin transacción propia: EntityStreamer abre una por página
+  @Transactional(Transactional.TxType.NOT_SUPPORTED)
+  public void streamAllUsers(Consumer<UserDTO> action) {
+    entityStreamer.forEach((after, limit) -> userRepository.findByRoleNotAndUserIdGreaterThanOrderByUserIdAsc(Role.ADMIN, after, limit),
+      User::getUserId, userMapper::toDTO, action);
   }
 
   public UserDTO updateUser(Long id, UserDTO userDTO) {
@@ -75,9 +89,11 @@ public class UserService {
       .map(existingUser -> {
         validarCambioDeDni(userDTO, existingUser);
         validarCambioDeEmail(userDTO, existingUser);
+        principalCache.evict(existingUser.getEmail());
+        revocarTokensSiCambiaAcceso(userDTO, existingUser);
         actualizarCamposUsuario(existingUser, userDTO);
         User updatedUser = userRepository.save(existingUser);
-        return modelMapper.map(updatedUser, UserDTO.class);
+        return userMapper.toDTO(updatedUser);
       })
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
   }
@@ -102,6 +118,16 @@ public class UserService {
     }
   }
 
+  private void revocarTokensSiCambiaAcceso(UserDTO userDTO, User existingUser) {
+    boolean cambiaRol = userDTO.getRole() != null && userDTO.getRole() != existingUser.getRole();
+    boolean cambiaEstado = userDTO.getStatus() != null && userDTO.getStatus() != existingUser.getStatus();
+    boolean cambiaEmail = userDTO.getEmail() != null && !userDTO.getEmail().equals(existingUser.getEmail());
+
+    if (cambiaRol || cambiaEstado || cambiaEmail) {
+      tokenRevocationList.revoke(existingUser.getEmail());
+    }
+  }
+
   private void actualizarCamposUsuario(User existingUser, UserDTO userDTO) {
     if (userDTO.getName() != null) existingUser.setName(userDTO.getName());
     if (userDTO.getEmail() != null) existingUser.setEmail(userDTO.getEmail());
@@ -115,10 +141,12 @@ public class UserService {
   }
 
   public void deleteUser(Long id) {
-    userRepository
+    User user = userRepository
       .findById(id)
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
     userRepository.deleteById(id);
+    principalCache.evict(user.getEmail());
+    tokenRevocationList.revoke(user.getEmail());
   }
 
   public void deactivateUser(Long id) {
@@ -127,5 +155,7 @@ public class UserService {
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
     user.setStatus(Status.INACTIVE);
     userRepository.save(user);
+    principalCache.evict(user.getEmail());
+    tokenRevocationList.revoke(user.getEmail());
   }
 }
@@ -1,18 +1,21 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.WorkspaceDTO;
+import com.udea.fe.config.CacheConfig;
 import com.udea.fe.entity.Project;
 import com.udea.fe.entity.Workspace;
 import com.udea.fe.exception.ProjectNotFoundException;
 import com.udea.fe.exception.WorkspaceNotFoundException;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.WorkspaceRepository;
+import com.udea.fe.mapper.WorkspaceMapper;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -21,47 +24,54 @@ public class WorkspaceService {
 
     private final WorkspaceRepository workspaceRepository;
     private final ProjectRepository projectRepository;
-    private final ModelMapper modelMapper;
+    private final WorkspaceMapper workspaceMapper;
+    private final EntityStreamer entityStreamer;
+    private final EntityReferences entityReferences;
 
     public WorkspaceDTO createWorkspace(WorkspaceDTO workspaceDTO) {
-        Workspace workspace = modelMapper.map(workspaceDTO, Workspace.class);
+        Workspace workspace = workspaceMapper.toEntity(workspaceDTO);
 
-        Project project = projectRepository.findById(workspaceDTO.getProjectId())
-                .orElseThrow(() -> new ProjectNotFoundException(
-                        "Proyecto no encontrado con id: " + workspaceDTO.getProjectId()));
-        workspace.setProject(project);
+        workspace.setProject(entityReferences.require(projectRef(workspaceDTO.getProjectId())));
 
-        Workspace savedWorkspace = workspaceRepository.save(workspace);
-        return modelMapper.map(savedWorkspace, WorkspaceDTO.class);
+        Workspace savedWorkspace = entityReferences.saveAndFlush(workspaceRepository, workspace,
+                projectRef(workspaceDTO.getProjectId()));
+        return workspaceMapper.toDTO(savedWorkspace);
     }
 
     public WorkspaceDTO getWorkspaceById(Long id) {
         Workspace workspace = workspaceRepository.findById(id)
                 .orElseThrow(() -> new WorkspaceNotFoundException(
                         "Workspace no encontrado con id: " + id));
-        return modelMapper.map(workspace, WorkspaceDTO.class);
+        return workspaceMapper.toDTO(workspace);
     }
 
-    public List<WorkspaceDTO> getAllWorkspaces() {
-        return workspaceRepository.findAll().stream()
-                .map(workspace -> modelMapper.map(workspace, WorkspaceDTO.class))
-                .toList(); // modern approach
+    public List<WorkspaceDTO> getAllWorkspaces(Long after, int size) {
+        return workspaceRepository
+                .findByWorkspaceIdGreaterThanOrderByWorkspaceIdAsc(after == null ? 0L : after, Limit.of(size))
+                .stream()
+                .map(workspaceMapper::toDTO)
+                .toList();
+    }
+
+    // Sin transacción propia: EntityStreamer abre una por página
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamAllWorkspaces(Consumer<WorkspaceDTO> action) {
+        entityStreamer.forEach(workspaceRepository::findByWorkspaceIdGreaterThanOrderByWorkspaceIdAsc, Workspace::getWorkspaceId,
+                workspaceMapper::toDTO, action);
     }
 
     public WorkspaceDTO updateWorkspace(Long id, WorkspaceDTO workspaceDTO) {
         return workspaceRepository.findById(id)
                 .map(workspace -> {
-                    modelMapper.map(workspaceDTO, workspace);
+                    workspaceMapper.updateEntity(workspaceDTO, workspace);
 
                     if (workspaceDTO.getProjectId() != null) {
-                        Project project = projectRepository.findById(workspaceDTO.getProjectId())
-                                .orElseThrow(() -> new ProjectNotFoundException(
-                                        "Proyecto no encontrado con id: " + workspaceDTO.getProjectId()));
-                        workspace.setProject(project);
+                        workspace.setProject(entityReferences.require(projectRef(workspaceDTO.getProjectId())));
                     }
 
-                    Workspace updatedWorkspace = workspaceRepository.save(workspace);
-                    return modelMapper.map(updatedWorkspace, WorkspaceDTO.class);
+                    Workspace updatedWorkspace = entityReferences.saveAndFlush(workspaceRepository, workspace,
+                            projectRef(workspaceDTO.getProjectId()));
+                    return workspaceMapper.toDTO(updatedWorkspace);
                 })
                 .orElseThrow(() -> new WorkspaceNotFoundException(
                         "Workspace no encontrado con id: " + id));
@@ -73,4 +83,9 @@ public class WorkspaceService {
         }
         workspaceRepository.deleteById(id);
     }
+
+    private EntityReferences.Reference<Project> projectRef(Long projectId) {
+        return new EntityReferences.Reference<>(CacheConfig.PROJECT_IDS, projectId, projectRepository,
+                () -> new ProjectNotFoundException("Proyecto no encontrado con id: " + projectId));
+    }
 }
@@ -0,0 +1,65 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Secuencias de los ids (@SequenceGenerator con allocationSize 50 y optimizador pooled-lo): Hibernate
+ * reserva 50 ids por nextval y puede agrupar los INSERT en lotes, cosa que IDENTITY impide.
+ * Es Java y no SQL porque cada secuencia empieza después del mayor id de su tabla y H2 no tiene setval.
+ * Las columnas dejan de ser IDENTITY y toman nextval por defecto, para los INSERT escritos a mano.
+ */
+public class V4__Pooled_id_sequences extends BaseJavaMigration {
+
+    // Debe coincidir con allocationSize en las entidades: Hibernate valida el incremento al arrancar
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> ID_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ID_COLUMNS.put("users", "user_id");
+        ID_COLUMNS.put("projects", "project_id");
+        ID_COLUMNS.put("teams", "team_id");
+        ID_COLUMNS.put("workspaces", "workspace_id");
+        ID_COLUMNS.put("tasks", "task_id");
+        ID_COLUMNS.put("submissions", "submission_id");
+        ID_COLUMNS.put("feedbacks", "feedback_id");
+        ID_COLUMNS.put("feedbacks_responses", "feedback_response_id");
+        ID_COLUMNS.put("notifications", "notification_id");
+        ID_COLUMNS.put("notification_outbox", "outbox_id");
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        // Las tablas creadas por Hibernate 5 usan bigserial, que no es IDENTITY
+        String dropIdentity = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName())
+                ? " DROP IDENTITY IF EXISTS"
+                : " DROP IDENTITY";
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> idColumn : ID_COLUMNS.entrySet()) {
+                String table = idColumn.getKey();
+                String column = idColumn.getValue();
+                String sequence = table + "_seq";
+
+                statement.execute("CREATE SEQUENCE " + sequence
+                        + " START WITH " + nextId(statement, table, column) + " INCREMENT BY " + ALLOCATION_SIZE);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + dropIdentity);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column
+                        + " SET DEFAULT nextval('" + sequence + "')");
+            }
+        }
+    }
+
+    private static long nextId(Statement statement, String table, String column) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT coalesce(max(" + column + "), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
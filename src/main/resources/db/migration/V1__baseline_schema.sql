@@ -0,0 +1,104 @@
+-- Esquema que generaba spring.jpa.hibernate.ddl-auto=update antes de pasar a Flyway, incluido el orden
+-- de las claves primarias compuestas (Hibernate ordena sus columnas alfabéticamente).
+-- Las bases de datos que ya lo tienen no ejecutan este script: spring.flyway.baseline-on-migrate
+-- las marca como versión 1 y solo aplican las migraciones siguientes. No modificarlo: los cambios
+-- de esquema van en una migración nueva.
+
+CREATE TABLE users (
+    user_id    bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       varchar(255),
+    email      varchar(255),
+    dni        varchar(255),
+    password   varchar(255),
+    role       varchar(255) CHECK (role IN ('STUDENT', 'TEACHER', 'ADMIN')),
+    created_at timestamp(6),
+    status     varchar(255) CHECK (status IN ('ACTIVE', 'INACTIVE'))
+);
+
+CREATE TABLE projects (
+    project_id  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    description varchar(255),
+    start_date  date,
+    end_date    date,
+    status      varchar(255) CHECK (status IN ('IN_PROGRESS', 'COMPLETED', 'CANCELED')),
+    created_by  bigint CONSTRAINT fk_projects_created_by REFERENCES users (user_id)
+);
+
+CREATE TABLE teams (
+    team_id     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    description varchar(255),
+    project_id  bigint CONSTRAINT fk_teams_project REFERENCES projects (project_id),
+    leader_id   bigint CONSTRAINT fk_teams_leader REFERENCES users (user_id)
+);
+
+CREATE TABLE user_teams (
+    user_id       bigint NOT NULL CONSTRAINT fk_user_teams_user REFERENCES users (user_id),
+    team_id       bigint NOT NULL CONSTRAINT fk_user_teams_team REFERENCES teams (team_id),
+    role_in_group varchar(255),
+    PRIMARY KEY (team_id, user_id)
+);
+
+CREATE TABLE workspaces (
+    workspace_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         varchar(255),
+    description  varchar(255),
+    project_id   bigint CONSTRAINT fk_workspaces_project REFERENCES projects (project_id)
+);
+
+CREATE TABLE tasks (
+    task_id     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    description varchar(255),
+    created_at  timestamp(6),
+    due_date    timestamp(6),
+    status      varchar(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'REVIEWED')),
+    priority    varchar(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    created_by  bigint CONSTRAINT fk_tasks_created_by REFERENCES users (user_id),
+    project_id  bigint CONSTRAINT fk_tasks_project REFERENCES projects (project_id)
+);
+
+CREATE TABLE task_assignment (
+    task_id       bigint       NOT NULL CONSTRAINT fk_task_assignment_task REFERENCES tasks (task_id),
+    assigned_type varchar(255) NOT NULL,
+    assigned_id   bigint       NOT NULL,
+    PRIMARY KEY (assigned_id, assigned_type, task_id)
+);
+
+CREATE TABLE submissions (
+    submission_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content       varchar(500),
+    file_url      varchar(255),
+    submitted_at  timestamp(6),
+    task_id       bigint CONSTRAINT fk_submissions_task REFERENCES tasks (task_id),
+    user_id       bigint CONSTRAINT fk_submissions_user REFERENCES users (user_id)
+);
+
+CREATE TABLE feedbacks (
+    feedback_id        bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    comment            varchar(255),
+    rating             integer,
+    created_at         timestamp(6),
+    submission_id      bigint CONSTRAINT fk_feedbacks_submission REFERENCES submissions (submission_id),
+    created_by         bigint CONSTRAINT fk_feedbacks_created_by REFERENCES users (user_id),
+    parent_feedback_id bigint CONSTRAINT fk_feedbacks_parent REFERENCES feedbacks (feedback_id)
+);
+
+CREATE TABLE feedbacks_responses (
+    feedback_response_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    comment              varchar(255),
+    response_date        timestamp(6),
+    feedback_id          bigint CONSTRAINT fk_feedbacks_responses_feedback REFERENCES feedbacks (feedback_id),
+    created_by           bigint CONSTRAINT fk_feedbacks_responses_created_by REFERENCES users (user_id)
+);
+
+CREATE TABLE notifications (
+    notification_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         bigint CONSTRAINT fk_notifications_user REFERENCES users (user_id),
+    message         varchar(255),
+    type            varchar(255),
+    is_read         boolean NOT NULL,
+    created_at      timestamp(6),
+    read_at         timestamp(6)
+);
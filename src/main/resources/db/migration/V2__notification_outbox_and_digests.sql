@@ -0,0 +1,18 @@
+-- Outbox de notificaciones (NotificationOutboxDispatcher) y contador de eventos agrupados (digests).
+-- IF NOT EXISTS: una base de datos de desarrollo pudo recibirlos ya con ddl-auto=update.
+
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS event_count integer NOT NULL DEFAULT 1;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS last_event_at timestamp(6);
+
+-- Sin clave foránea a users: encolar no debe bloquear al destinatario (ver NotificationOutbox)
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         bigint       NOT NULL,
+    message         varchar(255),
+    type            varchar(255),
+    created_at      timestamp(6) NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    attempts        integer      NOT NULL,
+    last_error      varchar(500),
+    failed_at       timestamp(6)
+);
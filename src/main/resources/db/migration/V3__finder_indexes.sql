@@ -0,0 +1,46 @@
+-- Índices de las consultas de los repositorios y restricciones únicas de las validaciones de los
+-- servicios; son los únicos índices del esquema aparte de las claves primarias (las entidades no
+-- declaran @Index). IF NOT EXISTS: una base de datos de desarrollo pudo crear algunos con ddl-auto=update.
+-- Las restricciones únicas fallan si ya hay duplicados: depurarlos antes de desplegar.
+
+-- UserRepository.findByEmail / findByDni (login y validación de alta y edición de usuarios)
+ALTER TABLE users ADD CONSTRAINT uq_users_email UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT uq_users_dni UNIQUE (dni);
+-- findByRole
+CREATE INDEX IF NOT EXISTS idx_users_role ON users (role);
+
+-- ProjectRepository.findByCreatedByUserId
+CREATE INDEX IF NOT EXISTS idx_projects_created_by ON projects (created_by);
+
+-- TeamRepository.findByProject y findByNameAndProject (el nombre hace de columna de cobertura)
+CREATE INDEX IF NOT EXISTS idx_teams_project_name ON teams (project_id, name);
+-- findByLeader
+CREATE INDEX IF NOT EXISTS idx_teams_leader_id ON teams (leader_id);
+
+-- UserTeamRepository: la clave primaria (team_id, user_id) resuelve findByTeam_TeamId y
+-- findUserIdsByTeamIds; las búsquedas por usuario (findByIdUserId, pertenencia a proyectos,
+-- tareas visibles) necesitan el orden inverso
+CREATE INDEX IF NOT EXISTS idx_user_teams_user_team ON user_teams (user_id, team_id);
+
+-- TaskRepository.existsByNameAndProject_ProjectId; como empieza por project_id también sirve a
+-- findByProject_ProjectId, findByProjectFiltered y findVisibleToUser
+ALTER TABLE tasks ADD CONSTRAINT uq_tasks_project_name UNIQUE (project_id, name);
+
+-- TaskAssignmentRepository: la clave primaria (assigned_id, assigned_type, task_id) resuelve
+-- findById_AssignedIdAndId_AssignedType; findById_TaskId y los EXISTS por tarea necesitan task_id
+CREATE INDEX IF NOT EXISTS idx_task_assignment_task_id ON task_assignment (task_id);
+
+-- SubmissionRepository.findByTask_TaskId y findByTask_TaskIdAndUser_UserId
+CREATE INDEX IF NOT EXISTS idx_submissions_task_user ON submissions (task_id, user_id);
+
+-- FeedbackRepository.findBySubmission_SubmissionId y findThreadRowsBySubmissionId
+CREATE INDEX IF NOT EXISTS idx_feedbacks_submission_id ON feedbacks (submission_id);
+CREATE INDEX IF NOT EXISTS idx_feedbacks_responses_feedback_id ON feedbacks_responses (feedback_id);
+
+-- NotificationRepository: no leídas por usuario (listado, contador, digests, marcar como leídas)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
+-- findReadIdsCreatedBefore (limpieza periódica)
+CREATE INDEX IF NOT EXISTS idx_notifications_read_created ON notifications (is_read, created_at);
+
+-- NotificationOutboxRepository: pendientes por fecha del siguiente intento
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending ON notification_outbox (failed_at, next_attempt_at);
@@ -0,0 +1,13 @@
+-- Revocaciones de tokens compartidas entre instancias (TokenRevocationList, modo CLAIMS).
+-- Sin clave foránea a users: la revocación de un usuario borrado debe seguir vigente.
+CREATE TABLE token_revocations (
+    email      varchar(255)                NOT NULL PRIMARY KEY,
+    revoked_at timestamp(6) with time zone NOT NULL
+);
+
+-- Refresco incremental (findByRevokedAtGreaterThanEqual) y limpieza de las ya vencidas
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
+
+-- Antes solo se rechazaban los tokens de los usuarios inactivos consultando users: se revocan al migrar
+INSERT INTO token_revocations (email, revoked_at)
+SELECT email, current_timestamp FROM users WHERE status = 'INACTIVE' AND email IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Cursor del reenvío SSE (NotificationHub): los ids pooled-lo y created_at (hora del evento, que el outbox
+-- puede entregar mucho después) no siguen el orden de commit; published_at se fija al confirmar la fila.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS published_at timestamp(6);
+
+UPDATE notifications SET published_at = coalesce(last_event_at, created_at) WHERE published_at IS NULL;
+
+-- NotificationRepository.findPublishedSince
+CREATE INDEX IF NOT EXISTS idx_notifications_user_published ON notifications (user_id, published_at);
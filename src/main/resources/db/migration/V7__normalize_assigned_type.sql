@@ -0,0 +1,13 @@
+-- TaskAssignmentService guarda assigned_type en mayúsculas y las consultas lo comparan exacto:
+-- se normalizan las filas antiguas ('user', 'Team'...). Si el mismo par ya existe con otra
+-- escritura, se conserva una sola fila (la que ya estaba en mayúsculas, si la hay).
+DELETE FROM task_assignment a
+WHERE a.assigned_type <> upper(a.assigned_type)
+  AND EXISTS (
+    SELECT 1 FROM task_assignment b
+    WHERE b.task_id = a.task_id
+      AND b.assigned_id = a.assigned_id
+      AND upper(b.assigned_type) = upper(a.assigned_type)
+      AND (b.assigned_type = upper(b.assigned_type) OR b.assigned_type < a.assigned_type));
+
+UPDATE task_assignment SET assigned_type = upper(assigned_type) WHERE assigned_type <> upper(assigned_type);
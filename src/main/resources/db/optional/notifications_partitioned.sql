@@ -0,0 +1,70 @@
+-- Almacenamiento particionado por mes de notifications (PostgreSQL 13+). OPCIONAL: no lo ejecuta
+-- la aplicación; aplicarlo a mano en una ventana de mantenimiento cuando la tabla sea muy grande.
+--
+-- - La clave primaria pasa a ser (notification_id, created_at), como exige el particionado por rango;
+--   notification_id sigue siendo único porque lo genera una sola secuencia (notifications_seq).
+-- - Cada partición hereda los índices (user_id, is_read, created_at) de las consultas de no leídas y
+--   (user_id, published_at) del reenvío SSE.
+-- - NotificationRetentionJob sigue funcionando igual; además, una partición vieja sin no leídas
+--   puede desvincularse y borrarse de una vez (DETACH PARTITION + DROP TABLE).
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX IF EXISTS idx_notifications_user_read_created RENAME TO idx_notifications_legacy_user_read_created;
+ALTER INDEX IF EXISTS idx_notifications_user_published RENAME TO idx_notifications_legacy_user_published;
+
+CREATE TABLE notifications (
+    notification_id bigint       NOT NULL DEFAULT nextval('notifications_seq'),
+    user_id         bigint REFERENCES users (user_id),
+    message         varchar(255),
+    type            varchar(255),
+    is_read         boolean      NOT NULL DEFAULT false,
+    created_at      timestamp(6) NOT NULL,
+    read_at         timestamp(6),
+    event_count     integer      NOT NULL DEFAULT 1,
+    last_event_at   timestamp(6),
+    published_at    timestamp(6),
+    PRIMARY KEY (notification_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
+CREATE INDEX idx_notifications_user_published ON notifications (user_id, published_at);
+
+-- Filas fuera de las particiones mensuales (p. ej. fechas futuras erróneas)
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- Crea la partición del mes que contiene la fecha dada; programarla (pg_cron o similar)
+-- para crear el mes siguiente antes de que empiece
+CREATE OR REPLACE FUNCTION create_notifications_partition(month date) RETURNS void AS $$
+DECLARE
+    start_date date := date_trunc('month', month);
+    end_date   date := start_date + interval '1 month';
+    partition  text := format('notifications_%s', to_char(start_date, 'YYYY_MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                   partition, start_date, end_date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Particiones desde el mes más antiguo con datos hasta tres meses después del actual
+DO $$
+DECLARE
+    month date := date_trunc('month', coalesce((SELECT min(created_at) FROM notifications_legacy), now()));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + interval '3 months' LOOP
+        PERFORM create_notifications_partition(month);
+        month := month + interval '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO notifications (notification_id, user_id, message, type, is_read, created_at, read_at, event_count, last_event_at,
+                           published_at)
+SELECT notification_id, user_id, message, type, is_read, coalesce(created_at, now()), read_at, event_count, last_event_at,
+       published_at
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+COMMIT;
@@ -0,0 +1,34 @@
+package com.udea.fe;
+
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+
+/**
+ * Entidades de prueba sin guardar, compartidas por los tests que escriben en la base de datos.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    // Usuario activo; el nombre es el email
+    public static User user(String email, Role role) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setStatus(Status.ACTIVE);
+        return user;
+    }
+
+    public static User user(String email) {
+        return user(email, Role.STUDENT);
+    }
+
+    public static User user(String email, String dni) {
+        User user = user(email);
+        user.setDni(dni);
+        return user;
+    }
+}
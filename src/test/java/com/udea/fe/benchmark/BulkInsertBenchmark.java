@@ -0,0 +1,113 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.InnosistemasApplication;
+import com.udea.fe.entity.*;
+import com.udea.fe.repository.NotificationRepository;
+import com.udea.fe.repository.ProjectRepository;
+import com.udea.fe.repository.SubmissionRepository;
+import com.udea.fe.repository.TaskRepository;
+import com.udea.fe.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filas por segundo al importar ROWS notificaciones o entregas con saveAll (perfil test, H2 en memoria).
+ * Los ids salen de secuencias pooled-lo (un nextval cada 50 filas); batchSize=1 reproduce el coste de
+ * IDENTITY, una ida y vuelta por fila, y batchSize=50 el lote configurado en application.properties.
+ * Con PostgreSQL en red la diferencia es mayor: cada ida y vuelta cuesta la latencia de la red.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="BulkInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BulkInsertBenchmark.ROWS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BulkInsertBenchmark {
+
+    static final int ROWS = 10_000;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+    private SubmissionRepository submissionRepository;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InnosistemasApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0", "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--app.sql-metrics.enabled=false",
+                        "--notifications.retention.enabled=false");
+        notificationRepository = context.getBean(NotificationRepository.class);
+        submissionRepository = context.getBean(SubmissionRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        user = new User();
+        user.setName("Bench");
+        user.setEmail("bench@udea.edu.co");
+        user = context.getBean(UserRepository.class).save(user);
+        Project project = new Project();
+        project.setName("Proyecto");
+        project = context.getBean(ProjectRepository.class).save(project);
+        task = new Task();
+        task.setName("Tarea");
+        task.setProject(project);
+        task = context.getBean(TaskRepository.class).save(task);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("delete from notifications");
+        jdbcTemplate.update("delete from submissions");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int importNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Notification notification = new Notification();
+            notification.setUser(user);
+            notification.setMessage("Mensaje " + i);
+            notification.setType("INFO");
+            notification.setCreatedAt(now);
+            notifications.add(notification);
+        }
+        return notificationRepository.saveAll(notifications).size();
+    }
+
+    @Benchmark
+    public int importSubmissions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Submission> submissions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Submission submission = new Submission();
+            submission.setTask(task);
+            submission.setUser(user);
+            submission.setContent("Entrega " + i);
+            submission.setSubmittedAt(now);
+            submissions.add(submission);
+        }
+        return submissionRepository.saveAll(submissions).size();
+    }
+}
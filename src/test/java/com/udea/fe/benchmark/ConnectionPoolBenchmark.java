@@ -0,0 +1,92 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.config.ProductionDataSourceConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga concurrente sobre el pool de ProductionDataSourceConfig (H2 en memoria): 32 hilos piden una
+ * conexión, ejecutan una consulta y la retienen 2 ms simulando el trabajo de la petición.
+ * Con pocas conexiones la latencia de cada operación es casi toda espera por el pool; al terminar se
+ * imprime hikaricp.connections.acquire (media, p50, p99), la métrica que expone el actuator.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ConnectionPoolBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(32)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    private static final long HOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"4", "9", "32"})
+    private int poolSize;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource dataSource;
+
+    @Setup
+    public void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return id.getName().equals("hikaricp.connections.acquire")
+                        ? DistributionStatisticConfig.builder().percentiles(0.5, 0.99).build().merge(config)
+                        : config;
+            }
+        });
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:pool" + poolSize + ";DB_CLOSE_DELAY=-1");
+        properties.setUsername("sa");
+        dataSource = new ProductionDataSourceConfig().dataSource(properties, 0, poolSize, 3, 512, 8);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(poolSize);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        try (Connection ignored = dataSource.getConnection()) {
+            // Arranca el pool antes de medir
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        ValueAtPercentile[] percentiles = acquire.takeSnapshot().percentileValues();
+        System.out.printf("%npoolSize=%d hikaricp.connections.acquire: media %.0f us, p50 %.0f us, p99 %.0f us (%d adquisiciones)%n",
+                poolSize, acquire.mean(TimeUnit.MICROSECONDS),
+                percentiles[0].value(TimeUnit.MICROSECONDS), percentiles[1].value(TimeUnit.MICROSECONDS),
+                acquire.count());
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int request() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select 1")) {
+            resultSet.next();
+            LockSupport.parkNanos(HOLD_NANOS);
+            return resultSet.getInt(1);
+        }
+    }
+}
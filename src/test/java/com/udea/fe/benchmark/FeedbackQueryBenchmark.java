@@ -0,0 +1,120 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.InnosistemasApplication;
+import com.udea.fe.mapper.FeedbackMapper;
+import com.udea.fe.repository.FeedbackRepository;
+import com.udea.fe.service.FeedbackService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de obtener el feedback de una entrega con {@code feedbackRows} filas en la tabla
+ * (perfil test, H2 en memoria).
+ * legacy: findAll() y filtro en Java, como hacía getFeedbacksBySubmissionId.
+ * indexed: consulta por submission_id (idx_feedbacks_submission_id).
+ * thread: hilo completo con respuestas en una sola consulta.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FeedbackQueryBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class FeedbackQueryBenchmark {
+
+    private static final int SUBMISSIONS = 1000;
+
+    @Param("100000")
+    private int feedbackRows;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackRepository feedbackRepository;
+    private FeedbackMapper feedbackMapper;
+    private FeedbackService feedbackService;
+    private TransactionTemplate transactionTemplate;
+    private long submissionId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InnosistemasApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        // Esquema e índices de las migraciones, no los que generaría ddl-auto
+                        "--spring.datasource.url=jdbc:h2:mem:feedback_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate");
+        feedbackRepository = context.getBean(FeedbackRepository.class);
+        feedbackMapper = context.getBean(FeedbackMapper.class);
+        feedbackService = context.getBean(FeedbackService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+        submissionId = SUBMISSIONS / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FeedbackDTO> legacy() {
+        return transactionTemplate.execute(status -> feedbackRepository
+                .findAll()
+                .stream()
+                .filter(feedback ->
+                        feedback.getSubmission() != null &&
+                        feedback.getSubmission().getSubmissionId().equals(submissionId))
+                .map(feedbackMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<FeedbackDTO> indexed() {
+        return feedbackService.getFeedbacksBySubmissionId(submissionId);
+    }
+
+    @Benchmark
+    public List<FeedbackThreadDTO> thread() {
+        return feedbackService.getFeedbackThreadBySubmissionId(submissionId);
+    }
+
+    // Un autor, SUBMISSIONS entregas y feedbackRows feedbacks repartidos entre ellas;
+    // cada tercer feedback responde al primero de su entrega y uno de cada cuatro tiene respuesta.
+    private void seed(JdbcTemplate jdbc) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.update("insert into users (user_id, name, email, role, status) values (1, 'Bench', 'bench@udea.edu.co', 'TEACHER', 'ACTIVE')");
+
+        List<Object[]> submissions = new ArrayList<>(SUBMISSIONS);
+        for (long id = 1; id <= SUBMISSIONS; id++) {
+            submissions.add(new Object[]{id, "Entrega " + id, now});
+        }
+        jdbc.batchUpdate("insert into submissions (submission_id, content, submitted_at, user_id) values (?, ?, ?, 1)", submissions);
+
+        List<Object[]> feedbacks = new ArrayList<>(feedbackRows);
+        List<Object[]> responses = new ArrayList<>();
+        for (long id = 1; id <= feedbackRows; id++) {
+            long submission = (id - 1) % SUBMISSIONS + 1;
+            Long parent = id > SUBMISSIONS && id % 3 == 0 ? submission : null;
+            feedbacks.add(new Object[]{id, "Comentario " + id, 4, now, submission, parent});
+            if (id % 4 == 0) {
+                responses.add(new Object[]{id, "Respuesta " + id, now, id});
+            }
+        }
+        jdbc.batchUpdate("insert into feedbacks (feedback_id, comment, rating, created_at, submission_id, created_by, parent_feedback_id)"
+                + " values (?, ?, ?, ?, ?, 1, ?)", feedbacks);
+        jdbc.batchUpdate("insert into feedbacks_responses (feedback_response_id, comment, response_date, feedback_id, created_by)"
+                + " values (?, ?, ?, ?, 1)", responses);
+    }
+}
@@ -0,0 +1,75 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.config.JwtService;
+import com.udea.fe.config.JwtToken;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la validación de un token por petición antes y después de reutilizar clave y parser.
+ * legacy: reconstruye clave + parser en cada parseo y parsea tres veces
+ * (extractUsername + isTokenValid), como hacía el filtro original.
+ * shared: un único parseo con la clave y el parser creados al arrancar.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtServiceBenchmark -prof gc"
+ * y comparar ops/s y gc.alloc.rate.norm (bytes por token validado).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "MiClaveUltraSecretaQueDebeSerDeAlMenos256BitsDeLargo123456";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L);
+
+        User user = new User();
+        user.setUserId(1L);
+        user.setName("Benchmark");
+        user.setEmail("bench@udea.edu.co");
+        user.setDni("123456");
+        user.setRole(Role.STUDENT);
+        user.setStatus(Status.ACTIVE);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims(token).getSubject();
+        String again = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(again) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public Optional<JwtToken> shared() {
+        return jwtService.parseToken(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,72 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.entity.*;
+import com.udea.fe.mapper.TaskMapper;
+import com.udea.fe.mapper.TaskMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo de una lista de tareas (como en getAllTasks) con ModelMapper
+ * (reflexión en tiempo de ejecución) y con el mapper generado por MapStruct.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="MappingBenchmark -prof gc"
+ * y comparar ops/s y gc.alloc.rate.norm (bytes por lista convertida).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param("1000")
+    private int size;
+
+    private List<Task> tasks;
+    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        taskMapper = new TaskMapperImpl();
+
+        Project project = new Project();
+        project.setProjectId(1L);
+        User creator = new User();
+        creator.setUserId(1L);
+
+        tasks = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setTaskId(i);
+            task.setName("Tarea " + i);
+            task.setDescription("Descripción " + i);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setDueDate(LocalDateTime.now().plusDays(7));
+            task.setStatus(TaskStatus.PENDING);
+            task.setPriority(TaskPriority.MEDIUM);
+            task.setProject(project);
+            task.setCreatedBy(creator);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> modelMapper() {
+        return tasks.stream().map(task -> modelMapper.map(task, TaskDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<TaskDTO> mapStruct() {
+        return tasks.stream().map(taskMapper::toDTO).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.InnosistemasApplication;
+import com.udea.fe.entity.Notification;
+import com.udea.fe.repository.NotificationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de las consultas de no leídas de un usuario con {@code rows} notificaciones en la tabla
+ * (perfil test, H2 en memoria), repartidas entre USERS usuarios y con un 10 % sin leer.
+ * Ambas consultas usan idx_notifications_user_read_created (user_id, is_read, created_at).
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="NotificationUnreadBenchmark"
+ * Para 10 millones de filas: -Djmh.args="NotificationUnreadBenchmark -p rows=10000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NotificationUnreadBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int CHUNK = 50_000;
+
+    @Param("1000000")
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InnosistemasApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        // Esquema e índices de las migraciones, no los que generaría ddl-auto
+                        "--spring.datasource.url=jdbc:h2:mem:notification_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--notifications.retention.enabled=false");
+        notificationRepository = context.getBean(NotificationRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Notification> unreadList() {
+        return notificationRepository.findByUserUserIdAndIsReadFalse(randomUser());
+    }
+
+    @Benchmark
+    public long unreadCount() {
+        return notificationRepository.countByUserUserIdAndIsReadFalse(randomUser());
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, USERS + 1);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id + "@udea.edu.co"});
+        }
+        jdbc.batchUpdate("insert into users (user_id, name, email, role, status) values (?, 'Bench', ?, 'STUDENT', 'ACTIVE')", users);
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<Object[]> chunk = new ArrayList<>(CHUNK);
+        for (long id = 1; id <= rows; id++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(id));
+            chunk.add(new Object[]{id, (id - 1) % USERS + 1, id % 10 == 0 ? Boolean.FALSE : Boolean.TRUE, createdAt});
+            if (chunk.size() == CHUNK || id == rows) {
+                jdbc.batchUpdate("insert into notifications (notification_id, user_id, message, type, is_read, created_at)"
+                        + " values (?, ?, 'Mensaje', 'INFO', ?, ?)", chunk);
+                chunk.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.InnosistemasApplication;
+import com.udea.fe.entity.Role;
+import com.udea.fe.repository.ProjectRepository;
+import com.udea.fe.repository.TeamRepository;
+import com.udea.fe.repository.UserRepository;
+import com.udea.fe.repository.UserTeamRepository;
+import com.udea.fe.repository.WorkspaceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repite una traza fija de lecturas de entidades de referencia (proyecto, workspace, equipos de un
+ * proyecto, docentes, pertenencia a un proyecto), cada una en su propia transacción, con la caché de
+ * segundo nivel activada y desactivada (perfil test, H2 en memoria). SampleTime da p50/p99 por operación;
+ * al terminar se imprimen los aciertos de la caché de entidades. Los equipos de un proyecto, los docentes
+ * y la pertenencia siempre se leen de la base de datos (no hay caché de consultas ni de User o UserTeam):
+ * sirven de referencia sin caché dentro de la traza.
+ *
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReferenceCacheBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReferenceCacheBenchmark {
+
+    private static final int USERS = 2_000;
+    private static final int PROJECTS = 200;
+    private static final int TEAMS_PER_PROJECT = 5;
+    private static final int MEMBERS_PER_TEAM = 4;
+    private static final int TRACE_LENGTH = 10_000;
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private ProjectRepository projectRepository;
+    private WorkspaceRepository workspaceRepository;
+    private TeamRepository teamRepository;
+    private UserRepository userRepository;
+    private UserTeamRepository userTeamRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    private long[][] trace;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InnosistemasApplication.class)
+                .run("--spring.profiles.active=test", "--server.port=0",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--app.hibernate-cache.enabled=" + secondLevelCache);
+        projectRepository = context.getBean(ProjectRepository.class);
+        workspaceRepository = context.getBean(WorkspaceRepository.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        userTeamRepository = context.getBean(UserTeamRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        seed(context.getBean(JdbcTemplate.class));
+        trace = trace();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nsecondLevelCache=%s entidades: %d aciertos / %d fallos%n",
+                secondLevelCache, statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+        context.close();
+    }
+
+    @Benchmark
+    public Object replay() {
+        long[] operation = trace[position++ % TRACE_LENGTH];
+        return transactionTemplate.execute(status -> switch ((int) operation[0]) {
+            case 0 -> projectRepository.findById(operation[1]).orElseThrow().getName();
+            case 1 -> workspaceRepository.findById(operation[1]).orElseThrow().getName();
+            case 2 -> teamRepository.findByProject(projectRepository.getReferenceById(operation[1])).size();
+            case 3 -> userRepository.findByRole(Role.TEACHER).size();
+            default -> userTeamRepository.existsByUserIdAndProjectId(operation[2], operation[1]);
+        });
+    }
+
+    // Traza fija (semilla constante) para que ambas configuraciones repitan exactamente la misma carga
+    private long[][] trace() {
+        Random random = new Random(42);
+        long[][] operations = new long[TRACE_LENGTH][];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            int kind = random.nextInt(10);
+            long projectId = 1 + (long) Math.min(PROJECTS - 1, Math.abs(random.nextGaussian()) * PROJECTS / 4);
+            long userId = 1 + random.nextInt(USERS);
+            operations[i] = new long[]{kind < 3 ? 0 : kind < 5 ? 1 : kind < 7 ? 2 : kind < 8 ? 3 : 4, projectId, userId};
+        }
+        return operations;
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "Usuario " + id, "user" + id + "@udea.edu.co", id % 20 == 0 ? "TEACHER" : "STUDENT"});
+        }
+        jdbc.batchUpdate("insert into users (user_id, name, email, role, status) values (?, ?, ?, ?, 'ACTIVE')", users);
+
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> teams = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        long teamId = 1;
+        for (long projectId = 1; projectId <= PROJECTS; projectId++) {
+            projects.add(new Object[]{projectId, "Proyecto " + projectId, 20 * ((projectId - 1) % (USERS / 20) + 1)});
+            for (int t = 0; t < TEAMS_PER_PROJECT; t++, teamId++) {
+                teams.add(new Object[]{teamId, "Equipo " + teamId, projectId});
+                for (int m = 0; m < MEMBERS_PER_TEAM; m++) {
+                    members.add(new Object[]{(teamId * MEMBERS_PER_TEAM + m) % USERS + 1, teamId});
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into projects (project_id, name, description, status, created_by) values (?, ?, 'Bench', 'IN_PROGRESS', ?)", projects);
+        jdbc.batchUpdate("insert into workspaces (workspace_id, name, description, project_id) select project_id, name, description, project_id from projects");
+        jdbc.batchUpdate("insert into teams (team_id, name, project_id) values (?, ?, ?)", teams);
+        jdbc.batchUpdate("insert into user_teams (user_id, team_id, role_in_group) values (?, ?, 'Miembro')", members);
+    }
+}
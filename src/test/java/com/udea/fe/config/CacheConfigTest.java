@@ -0,0 +1,97 @@
+package com.udea.fe.config;
+
+import com.udea.fe.repository.ProjectRepository;
+import com.udea.fe.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Solo CacheConfig y dos repositorios simulados: comprueba las anotaciones de caché de los repositorios
+@SpringBootTest(classes = CacheConfigTest.Repositories.class)
+class CacheConfigTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Repositories {
+        @Bean
+        ProjectRepository projectRepository() {
+            return mock(ProjectRepository.class);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+    }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ProjectRepository projectMock;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // El bean inyectado es el proxy de caché; las verificaciones se hacen sobre el mock de detrás
+        projectMock = (ProjectRepository) ((Advised) projectRepository)
+                .getTargetSource().getTarget();
+        reset(projectMock);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void existsById_existingId_isServedFromCache() {
+        when(projectMock.existsById(1L)).thenReturn(true);
+
+        assertTrue(projectRepository.existsById(1L));
+        assertTrue(projectRepository.existsById(1L));
+
+        verify(projectMock, times(1)).existsById(1L);
+    }
+
+    @Test
+    void existsById_missingId_isNotCached() {
+        when(projectMock.existsById(2L)).thenReturn(false, true);
+
+        assertFalse(projectRepository.existsById(2L));
+        assertTrue(projectRepository.existsById(2L));
+
+        verify(projectMock, times(2)).existsById(2L);
+    }
+
+    @Test
+    void deleteById_evictsCachedId() {
+        when(projectMock.existsById(3L)).thenReturn(true, false);
+        projectRepository.existsById(3L);
+
+        projectRepository.deleteById(3L);
+
+        assertFalse(projectRepository.existsById(3L));
+        verify(projectMock, times(2)).existsById(3L);
+    }
+
+    @Test
+    void caches_areSeparatedByEntity() {
+        when(projectMock.existsById(4L)).thenReturn(true);
+        projectRepository.existsById(4L);
+
+        assertNotNull(cacheManager.getCache(CacheConfig.PROJECT_IDS).get(4L));
+        assertNull(cacheManager.getCache(CacheConfig.USER_IDS).get(4L));
+        assertNull(cacheManager.getCache("otraCache"));
+        assertNotNull(userRepository);
+    }
+}
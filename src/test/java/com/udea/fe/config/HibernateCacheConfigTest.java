@@ -0,0 +1,85 @@
+package com.udea.fe.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheConfigTest {
+
+    private final HibernateCacheConfig config = new HibernateCacheConfig();
+    private SimpleMeterRegistry meterRegistry;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.hibernate-cache.teams.max-size", "10")
+                .withProperty("app.hibernate-cache.teams.ttl", "2m");
+        environment.setConversionService(new ApplicationConversionService());
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = config.hibernateCacheManager(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void hibernateCacheManager_createsEveryRegion() {
+        List<String> regions = List.of(HibernateCacheConfig.PROJECTS, HibernateCacheConfig.TEAMS,
+                HibernateCacheConfig.WORKSPACES);
+
+        regions.forEach(region -> assertNotNull(cacheManager.getCache(region), region));
+        regions.forEach(region -> assertNotNull(
+                meterRegistry.find("cache.gets").tag("cache", region).functionCounter(), region));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void hibernateCacheManager_appliesPerRegionSettings() {
+        CaffeineConfiguration<Object, Object> teams = cacheManager.getCache(HibernateCacheConfig.TEAMS)
+                .getConfiguration(CaffeineConfiguration.class);
+        CaffeineConfiguration<Object, Object> projects = cacheManager.getCache(HibernateCacheConfig.PROJECTS)
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertEquals(10, teams.getMaximumSize().getAsLong());
+        assertEquals(Duration.ofMinutes(2).toNanos(), teams.getExpireAfterWrite().getAsLong());
+        assertEquals(5_000, projects.getMaximumSize().getAsLong());
+    }
+
+    @Test
+    void hibernateCacheManager_noMembershipOrQueryRegions() {
+        assertNull(cacheManager.getCache("userTeams"));
+        assertNull(cacheManager.getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+    }
+
+    @Test
+    void secondLevelCacheCustomizer_enablesEntityCacheOnly() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+
+        config.secondLevelCacheCustomizer(cacheManager).customize(properties);
+
+        assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(false, properties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertEquals("jcache", properties.get(AvailableSettings.CACHE_REGION_FACTORY));
+        assertSame(cacheManager, properties.get(ConfigSettings.CACHE_MANAGER));
+        assertEquals("fail", properties.get(ConfigSettings.MISSING_CACHE_STRATEGY));
+    }
+}
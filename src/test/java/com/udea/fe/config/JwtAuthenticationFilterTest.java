@@ -1,6 +1,10 @@
 package com.udea.fe.config;
 
-import com.udea.fe.security.service.UserDetailsServiceImpl;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.security.AuthenticatedUser;
+import com.udea.fe.security.service.PrincipalCache;
+import com.udea.fe.security.service.TokenRevocationList;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,14 +13,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class JwtAuthenticationFilterTest {
@@ -24,7 +31,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private JwtService jwtService;
     @Mock
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
     @Mock
     private HttpServletRequest request;
     @Mock
@@ -32,34 +41,37 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtService, principalCache, tokenRevocationList, JwtAuthMode.DATABASE);
         SecurityContextHolder.clearContext(); // importante para aislamiento
     }
 
+    private Optional<JwtToken> tokenFor(String email) {
+        return Optional.of(new JwtToken(email, 1L, Role.STUDENT, Status.ACTIVE, new Date(), null));
+    }
+
     @Test
     void doFilterInternal_validToken_setsAuthentication() throws Exception {
         String token = "valid.jwt.token";
         String email = "user@mail.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(email);
-        when(jwtService.isTokenValid(token, email)).thenReturn(true);
+        when(jwtService.parseToken(token)).thenReturn(tokenFor(email));
 
-        UserDetails userDetails = new User(email, "password", Collections.emptyList());
-        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        AuthenticatedUser userDetails = new AuthenticatedUser(1L, email, "", Role.STUDENT, true);
+        when(principalCache.get(email)).thenReturn(userDetails);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService).extractUsername(token);
-        verify(userDetailsService).loadUserByUsername(email);
-        verify(jwtService).isTokenValid(token, email);
+        verify(jwtService, times(1)).parseToken(token);
+        verify(principalCache).get(email);
         verify(filterChain).doFilter(request, response);
-        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertSame(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
     }
 
     @Test
@@ -75,19 +87,31 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_invalidToken_doesNotAuthenticate() throws Exception {
         String token = "invalid.jwt";
-        String email = "user@mail.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(email);
-        when(jwtService.isTokenValid(token, email)).thenReturn(false);
+        when(jwtService.parseToken(token)).thenReturn(Optional.empty());
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        UserDetails userDetails = new User(email, "password", Collections.emptyList());
-        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        verify(jwtService).parseToken(token);
+        verify(principalCache, never()).get(any());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_disabledUser_doesNotAuthenticate() throws Exception {
+        String token = "valid.jwt.token";
+        String email = "user@mail.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(tokenFor(email));
+        when(principalCache.get(email)).thenReturn(
+                new AuthenticatedUser(1L, email, "", Role.STUDENT, false));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, email);
+        verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
@@ -105,11 +129,11 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_userEmailIsNull_doesNotAuthenticate() throws Exception {
         String token = "fake.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(null); // ← Aquí está la diferencia
+        when(jwtService.parseToken(token)).thenReturn(tokenFor(null)); // ← sin subject
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).parseToken(token);
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
@@ -120,7 +144,7 @@ class JwtAuthenticationFilterTest {
         String email = "user@mail.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(email);
+        when(jwtService.parseToken(token)).thenReturn(tokenFor(email));
 
         // Set an existing authentication (simula que ya está autenticado)
         SecurityContextHolder.getContext().setAuthentication(
@@ -128,10 +152,67 @@ class JwtAuthenticationFilterTest {
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).parseToken(token);
+        verify(filterChain).doFilter(request, response);
+        // No debe volver a cargar el principal
+        verify(principalCache, never()).get(any());
+    }
+
+    @Test
+    void doFilterInternal_claimsMode_authenticatesWithoutLoadingUser() throws Exception {
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtService, principalCache, tokenRevocationList, JwtAuthMode.CLAIMS);
+        String token = "valid.jwt.token";
+        String email = "teacher@mail.com";
+        JwtToken jwtToken = new JwtToken(email, 2L, Role.TEACHER, Status.ACTIVE, new Date(), null);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(Optional.of(jwtToken));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(principalCache, never()).get(any());
+        verify(filterChain).doFilter(request, response);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(email, authentication.getName());
+        assertEquals("ROLE_TEACHER", authentication.getAuthorities().iterator().next().getAuthority());
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(2L, principal.getUserId());
+        assertEquals(Role.TEACHER, principal.getRole());
+    }
+
+    @Test
+    void doFilterInternal_claimsMode_tokenWithoutUserId_doesNotAuthenticate() throws Exception {
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtService, principalCache, tokenRevocationList, JwtAuthMode.CLAIMS);
+        String token = "old.jwt.token";
+        JwtToken jwtToken = new JwtToken("student@mail.com", null, Role.STUDENT, Status.ACTIVE, new Date(), null);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(Optional.of(jwtToken));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
         verify(filterChain).doFilter(request, response);
-        // No debe volver a cargar userDetails ni validar el token
-        verify(userDetailsService, never()).loadUserByUsername(any());
-        verify(jwtService, never()).isTokenValid(any(), any());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_claimsMode_revokedToken_doesNotAuthenticate() throws Exception {
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtService, principalCache, tokenRevocationList, JwtAuthMode.CLAIMS);
+        String token = "revoked.jwt.token";
+        String email = "student@mail.com";
+        JwtToken jwtToken = new JwtToken(email, 3L, Role.STUDENT, Status.ACTIVE, new Date(), null);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.parseToken(token)).thenReturn(Optional.of(jwtToken));
+        when(tokenRevocationList.isRevoked(eq(email), any())).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+}
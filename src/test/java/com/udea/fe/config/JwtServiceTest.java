@@ -20,11 +20,8 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-
         // Simula valores inyectados desde application.properties
-        ReflectionTestUtils.setField(jwtService, "secretKey", "12345678901234567890123456789012"); // 32 bytes
-        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1000 * 60); // 1 minuto
+        jwtService = new JwtService("12345678901234567890123456789012", 1000 * 60); // 32 bytes, 1 minuto
 
         user = new User();
         user.setUserId(1L);
@@ -67,6 +64,35 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void parseToken_validToken_returnsTypedView() {
+        String token = jwtService.generateToken(user);
+        var parsed = jwtService.parseToken(token);
+        assertTrue(parsed.isPresent());
+        assertEquals(user.getEmail(), parsed.get().subject());
+        assertEquals(1L, parsed.get().userId());
+        assertEquals(Role.TEACHER, parsed.get().role());
+        assertEquals(Status.ACTIVE, parsed.get().status());
+        assertNotNull(parsed.get().expiration());
+    }
+
+    @Test
+    void parseToken_tokenSignedWithOtherKey_returnsEmpty() {
+        JwtService other = new JwtService("abcdefghijabcdefghijabcdefghij12", 1000 * 60);
+        String token = other.generateToken(user);
+        assertTrue(jwtService.parseToken(token).isEmpty());
+    }
+
+    @Test
+    void parseToken_expiredOrMalformedToken_returnsEmpty() throws InterruptedException {
+        assertTrue(jwtService.parseToken("not.a.valid.token").isEmpty());
+
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1L);
+        String token = jwtService.generateToken(user);
+        Thread.sleep(10);
+        assertTrue(jwtService.parseToken(token).isEmpty());
+    }
+
     @Test
     void extractClaim_returnsCorrectData() {
         String token = jwtService.generateToken(user);
@@ -0,0 +1,75 @@
+package com.udea.fe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductionDataSourceConfigTest {
+
+    // El pool no abre conexiones hasta el primer getConnection: no hace falta una base de datos real
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ProductionDataSourceConfig.class)
+            .withPropertyValues(
+                    "app.datasource.production.enabled=true",
+                    "app.datasource.production.database-cores=2",
+                    "spring.datasource.url=jdbc:postgresql://localhost:5432/innosistemas",
+                    "spring.datasource.username=app");
+
+    @Test
+    void poolSize_isCoresTimesTwoPlusOne_boundedByConcurrency() {
+        assertEquals(9, ProductionDataSourceConfig.poolSize(4, 20));
+        assertEquals(6, ProductionDataSourceConfig.poolSize(16, 6));
+        assertEquals(2, ProductionDataSourceConfig.poolSize(1, 1));
+    }
+
+    @Test
+    void dataSource_postgres_fixedPoolWithStatementCaching() {
+        contextRunner.run(context -> {
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+
+            assertEquals(ProductionDataSourceConfig.POOL_NAME, dataSource.getPoolName());
+            assertEquals(5, dataSource.getMaximumPoolSize());
+            assertEquals(5, dataSource.getMinimumIdle());
+            assertEquals(Duration.ofMinutes(25).toMillis(), dataSource.getMaxLifetime());
+            assertEquals(3, dataSource.getDataSourceProperties().get("prepareThreshold"));
+            assertEquals(512, dataSource.getDataSourceProperties().get("preparedStatementCacheQueries"));
+            assertEquals(true, dataSource.getDataSourceProperties().get("reWriteBatchedInserts"));
+        });
+    }
+
+    @Test
+    void dataSource_hikariProperties_overrideComputedValues() {
+        contextRunner
+                .withPropertyValues("spring.datasource.hikari.maximum-pool-size=12",
+                        "spring.datasource.hikari.max-lifetime=600000")
+                .run(context -> {
+                    HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+
+                    assertEquals(12, dataSource.getMaximumPoolSize());
+                    assertEquals(600_000, dataSource.getMaxLifetime());
+                });
+    }
+
+    @Test
+    void dataSource_otherDriver_skipsPostgresProperties() {
+        contextRunner
+                .withPropertyValues("spring.datasource.url=jdbc:h2:mem:pooltest")
+                .run(context -> assertTrue(
+                        context.getBean(HikariDataSource.class).getDataSourceProperties().isEmpty()));
+    }
+
+    @Test
+    void disabled_keepsAutoConfiguredDataSource() {
+        contextRunner
+                .withPropertyValues("app.datasource.production.enabled=false")
+                .run(context -> assertNotEquals(ProductionDataSourceConfig.POOL_NAME,
+                        context.getBean(HikariDataSource.class).getPoolName()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.udea.fe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlMetricsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class, DataSourceAutoConfiguration.class))
+            .withUserConfiguration(SqlMetricsConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:sqlmetrics;DB_CLOSE_DELAY=-1");
+
+    @Test
+    void dataSource_isWrappedAndStatementsAreTimed() {
+        contextRunner.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            assertInstanceOf(ProxyDataSource.class, dataSource);
+            new JdbcTemplate(dataSource).queryForObject("select 1", Integer.class);
+
+            assertEquals(1, meterRegistry.get("sql.statements")
+                    .tag("origin", "none").tag("type", "SELECT").tag("success", "true")
+                    .timer().count());
+            assertNull(meterRegistry.find("sql.statements.slow").counter());
+        });
+    }
+
+    @Test
+    void timers_publishOnlyConfiguredBuckets() {
+        contextRunner
+                .withPropertyValues("app.sql-metrics.slo-buckets=10ms, 1s")
+                .run(context -> {
+                    new JdbcTemplate(context.getBean(DataSource.class)).queryForObject("select 1", Integer.class);
+
+                    HistogramSnapshot snapshot = context.getBean(MeterRegistry.class).get("sql.statements")
+                            .timer().takeSnapshot();
+                    assertEquals(List.of(Duration.ofMillis(10).toNanos(), Duration.ofSeconds(1).toNanos()),
+                            Arrays.stream(snapshot.histogramCounts()).map(bucket -> (long) bucket.bucket()).toList());
+                });
+    }
+
+    @Test
+    void statementsOverThreshold_areCountedAsSlow() {
+        contextRunner
+                .withPropertyValues("app.sql-metrics.slow-threshold=0ms")
+                .run(context -> {
+                    JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+                    jdbcTemplate.execute("create table if not exists slow_test (id int)");
+                    jdbcTemplate.update("insert into slow_test values (1)");
+
+                    assertEquals(2, context.getBean(MeterRegistry.class)
+                            .get("sql.statements.slow").tag("origin", "none").counter().count());
+                });
+    }
+
+    @Test
+    void failedStatements_areTaggedAsUnsuccessful() {
+        contextRunner.run(context -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+
+            assertThrows(Exception.class, () -> jdbcTemplate.queryForObject("select * from missing_table", Integer.class));
+
+            assertEquals(1, context.getBean(MeterRegistry.class).get("sql.statements")
+                    .tag("success", "false").timer().count());
+        });
+    }
+
+    @Test
+    void disabled_leavesDataSourceUnwrapped() {
+        contextRunner
+                .withPropertyValues("app.sql-metrics.enabled=false")
+                .run(context -> assertFalse(context.getBean(DataSource.class) instanceof ProxyDataSource));
+    }
+}
@@ -0,0 +1,73 @@
+package com.udea.fe.config;
+
+import com.udea.fe.service.NotificationService;
+import com.udea.fe.service.TaskService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementOriginTest {
+
+    private final StatementOrigin statementOrigin = new StatementOrigin();
+
+    @Test
+    void current_outsideServices_isNone() {
+        assertEquals("none", StatementOrigin.current());
+    }
+
+    @Test
+    void track_setsServiceMethodAndClearsItAfterwards() throws Throwable {
+        List<String> seen = new ArrayList<>();
+
+        statementOrigin.track(joinPoint(TaskService.class, "createTask", () -> seen.add(StatementOrigin.current())));
+
+        assertEquals(List.of("TaskService.createTask"), seen);
+        assertEquals("none", StatementOrigin.current());
+    }
+
+    @Test
+    void track_nestedServiceCall_keepsOutermostMethod() throws Throwable {
+        List<String> seen = new ArrayList<>();
+        ProceedingJoinPoint inner = joinPoint(NotificationService.class, "enqueue",
+                () -> seen.add(StatementOrigin.current()));
+
+        statementOrigin.track(joinPoint(TaskService.class, "assignTask", () -> {
+            try {
+                statementOrigin.track(inner);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        assertEquals(List.of("TaskService.assignTask"), seen);
+    }
+
+    @Test
+    void track_failingMethod_stillClearsOrigin() throws Throwable {
+        ProceedingJoinPoint failing = joinPoint(TaskService.class, "createTask", () -> {
+            throw new IllegalArgumentException("El nombre de la tarea es obligatorio");
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> statementOrigin.track(failing));
+        assertEquals("none", StatementOrigin.current());
+    }
+
+    private ProceedingJoinPoint joinPoint(Class<?> type, String method, Runnable body) throws Throwable {
+        Signature signature = mock(Signature.class);
+        when(signature.getDeclaringType()).thenReturn(type);
+        when(signature.getName()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            body.run();
+            return null;
+        });
+        return joinPoint;
+    }
+}
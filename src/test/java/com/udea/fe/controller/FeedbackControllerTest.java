@@ -2,6 +2,7 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
 import com.udea.fe.service.FeedbackService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -65,9 +66,9 @@ public class FeedbackControllerTest {
     @Test
     void testGetAllFeedbacks() {
         List<FeedbackDTO> feedbacks = Arrays.asList(new FeedbackDTO(), new FeedbackDTO());
-        when(feedbackService.getAllFeedbacks()).thenReturn(feedbacks);
+        when(feedbackService.getAllFeedbacks(null, 50)).thenReturn(feedbacks);
 
-        ResponseEntity<List<FeedbackDTO>> response = feedbackController.getAllFeedbacks();
+        ResponseEntity<List<FeedbackDTO>> response = feedbackController.getAllFeedbacks(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(feedbacks, response.getBody());
@@ -102,4 +103,24 @@ public class FeedbackControllerTest {
 
         assertEquals(400, response.getStatusCodeValue());
     }
+
+    @Test
+    void testGetFeedbackThreadBySubmissionSuccess() {
+        List<FeedbackThreadDTO> thread = List.of(new FeedbackThreadDTO());
+        when(feedbackService.getFeedbackThreadBySubmissionId(10L)).thenReturn(thread);
+
+        ResponseEntity<List<FeedbackThreadDTO>> response = feedbackController.getFeedbackThreadBySubmission(10L);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(thread, response.getBody());
+    }
+
+    @Test
+    void testGetFeedbackThreadBySubmissionFailure() {
+        when(feedbackService.getFeedbackThreadBySubmissionId(10L)).thenThrow(new RuntimeException("Error"));
+
+        ResponseEntity<List<FeedbackThreadDTO>> response = feedbackController.getFeedbackThreadBySubmission(10L);
+
+        assertEquals(400, response.getStatusCodeValue());
+    }
 }
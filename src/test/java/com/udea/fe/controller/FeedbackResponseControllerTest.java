@@ -55,9 +55,9 @@ public class FeedbackResponseControllerTest {
     @Test
     public void testGetAllFeedbackResponses() {
         List<FeedbackResponseDTO> expectedList = Arrays.asList(new FeedbackResponseDTO(), new FeedbackResponseDTO());
-        when(feedbackResponseService.getAllFeedbackResponses()).thenReturn(expectedList);
+        when(feedbackResponseService.getAllFeedbackResponses(null, 50)).thenReturn(expectedList);
 
-        ResponseEntity<List<FeedbackResponseDTO>> response = feedbackResponseController.getAllFeedbackResponses();
+        ResponseEntity<List<FeedbackResponseDTO>> response = feedbackResponseController.getAllFeedbackResponses(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(expectedList, response.getBody());
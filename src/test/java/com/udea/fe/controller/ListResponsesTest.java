@@ -0,0 +1,76 @@
+package com.udea.fe.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.udea.fe.DTO.TaskDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListResponsesTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ListResponses listResponses = new ListResponses(objectMapper);
+
+    @Test
+    void pageSize_defaultsAndBounds() {
+        assertEquals(ListResponses.DEFAULT_PAGE_SIZE, ListResponses.pageSize(null));
+        assertEquals(1, ListResponses.pageSize(0));
+        assertEquals(20, ListResponses.pageSize(20));
+        assertEquals(ListResponses.MAX_PAGE_SIZE, ListResponses.pageSize(10_000));
+    }
+
+    @Test
+    void page_full_setsNextCursorToLastId() {
+        List<TaskDTO> tasks = List.of(task(3L), task(7L));
+
+        ResponseEntity<List<TaskDTO>> response = ListResponses.page(tasks, 2, TaskDTO::getId);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(tasks, response.getBody());
+        assertEquals("7", response.getHeaders().getFirst(ListResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void page_partial_hasNoNextCursor() {
+        ResponseEntity<List<TaskDTO>> response = ListResponses.page(List.of(task(3L)), 2, TaskDTO::getId);
+
+        assertFalse(response.getHeaders().containsKey(ListResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void ndjson_writesOneJsonObjectPerLine() throws Exception {
+        TaskDTO first = task(1L);
+        first.setDueDate(LocalDateTime.of(2025, 5, 1, 12, 0));
+        TaskDTO second = task(2L);
+
+        ResponseEntity<StreamingResponseBody> response = listResponses.<TaskDTO>ndjson(action -> {
+            action.accept(first);
+            action.accept(second);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(ListResponses.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        TaskDTO firstRead = objectMapper.readValue(lines[0], TaskDTO.class);
+        assertEquals(1L, firstRead.getId());
+        assertEquals(first.getDueDate(), firstRead.getDueDate());
+        assertEquals(2L, objectMapper.readValue(lines[1], TaskDTO.class).getId());
+    }
+
+    private TaskDTO task(Long id) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(id);
+        dto.setName("Tarea " + id);
+        return dto;
+    }
+}
@@ -1,6 +1,9 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.Role;
+import com.udea.fe.security.AuthenticatedUser;
+import com.udea.fe.service.NotificationHub;
 import com.udea.fe.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,8 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
 
@@ -22,7 +25,9 @@ public class NotificationControllerTest {
     private NotificationService notificationService;
 
     @Mock
-    private Principal principal;
+    private NotificationHub notificationHub;
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(7L, "test@example.com", "", Role.STUDENT, true);
 
     @InjectMocks
     private NotificationController notificationController;
@@ -46,11 +51,9 @@ public class NotificationControllerTest {
 
     @Test
     public void testGetByUserId() {
-        String userEmail = "test@example.com";
         List<NotificationDTO> mockList = Arrays.asList(new NotificationDTO(), new NotificationDTO());
 
-        when(principal.getName()).thenReturn(userEmail);
-        when(notificationService.getByUser(userEmail)).thenReturn(mockList);
+        when(notificationService.getByUser(7L)).thenReturn(mockList);
 
         ResponseEntity<List<NotificationDTO>> response = notificationController.getByUserId(principal);
 
@@ -79,4 +82,55 @@ public class NotificationControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(markedAsRead, response.getBody());
     }
+
+    @Test
+    public void testStream() {
+        SseEmitter emitter = new SseEmitter();
+        when(notificationHub.subscribe(7L, "2025-05-20T10:15:30")).thenReturn(emitter);
+
+        SseEmitter result = notificationController.stream(principal, "2025-05-20T10:15:30");
+
+        assertSame(emitter, result);
+    }
+
+    @Test
+    public void testGetUnreadCount() {
+        when(notificationService.countUnread(7L)).thenReturn(4L);
+
+        ResponseEntity<Long> response = notificationController.getUnreadCount(principal);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(4L, response.getBody());
+    }
+
+    @Test
+    public void testMarkAllAsRead() {
+        when(notificationService.markAllAsRead(7L)).thenReturn(12);
+
+        ResponseEntity<Integer> response = notificationController.markAllAsRead(principal);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(12, response.getBody());
+    }
+
+    @Test
+    public void testMarkAsReadIds() {
+        List<Long> ids = List.of(1L, 2L);
+        when(notificationService.markAsRead(7L, ids)).thenReturn(2);
+
+        ResponseEntity<Integer> response = notificationController.markAsRead(principal, ids);
+
+        assertEquals(2, response.getBody());
+    }
+
+    @Test
+    public void testDeleteAll() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(notificationService.delete(7L, ids)).thenReturn(3);
+
+        ResponseEntity<Integer> response = notificationController.deleteAll(principal, ids);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody());
+    }
 }
@@ -75,9 +75,9 @@ public class ProjectControllerTest {
     @Test
     public void testGetAllProjects() {
         ProjectDTO dto = new ProjectDTO(); dto.setName("Proyecto");
-        when(projectService.getAllProjects()).thenReturn(Collections.singletonList(dto));
+        when(projectService.getAllProjects(null, 50)).thenReturn(Collections.singletonList(dto));
 
-        ResponseEntity<List<ProjectDTO>> response = projectController.getAllProjects();
+        ResponseEntity<List<ProjectDTO>> response = projectController.getAllProjects(null, null);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(1, response.getBody().size());
     }
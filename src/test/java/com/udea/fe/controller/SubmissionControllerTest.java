@@ -2,13 +2,14 @@ package com.udea.fe.controller;
 
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.entity.Role;
+import com.udea.fe.security.AuthenticatedUser;
 import com.udea.fe.service.SubmissionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.ResponseEntity;
 
-import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
 
@@ -20,8 +21,7 @@ public class SubmissionControllerTest {
     @Mock
     private SubmissionService submissionService;
 
-    @Mock
-    private Principal principal;
+    private final AuthenticatedUser principal = new AuthenticatedUser(3L, "user@example.com", "", Role.STUDENT, true);
 
     @InjectMocks
     private SubmissionController submissionController;
@@ -59,9 +59,9 @@ public class SubmissionControllerTest {
     void testGetAllSubmissionsSuccess() {
         List<SubmissionResponseDTO> mockList = Arrays.asList(new SubmissionResponseDTO(), new SubmissionResponseDTO());
 
-        when(submissionService.getAllSubmissions()).thenReturn(mockList);
+        when(submissionService.getAllSubmissions(null, 50)).thenReturn(mockList);
 
-        ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getAllSubmissions();
+        ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getAllSubmissions(null, null);
 
         assertEquals(200, result.getStatusCodeValue());
         assertEquals(mockList, result.getBody());
@@ -69,9 +69,9 @@ public class SubmissionControllerTest {
 
     @Test
     void testGetAllSubmissionsFailure() {
-        when(submissionService.getAllSubmissions()).thenThrow(new RuntimeException("Error"));
+        when(submissionService.getAllSubmissions(null, 50)).thenThrow(new RuntimeException("Error"));
 
-        ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getAllSubmissions();
+        ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getAllSubmissions(null, null);
 
         assertEquals(400, result.getStatusCodeValue());
     }
@@ -103,11 +103,9 @@ public class SubmissionControllerTest {
     @Test
     void testGetSubmissionsByTaskSuccess() {
         Long taskId = 1L;
-        String email = "user@example.com";
         List<SubmissionResponseDTO> mockList = Arrays.asList(new SubmissionResponseDTO());
 
-        when(principal.getName()).thenReturn(email);
-        when(submissionService.getSubmissionsByTaskId(taskId, email)).thenReturn(mockList);
+        when(submissionService.getSubmissionsByTaskId(taskId, 3L, Role.STUDENT)).thenReturn(mockList);
 
         ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getSubmissionsByTask(taskId, principal);
 
@@ -118,10 +116,8 @@ public class SubmissionControllerTest {
     @Test
     void testGetSubmissionsByTaskFailure() {
         Long taskId = 1L;
-        String email = "user@example.com";
 
-        when(principal.getName()).thenReturn(email);
-        when(submissionService.getSubmissionsByTaskId(taskId, email)).thenThrow(new RuntimeException("Error"));
+        when(submissionService.getSubmissionsByTaskId(taskId, 3L, Role.STUDENT)).thenThrow(new RuntimeException("Error"));
 
         ResponseEntity<List<SubmissionResponseDTO>> result = submissionController.getSubmissionsByTask(taskId, principal);
 
@@ -1,8 +1,10 @@
 package com.udea.fe.controller;
 
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
-import com.udea.fe.entity.User;
 import com.udea.fe.service.TaskAssignmentService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -54,14 +56,38 @@ class TaskAssignmentControllerTest {
         assertEquals(400, result.getStatusCodeValue());
     }
 
+    @Test
+    void testAssignTaskBulkSuccess() {
+        BulkTaskAssignmentRequestDTO request = new BulkTaskAssignmentRequestDTO();
+        BulkTaskAssignmentResponseDTO response = new BulkTaskAssignmentResponseDTO();
+
+        when(taskAssignmentService.assignTaskBulk(request)).thenReturn(response);
+
+        ResponseEntity<BulkTaskAssignmentResponseDTO> result = taskAssignmentController.assignTaskBulk(request);
+
+        assertEquals(200, result.getStatusCodeValue());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void testAssignTaskBulkFailure() {
+        BulkTaskAssignmentRequestDTO request = new BulkTaskAssignmentRequestDTO();
+
+        when(taskAssignmentService.assignTaskBulk(request)).thenThrow(new RuntimeException("Error"));
+
+        ResponseEntity<BulkTaskAssignmentResponseDTO> result = taskAssignmentController.assignTaskBulk(request);
+
+        assertEquals(400, result.getStatusCodeValue());
+    }
+
     @Test
     void testGetUsersAssignedToTaskSuccess() {
         Long taskId = 1L;
-        List<User> mockUsers = Arrays.asList(new User(), new User());
+        List<AssignedUserDTO> mockUsers = Arrays.asList(new AssignedUserDTO(), new AssignedUserDTO());
 
         when(taskAssignmentService.getUsersAssignedToTask(taskId)).thenReturn(mockUsers);
 
-        ResponseEntity<List<User>> result = taskAssignmentController.getUsersAssignedToTask(taskId);
+        ResponseEntity<List<AssignedUserDTO>> result = taskAssignmentController.getUsersAssignedToTask(taskId);
 
         assertEquals(200, result.getStatusCodeValue());
         assertEquals(mockUsers, result.getBody());
@@ -73,7 +99,7 @@ class TaskAssignmentControllerTest {
 
         when(taskAssignmentService.getUsersAssignedToTask(taskId)).thenThrow(new RuntimeException("Error"));
 
-        ResponseEntity<List<User>> result = taskAssignmentController.getUsersAssignedToTask(taskId);
+        ResponseEntity<List<AssignedUserDTO>> result = taskAssignmentController.getUsersAssignedToTask(taskId);
 
         assertEquals(400, result.getStatusCodeValue());
     }
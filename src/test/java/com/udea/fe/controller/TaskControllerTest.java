@@ -1,17 +1,26 @@
 package com.udea.fe.controller;
 
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.entity.Role;
 import com.udea.fe.entity.TaskStatus;
+import com.udea.fe.security.AuthenticatedUser;
 import com.udea.fe.service.TaskService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +30,9 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Spy
+    private ListResponses listResponses = new ListResponses(JsonMapper.builder().findAndAddModules().build());
+
     @InjectMocks
     private TaskController taskController;
 
@@ -55,14 +67,44 @@ class TaskControllerTest {
     @Test
     void testGetAllTasks() {
         List<TaskDTO> taskList = Arrays.asList(new TaskDTO(), new TaskDTO());
-        when(taskService.getAllTasks()).thenReturn(taskList);
+        when(taskService.getAllTasks(null, 50)).thenReturn(taskList);
 
-        ResponseEntity<List<TaskDTO>> response = taskController.getAllTasks();
+        ResponseEntity<List<TaskDTO>> response = taskController.getAllTasks(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(taskList, response.getBody());
     }
 
+    @Test
+    void testGetAllTasks_fullPageReturnsNextCursor() {
+        TaskDTO first = new TaskDTO();
+        first.setId(4L);
+        TaskDTO last = new TaskDTO();
+        last.setId(9L);
+        when(taskService.getAllTasks(3L, 2)).thenReturn(List.of(first, last));
+
+        ResponseEntity<List<TaskDTO>> response = taskController.getAllTasks(3L, 2);
+
+        assertEquals("9", response.getHeaders().getFirst(ListResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testStreamAllTasks() throws Exception {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(1L);
+        doAnswer(invocation -> {
+            Consumer<TaskDTO> action = invocation.getArgument(0);
+            action.accept(taskDTO);
+            return null;
+        }).when(taskService).streamAllTasks(any());
+
+        ResponseEntity<StreamingResponseBody> response = taskController.streamAllTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("{\"id\":1"));
+    }
+
     @Test
     void testUpdateTask() {
         Long id = 1L;
@@ -92,16 +134,19 @@ class TaskControllerTest {
     @Test
     void testGetTasksByProject() {
         Long projectId = 1L;
-        Principal mockPrincipal = mock(Principal.class);
-        when(mockPrincipal.getName()).thenReturn("test@example.com");
+        AuthenticatedUser principal = new AuthenticatedUser(4L, "test@example.com", "", Role.TEACHER, true);
 
         List<TaskDTO> taskList = Arrays.asList(new TaskDTO(), new TaskDTO());
-        when(taskService.getTasksByProjectIdAndUser(projectId, "test@example.com")).thenReturn(taskList);
+        Pageable pageable = PageRequest.of(0, 2);
+        when(taskService.getTasksByProjectIdAndUser(projectId, 4L, Role.TEACHER, TaskStatus.PENDING, null, pageable))
+                .thenReturn(new PageImpl<>(taskList, pageable, 7));
 
-        ResponseEntity<List<TaskDTO>> response = taskController.getTasksByProject(projectId, mockPrincipal);
+        ResponseEntity<List<TaskDTO>> response =
+                taskController.getTasksByProject(projectId, TaskStatus.PENDING, null, pageable, principal);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(taskList, response.getBody());
+        assertEquals("7", response.getHeaders().getFirst(ListResponses.TOTAL_COUNT_HEADER));
     }
 }
 
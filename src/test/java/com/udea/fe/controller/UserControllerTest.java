@@ -1,6 +1,8 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.DTO.UserImportReportDTO;
+import com.udea.fe.service.UserImportService;
 import com.udea.fe.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -20,6 +25,9 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserImportService userImportService;
+
     @InjectMocks
     private UserController userController;
 
@@ -44,6 +52,27 @@ public class UserControllerTest {
         assertEquals(expected.getName(), response.getBody().getName());
     }
 
+    @Test
+    void testImportUsersCsv() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        UserImportReportDTO report = new UserImportReportDTO(0, 0, 0, List.of());
+        when(userImportService.importUsers(body, UserImportService.Format.CSV)).thenReturn(report);
+
+        ResponseEntity<UserImportReportDTO> response = userController.importUsersCsv(body);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(report, response.getBody());
+    }
+
+    @Test
+    void testImportUsersJson() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        UserImportReportDTO report = new UserImportReportDTO(0, 0, 0, List.of());
+        when(userImportService.importUsers(body, UserImportService.Format.JSON)).thenReturn(report);
+
+        assertSame(report, userController.importUsersJson(body).getBody());
+    }
+
     @Test
     void testGetAllUsers() {
         UserDTO user1 = new UserDTO();
@@ -54,9 +83,9 @@ public class UserControllerTest {
 
         List<UserDTO> mockList = Arrays.asList(user1, user2);
 
-        when(userService.getAllUsers()).thenReturn(mockList);
+        when(userService.getAllUsers(null, 50)).thenReturn(mockList);
 
-        ResponseEntity<Iterable<UserDTO>> response = userController.getAllUsers();
+        ResponseEntity<List<UserDTO>> response = userController.getAllUsers(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(mockList, response.getBody());
@@ -54,9 +54,9 @@ class WorkspaceControllerTest {
     @Test
     void testGetAllWorkspaces() {
         List<WorkspaceDTO> list = Arrays.asList(new WorkspaceDTO(), new WorkspaceDTO());
-        when(workspaceService.getAllWorkspaces()).thenReturn(list);
+        when(workspaceService.getAllWorkspaces(null, 50)).thenReturn(list);
 
-        ResponseEntity<List<WorkspaceDTO>> response = workspaceController.getAllWorkspaces();
+        ResponseEntity<List<WorkspaceDTO>> response = workspaceController.getAllWorkspaces(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(list, response.getBody());
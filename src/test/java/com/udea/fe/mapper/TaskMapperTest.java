@@ -0,0 +1,85 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.entity.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskMapperTest {
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+
+    @Test
+    void toDTO_mapsIdsOfRelations() {
+        Project project = new Project();
+        project.setProjectId(10L);
+        User creator = new User();
+        creator.setUserId(20L);
+
+        Task task = new Task();
+        task.setTaskId(1L);
+        task.setName("Tarea");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setProject(project);
+        task.setCreatedBy(creator);
+
+        TaskDTO dto = taskMapper.toDTO(task);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("Tarea", dto.getName());
+        assertEquals(TaskStatus.PENDING, dto.getStatus());
+        assertEquals(TaskPriority.HIGH, dto.getPriority());
+        assertEquals(10L, dto.getProjectId());
+        assertEquals(20L, dto.getCreatedById());
+    }
+
+    @Test
+    void toDTO_withoutRelations_leavesIdsNull() {
+        TaskDTO dto = taskMapper.toDTO(new Task());
+
+        assertNull(dto.getProjectId());
+        assertNull(dto.getCreatedById());
+    }
+
+    @Test
+    void toEntity_ignoresIdAndStatus() {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(99L);
+        dto.setName("Nueva");
+        dto.setStatus(TaskStatus.COMPLETED);
+
+        Task task = taskMapper.toEntity(dto);
+
+        assertNull(task.getTaskId());
+        assertNull(task.getStatus());
+        assertEquals("Nueva", task.getName());
+    }
+
+    @Test
+    void updateEntity_keepsValuesNotSentInDTO() {
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(3);
+        Task task = new Task();
+        task.setTaskId(1L);
+        task.setName("Original");
+        task.setDescription("Descripción");
+        task.setDueDate(dueDate);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+
+        TaskDTO dto = new TaskDTO();
+        dto.setId(5L);
+        dto.setName("Editada");
+        dto.setStatus(TaskStatus.COMPLETED);
+
+        taskMapper.updateEntity(dto, task);
+
+        assertEquals(1L, task.getTaskId());
+        assertEquals("Editada", task.getName());
+        assertEquals("Descripción", task.getDescription());
+        assertEquals(dueDate, task.getDueDate());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+    }
+}
@@ -0,0 +1,46 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    @Test
+    void toDTO_doesNotExposePassword() {
+        User user = new User();
+        user.setUserId(1L);
+        user.setName("Ana");
+        user.setEmail("ana@udea.edu.co");
+        user.setPassword("$2a$10$hash");
+        user.setRole(Role.STUDENT);
+        user.setStatus(Status.ACTIVE);
+
+        UserDTO dto = userMapper.toDTO(user);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("ana@udea.edu.co", dto.getEmail());
+        assertEquals(Role.STUDENT, dto.getRole());
+        assertNull(dto.getPassword());
+    }
+
+    @Test
+    void toEntity_copiesPasswordButNotId() {
+        UserDTO dto = new UserDTO();
+        dto.setId(7L);
+        dto.setEmail("luis@udea.edu.co");
+        dto.setPassword("secreto");
+
+        User user = userMapper.toEntity(dto);
+
+        assertNull(user.getUserId());
+        assertEquals("luis@udea.edu.co", user.getEmail());
+        assertEquals("secreto", user.getPassword());
+    }
+}
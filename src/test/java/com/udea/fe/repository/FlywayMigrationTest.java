@@ -0,0 +1,183 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.Project;
+import com.udea.fe.entity.Task;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.udea.fe.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Esquema creado solo por las migraciones; ddl-auto=validate falla si no coincide con las entidades
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class FlywayMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void migrations_createFinderIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_schema = 'public'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_users_role",
+                "idx_projects_created_by",
+                "idx_teams_project_name",
+                "idx_teams_leader_id",
+                "idx_user_teams_user_team",
+                "idx_task_assignment_task_id",
+                "idx_submissions_task_user",
+                "idx_feedbacks_submission_id",
+                "idx_feedbacks_responses_feedback_id",
+                "idx_notifications_user_read_created",
+                "idx_notifications_user_published",
+                "idx_notifications_read_created",
+                "idx_notification_outbox_pending")), indexes::toString);
+    }
+
+    @Test
+    void users_duplicateEmail_isRejected() {
+        userRepository.saveAndFlush(user("ana@udea.edu.co", "1001"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(user("ana@udea.edu.co", "1002")));
+    }
+
+    @Test
+    void users_duplicateDni_isRejected() {
+        userRepository.saveAndFlush(user("ana@udea.edu.co", "1001"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(user("luis@udea.edu.co", "1001")));
+    }
+
+    @Test
+    void tasks_duplicateNameInProject_isRejected() {
+        Project project = projectRepository.saveAndFlush(project("Proyecto"));
+        Project otherProject = projectRepository.saveAndFlush(project("Otro proyecto"));
+
+        taskRepository.saveAndFlush(task("Informe", project));
+        taskRepository.saveAndFlush(task("Informe", otherProject));
+
+        assertTrue(taskRepository.existsByNameAndProject_ProjectId("Informe", project.getProjectId()));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> taskRepository.saveAndFlush(task("Informe", project)));
+    }
+
+    @Test
+    void ids_pooledLo_oneSequenceCallPerFiftyRows() {
+        Long first = userRepository.saveAndFlush(user("ana@udea.edu.co", "1001")).getUserId();
+        Long second = userRepository.saveAndFlush(user("luis@udea.edu.co", "1002")).getUserId();
+
+        Long next = jdbcTemplate.queryForObject("select nextval('users_seq')", Long.class);
+
+        assertEquals(first + 1, second);
+        // pooled-lo: los bloques empiezan en 1, 51, 101...; la secuencia ya apunta al bloque siguiente
+        assertEquals(1, next % 50);
+        assertTrue(next > second && next <= first + 50);
+    }
+
+    @Test
+    void sequences_existingRows_startAfterMaxIdAndServeManualInserts() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flyway_existing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+        jdbc.update("insert into users (user_id, email) values (120, 'ana@udea.edu.co')");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc.update("insert into users (email) values ('luis@udea.edu.co')");
+
+        assertEquals(121L, jdbc.queryForObject("select user_id from users where email = 'luis@udea.edu.co'", Long.class));
+        assertEquals(171L, jdbc.queryForObject("select nextval('users_seq')", Long.class));
+    }
+
+    @Test
+    void taskAssignments_mixedCaseTypes_areNormalizedWithoutDuplicates() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flyway_assigned_type;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).target("6").load().migrate();
+        jdbc.update("insert into tasks (task_id, name) values (1, 'Informe')");
+        jdbc.update("insert into task_assignment (task_id, assigned_type, assigned_id) values"
+                + " (1, 'USER', 2), (1, 'user', 2), (1, 'team', 3), (1, 'Team', 3), (1, 'user', 4)");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals(List.of("2 USER", "3 TEAM", "4 USER"), jdbc.queryForList(
+                "select assigned_id || ' ' || assigned_type from task_assignment order by assigned_id", String.class));
+    }
+
+    @Test
+    void baseline_existingDatabase_migratesToTheSameSchema() {
+        // Base de datos creada por ddl-auto=update antes de Flyway: tiene el esquema de V1 pero no el historial
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flyway_baseline;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into users (email) values ('ana@udea.edu.co')");
+        jdbc.update("insert into notifications (user_id, message, is_read) select user_id, 'Hola', false from users");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(1, jdbc.queryForObject("select event_count from notifications", Integer.class));
+        assertEquals(0, jdbc.queryForObject("select count(*) from notification_outbox", Integer.class));
+        assertEquals(schema(jdbcTemplate, COLUMNS), schema(jdbc, COLUMNS));
+        assertEquals(schema(jdbcTemplate, INDEXES), schema(jdbc, INDEXES));
+    }
+
+    private static final String COLUMNS = "select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable"
+            + " from information_schema.columns where table_schema = 'public' and table_name in (select table_name"
+            + " from information_schema.tables where table_type = 'BASE TABLE' and table_name <> 'flyway_schema_history')";
+
+    private static final String INDEXES = "select table_name || '.' || index_name from information_schema.indexes"
+            + " where table_schema = 'public' and (index_name like 'idx_%' or index_name like 'uq_%')";
+
+    private Set<String> schema(JdbcTemplate jdbc, String query) {
+        return new TreeSet<>(jdbc.queryForList(query, String.class));
+    }
+
+    private Project project(String name) {
+        Project project = new Project();
+        project.setName(name);
+        return project;
+    }
+
+    private Task task(String name, Project project) {
+        Task task = new Task();
+        task.setName(name);
+        task.setProject(project);
+        return task;
+    }
+}
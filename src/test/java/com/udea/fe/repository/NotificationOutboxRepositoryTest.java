@@ -0,0 +1,64 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.NotificationOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private NotificationOutbox first;
+    private NotificationOutbox second;
+
+    @BeforeEach
+    void setUp() {
+        first = entry(now.minusMinutes(3));
+        second = entry(now.minusMinutes(2));
+        NotificationOutbox retryLater = entry(now.minusMinutes(1));
+        retryLater.setNextAttemptAt(now.plusMinutes(5));
+        NotificationOutbox failed = entry(now.minusMinutes(4));
+        failed.setFailedAt(now);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void claim_returnsDueEntriesInOrderUpToLimit() {
+        List<NotificationOutbox> batch = outboxRepository
+                .findByFailedAtIsNullAndNextAttemptAtLessThanEqualOrderByOutboxIdAsc(now, Limit.of(10));
+
+        assertEquals(List.of(first.getOutboxId(), second.getOutboxId()),
+                batch.stream().map(NotificationOutbox::getOutboxId).toList());
+        assertEquals(1, outboxRepository
+                .findByFailedAtIsNullAndNextAttemptAtLessThanEqualOrderByOutboxIdAsc(now, Limit.of(1)).size());
+    }
+
+    @Test
+    void backlog_excludesFailedEntries() {
+        assertEquals(3, outboxRepository.countByFailedAtIsNull());
+        assertEquals(first.getOutboxId(), outboxRepository.findFirstByFailedAtIsNullOrderByOutboxIdAsc()
+                .orElseThrow().getOutboxId());
+    }
+
+    private NotificationOutbox entry(LocalDateTime createdAt) {
+        return em.persist(new NotificationOutbox(1L, "Mensaje", "ASIGNMENT", createdAt));
+    }
+}
@@ -0,0 +1,158 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.udea.fe.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User owner;
+    private User other;
+    private Notification unread;
+    private Notification alreadyRead;
+    private Notification othersUnread;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(user("owner@udea.edu.co"));
+        other = em.persist(user("other@udea.edu.co"));
+        unread = notification(owner, false);
+        alreadyRead = notification(owner, true);
+        othersUnread = notification(other, false);
+        notification(owner, false);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void markAllAsRead_updatesOnlyUnreadOfUser() {
+        int updated = notificationRepository.markAllAsRead(owner.getUserId(), LocalDateTime.now());
+
+        assertEquals(2, updated);
+        assertEquals(0, notificationRepository.countByUserUserIdAndIsReadFalse(owner.getUserId()));
+        assertEquals(1, notificationRepository.countByUserUserIdAndIsReadFalse(other.getUserId()));
+        assertNotNull(notificationRepository.findById(unread.getNotificationId()).orElseThrow().getReadAt());
+    }
+
+    @Test
+    void markAsRead_ignoresIdsOfOtherUsersAndAlreadyRead() {
+        int updated = notificationRepository.markAsRead(owner.getUserId(),
+                List.of(unread.getNotificationId(), alreadyRead.getNotificationId(), othersUnread.getNotificationId()),
+                LocalDateTime.now());
+
+        assertEquals(1, updated);
+        assertFalse(notificationRepository.findById(othersUnread.getNotificationId()).orElseThrow().isRead());
+    }
+
+    @Test
+    void deleteByUserAndIds_deletesOnlyOwnNotifications() {
+        int deleted = notificationRepository.deleteByUserAndIds(owner.getUserId(),
+                List.of(unread.getNotificationId(), alreadyRead.getNotificationId(), othersUnread.getNotificationId()));
+
+        assertEquals(2, deleted);
+        assertTrue(notificationRepository.existsById(othersUnread.getNotificationId()));
+        assertEquals(1, notificationRepository.findByUserUserId(owner.getUserId()).size());
+    }
+
+    @Test
+    void findReadIdsCreatedBefore_returnsOnlyOldReadNotifications() {
+        Notification oldRead = notification(owner, true, LocalDateTime.now().minusDays(200));
+        notification(owner, false, LocalDateTime.now().minusDays(200));
+        Notification oldReadOther = notification(other, true, LocalDateTime.now().minusDays(300));
+        em.flush();
+
+        List<Long> ids = notificationRepository.findReadIdsCreatedBefore(LocalDateTime.now().minusDays(180), Limit.of(10));
+
+        assertEquals(List.of(oldRead.getNotificationId(), oldReadOther.getNotificationId()), ids);
+        assertEquals(1, notificationRepository.findReadIdsCreatedBefore(LocalDateTime.now().minusDays(180), Limit.of(1)).size());
+    }
+
+    @Test
+    void findByUserUserIdAndIsReadFalse_returnsNewestFirst() {
+        Notification newest = notification(owner, false, LocalDateTime.now().plusMinutes(5));
+        em.flush();
+
+        List<Notification> result = notificationRepository.findByUserUserIdAndIsReadFalse(owner.getUserId());
+
+        assertEquals(3, result.size());
+        assertEquals(newest.getNotificationId(), result.get(0).getNotificationId());
+    }
+
+    @Test
+    void findOpenDigests_returnsUnreadOfUsersSinceDate() {
+        notification(owner, false, LocalDateTime.now().minusHours(1));
+        em.flush();
+
+        List<Notification> open = notificationRepository.findOpenDigests(
+                List.of(owner.getUserId()), List.of("ASIGNMENT"), List.of("Mensaje"), LocalDateTime.now().minusMinutes(5));
+
+        assertEquals(2, open.size());
+        assertTrue(open.stream().noneMatch(Notification::isRead));
+        assertTrue(open.stream().allMatch(n -> n.getUser().getUserId().equals(owner.getUserId())));
+        assertEquals(1, open.get(0).getEventCount());
+    }
+
+    @Test
+    void findPublishedSince_ordersByPublicationNotById() {
+        // Posterior a las de setUp; earlier tiene id mayor pero se publicó antes: el orden lo marca published_at
+        LocalDateTime since = LocalDateTime.now().plusMinutes(1);
+        Notification later = notification(owner, false);
+        later.setPublishedAt(since.plusSeconds(20));
+        Notification earlier = notification(owner, false);
+        earlier.setPublishedAt(since.plusSeconds(10));
+        notification(owner, false).setPublishedAt(since.minusSeconds(1));
+        notification(other, false).setPublishedAt(since.plusSeconds(5));
+        em.flush();
+
+        List<Notification> replay = notificationRepository.findPublishedSince(owner.getUserId(), since, Limit.of(10));
+
+        assertEquals(List.of(earlier.getNotificationId(), later.getNotificationId()),
+                replay.stream().map(Notification::getNotificationId).toList());
+    }
+
+    @Test
+    void findOpenDigests_onlyMatchesTypesAndMessagesOfTheBatch() {
+        notification(owner, false).setType("FEEDBACK");
+        notification(owner, false).setMessage("Otro mensaje");
+        em.flush();
+
+        List<Notification> open = notificationRepository.findOpenDigests(
+                List.of(owner.getUserId()), List.of("ASIGNMENT"), List.of("Mensaje"), LocalDateTime.now().minusMinutes(5));
+
+        assertEquals(2, open.size());
+        assertTrue(open.stream().allMatch(n -> "ASIGNMENT".equals(n.getType()) && "Mensaje".equals(n.getMessage())));
+    }
+
+    private Notification notification(User user, boolean read) {
+        return notification(user, read, null);
+    }
+
+    private Notification notification(User user, boolean read, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setCreatedAt(createdAt);
+        notification.setUser(user);
+        notification.setMessage("Mensaje");
+        notification.setType("ASIGNMENT");
+        notification.setRead(read);
+        return em.persist(notification);
+    }
+}
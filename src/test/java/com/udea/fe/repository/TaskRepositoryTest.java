@@ -0,0 +1,141 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.udea.fe.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User student;
+    private Project project;
+    private Task userTask;
+    private Task teamTask;
+    private Task otherTeamTask;
+    private Task unassignedTask;
+
+    @BeforeEach
+    void setUp() {
+        student = em.persist(user("student@udea.edu.co"));
+        User other = em.persist(user("other@udea.edu.co"));
+
+        project = new Project();
+        project.setName("Proyecto");
+        em.persist(project);
+        Project otherProject = new Project();
+        otherProject.setName("Otro proyecto");
+        em.persist(otherProject);
+
+        Team team = team(project);
+        Team otherTeam = team(project);
+        member(student, team);
+        member(other, otherTeam);
+
+        userTask = task("Directa", project, TaskStatus.PENDING, TaskPriority.HIGH);
+        teamTask = task("Del equipo", project, TaskStatus.IN_PROGRESS, TaskPriority.LOW);
+        otherTeamTask = task("De otro equipo", project, TaskStatus.PENDING, TaskPriority.HIGH);
+        unassignedTask = task("Sin asignar", project, TaskStatus.PENDING, TaskPriority.HIGH);
+        Task otherProjectTask = task("Otro proyecto", otherProject, TaskStatus.PENDING, TaskPriority.HIGH);
+
+        assign(userTask, "USER", student.getUserId());
+        assign(teamTask, "TEAM", team.getTeamId());
+        assign(otherTeamTask, "TEAM", otherTeam.getTeamId());
+        assign(otherProjectTask, "USER", student.getUserId());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findVisibleToUser_includesUserAndTeamAssignmentsOfProject() {
+        Page<Task> page = taskRepository.findVisibleToUser(
+                project.getProjectId(), student.getUserId(), null, null, PageRequest.of(0, 10, Sort.by("taskId")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(userTask.getTaskId(), teamTask.getTaskId()),
+                page.getContent().stream().map(Task::getTaskId).toList());
+    }
+
+    @Test
+    void findVisibleToUser_filtersByStatusAndPriority() {
+        Page<Task> byStatus = taskRepository.findVisibleToUser(
+                project.getProjectId(), student.getUserId(), TaskStatus.IN_PROGRESS, null, PageRequest.of(0, 10));
+        Page<Task> byPriority = taskRepository.findVisibleToUser(
+                project.getProjectId(), student.getUserId(), null, TaskPriority.HIGH, PageRequest.of(0, 10));
+
+        assertEquals(List.of(teamTask.getTaskId()), byStatus.getContent().stream().map(Task::getTaskId).toList());
+        assertEquals(List.of(userTask.getTaskId()), byPriority.getContent().stream().map(Task::getTaskId).toList());
+    }
+
+    @Test
+    void findVisibleToUser_paginates() {
+        Page<Task> first = taskRepository.findVisibleToUser(
+                project.getProjectId(), student.getUserId(), null, null, PageRequest.of(0, 1, Sort.by("taskId")));
+
+        assertEquals(2, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+        assertEquals(userTask.getTaskId(), first.getContent().get(0).getTaskId());
+    }
+
+    @Test
+    void findByProjectFiltered_returnsAllTasksOfProject() {
+        Page<Task> page = taskRepository.findByProjectFiltered(
+                project.getProjectId(), TaskStatus.PENDING, null, PageRequest.of(0, 10));
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.getContent().stream().map(Task::getTaskId).toList().contains(unassignedTask.getTaskId()));
+    }
+
+    private Team team(Project project) {
+        Team team = new Team();
+        team.setName("Equipo");
+        team.setProject(project);
+        return em.persist(team);
+    }
+
+    private void member(User user, Team team) {
+        UserTeam userTeam = new UserTeam();
+        userTeam.setId(new UserTeamId(user.getUserId(), team.getTeamId()));
+        userTeam.setUser(user);
+        userTeam.setTeam(team);
+        em.persist(userTeam);
+    }
+
+    private Task task(String name, Project project, TaskStatus status, TaskPriority priority) {
+        Task task = new Task();
+        task.setName(name);
+        task.setProject(project);
+        task.setStatus(status);
+        task.setPriority(priority);
+        return em.persist(task);
+    }
+
+    private void assign(Task task, String type, Long assignedId) {
+        TaskAssignmentId id = new TaskAssignmentId();
+        id.setTaskId(task.getTaskId());
+        id.setAssignedType(type);
+        id.setAssignedId(assignedId);
+        TaskAssignment assignment = new TaskAssignment();
+        assignment.setId(id);
+        assignment.setTask(task);
+        em.persist(assignment);
+    }
+}
@@ -0,0 +1,102 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.entity.Role;
+import com.udea.fe.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private UserDetailsServiceImpl userDetailsService;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userDetailsService, meterRegistry, 100, Duration.ofMinutes(5));
+
+        when(userDetailsService.loadUserByUsername("user@mail.com"))
+                .thenReturn(new AuthenticatedUser(7L, "user@mail.com", "hash", Role.STUDENT, true));
+    }
+
+    @Test
+    void get_secondCall_isServedFromCache() {
+        UserDetails first = principalCache.get("user@mail.com");
+        UserDetails second = principalCache.get("user@mail.com");
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("user@mail.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_doesNotKeepPassword() {
+        AuthenticatedUser cached = principalCache.get("user@mail.com");
+
+        assertEquals("user@mail.com", cached.getUsername());
+        assertEquals("", cached.getPassword());
+        assertEquals(7L, cached.getUserId());
+        assertEquals(Role.STUDENT, cached.getRole());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        principalCache.get("user@mail.com");
+        principalCache.evict("user@mail.com");
+        principalCache.get("user@mail.com");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("user@mail.com");
+    }
+
+    @Test
+    void evict_insideTransaction_dropsPrincipalReloadedBeforeCommit() {
+        principalCache.get("user@mail.com");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            principalCache.evict("user@mail.com");
+            // Otra petición concurrente vuelve a cargar el usuario antes del commit (todavía STUDENT)
+            assertEquals(Role.STUDENT, principalCache.get("user@mail.com").getRole());
+
+            when(userDetailsService.loadUserByUsername("user@mail.com"))
+                    .thenReturn(new AuthenticatedUser(7L, "user@mail.com", "hash", Role.TEACHER, true));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Role.TEACHER, principalCache.get("user@mail.com").getRole());
+    }
+
+    @Test
+    void evict_rolledBackTransaction_keepsCachedPrincipal() {
+        principalCache.get("user@mail.com");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            principalCache.evict("user@mail.com");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        principalCache.get("user@mail.com");
+
+        verify(userDetailsService, times(1)).loadUserByUsername("user@mail.com");
+    }
+
+    @Test
+    void evict_nullEmail_isIgnored() {
+        assertDoesNotThrow(() -> principalCache.evict(null));
+    }
+}
@@ -0,0 +1,143 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.config.JwtAuthMode;
+import com.udea.fe.entity.TokenRevocation;
+import com.udea.fe.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private TokenRevocationRepository tokenRevocationRepository;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        revocationList = new TokenRevocationList(tokenRevocationRepository, JwtAuthMode.CLAIMS, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isRevoked_tokenIssuedBeforeRevocation_returnsTrue() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 5_000);
+        revocationList.revoke("user@mail.com");
+
+        assertTrue(revocationList.isRevoked("user@mail.com", issuedAt));
+        assertFalse(revocationList.isRevoked("other@mail.com", issuedAt));
+    }
+
+    @Test
+    void isRevoked_tokenIssuedAfterRevocation_returnsFalse() {
+        revocationList.revoke("user@mail.com");
+        Date issuedAt = new Date(System.currentTimeMillis() + 1_000);
+
+        assertFalse(revocationList.isRevoked("user@mail.com", issuedAt));
+    }
+
+    @Test
+    void isRevoked_tokenIssuedInTheSameSecond_returnsTrue() {
+        // iat se trunca a segundos: un token de las 12:00:00.300 lleva iat 12:00:00
+        Date issuedAt = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        revocationList.revoke("user@mail.com");
+
+        assertTrue(revocationList.isRevoked("user@mail.com", issuedAt));
+    }
+
+    @Test
+    void ceilToSecond_roundsPartialSecondsUp() {
+        Instant second = Instant.parse("2024-05-01T12:00:00Z");
+
+        assertEquals(second, TokenRevocationList.ceilToSecond(second));
+        assertEquals(second.plusSeconds(1), TokenRevocationList.ceilToSecond(second.plusMillis(700)));
+    }
+
+    @Test
+    void revoke_persistsRevocation() {
+        revocationList.revoke("user@mail.com");
+
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(tokenRevocationRepository).save(captor.capture());
+        assertEquals("user@mail.com", captor.getValue().getEmail());
+        assertEquals(0, captor.getValue().getRevokedAt().getNano());
+    }
+
+    @Test
+    void revoke_insideTransaction_appliesLocallyAfterCommit() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 5_000);
+        TransactionSynchronizationManager.initSynchronization();
+
+        revocationList.revoke("user@mail.com");
+
+        assertFalse(revocationList.isRevoked("user@mail.com", issuedAt));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(revocationList.isRevoked("user@mail.com", issuedAt));
+    }
+
+    @Test
+    void refresh_appliesRevocationsFromOtherInstances() {
+        // Cambio de rol o borrado hecho en otra instancia: solo existe la fila en token_revocations
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        when(tokenRevocationRepository.findByRevokedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(new TokenRevocation("deleted@mail.com", revokedAt)));
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked("deleted@mail.com", Date.from(revokedAt.minusSeconds(10))));
+        assertFalse(revocationList.isRevoked("deleted@mail.com", Date.from(revokedAt.plusSeconds(1))));
+    }
+
+    @Test
+    void refresh_onlyQueriesChangesSinceLastPollWithOverlap() {
+        Instant before = Instant.now();
+        revocationList.refresh();
+        revocationList.refresh();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(tokenRevocationRepository, times(2)).findByRevokedAtGreaterThanEqual(since.capture());
+        // La primera consulta cubre toda la vida de un token; las siguientes, desde la anterior con margen
+        assertTrue(since.getAllValues().get(0).isBefore(before.minusMillis(59_000)));
+        assertFalse(since.getAllValues().get(1).isBefore(before.minus(TokenRevocationList.REFRESH_OVERLAP)));
+    }
+
+    @Test
+    void refresh_keepsLatestRevocation() {
+        revocationList.revoke("user@mail.com");
+        Instant older = Instant.now().minusSeconds(30);
+        when(tokenRevocationRepository.findByRevokedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(new TokenRevocation("user@mail.com", older)));
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked("user@mail.com", Date.from(older.plusSeconds(5))));
+    }
+
+    @Test
+    void refresh_databaseMode_onlyPrunesExpiredRows() {
+        revocationList = new TokenRevocationList(tokenRevocationRepository, JwtAuthMode.DATABASE, 60_000);
+
+        revocationList.refresh();
+
+        verify(tokenRevocationRepository).deleteRevokedBefore(any());
+        verifyNoMoreInteractions(tokenRevocationRepository);
+    }
+}
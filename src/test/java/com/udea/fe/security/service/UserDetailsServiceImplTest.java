@@ -4,6 +4,7 @@ import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,6 +30,7 @@ class UserDetailsServiceImplTest {
     void loadUserByUsername_userFound_returnsUserDetails() {
         // Arrange
         User user = new User();
+        user.setUserId(5L);
         user.setEmail("test@example.com");
         user.setPassword("securepass");
         user.setStatus(Status.ACTIVE);
@@ -47,6 +49,9 @@ class UserDetailsServiceImplTest {
         assertTrue(userDetails.isAccountNonLocked());
         assertTrue(userDetails.isCredentialsNonExpired());
         assertNotNull(userDetails.getAuthorities());
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, userDetails);
+        assertEquals(5L, principal.getUserId());
+        assertEquals(Role.TEACHER, principal.getRole());
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.udea.fe.service;
+
+import com.udea.fe.config.CacheConfig;
+import com.udea.fe.entity.NotificationOutbox;
+import com.udea.fe.entity.Project;
+import com.udea.fe.entity.Workspace;
+import com.udea.fe.exception.ProjectNotFoundException;
+import com.udea.fe.repository.NotificationOutboxRepository;
+import com.udea.fe.repository.ProjectRepository;
+import com.udea.fe.repository.WorkspaceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EntityReferences.class, CacheConfig.class})
+class EntityReferencesTest {
+
+    @Autowired
+    private EntityReferences entityReferences;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Test
+    void require_existingId_returnsReference() {
+        Project project = new Project();
+        project.setName("Proyecto");
+        Long projectId = projectRepository.saveAndFlush(project).getProjectId();
+
+        Project reference = entityReferences.require(projectReference(projectId));
+
+        assertEquals(projectId, reference.getProjectId());
+    }
+
+    @Test
+    void require_missingId_throwsNotFound() {
+        ProjectNotFoundException error = assertThrows(ProjectNotFoundException.class,
+                () -> entityReferences.require(projectReference(999L)));
+
+        assertEquals("Proyecto no encontrado", error.getMessage());
+    }
+
+    @Test
+    void saveAndFlush_referenceDeletedElsewhere_throwsNotFoundAndEvictsId() {
+        // Otra instancia borró el proyecto: aquí la caché todavía dice que existe
+        Cache projectIds = cacheManager.getCache(CacheConfig.PROJECT_IDS);
+        projectIds.putIfAbsent(999L, true);
+        Workspace workspace = new Workspace();
+        workspace.setName("Espacio");
+        workspace.setProject(projectRepository.getReferenceById(999L));
+
+        ProjectNotFoundException error = assertThrows(ProjectNotFoundException.class,
+                () -> entityReferences.saveAndFlush(workspaceRepository, workspace, projectReference(999L)));
+
+        assertEquals("Proyecto no encontrado", error.getMessage());
+        assertNull(projectIds.get(999L));
+    }
+
+    @Test
+    void saveAndFlush_otherConstraintViolation_isRethrown() {
+        NotificationOutbox withoutUser = new NotificationOutbox(null, "Hola", "AVISO", LocalDateTime.now());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> entityReferences.saveAndFlush(outboxRepository, withoutUser));
+    }
+
+    private EntityReferences.Reference<Project> projectReference(Long projectId) {
+        return new EntityReferences.Reference<>(CacheConfig.PROJECT_IDS, projectId, projectRepository,
+                () -> new ProjectNotFoundException("Proyecto no encontrado"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.udea.fe.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EntityStreamerTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private PlatformTransactionManager transactionManager;
+    private EntityStreamer entityStreamer;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        events = new ArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            events.add("begin");
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> events.add("commit")).when(transactionManager).commit(any());
+        entityStreamer = new EntityStreamer(entityManagerFactory, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+    }
+
+    @Test
+    void forEach_readsKeysetPagesUntilAShortPage() {
+        List<Long> table = LongStream.rangeClosed(1, EntityStreamer.PAGE_SIZE * 2L + 1).boxed().toList();
+        List<Long> cursors = new ArrayList<>();
+        List<String> result = new ArrayList<>();
+
+        entityStreamer.forEach((after, limit) -> {
+            cursors.add(after);
+            return page(table, after, limit);
+        }, id -> id, id -> "fila " + id, result::add);
+
+        assertEquals(table.size(), result.size());
+        assertEquals("fila 1", result.get(0));
+        assertEquals(List.of(0L, (long) EntityStreamer.PAGE_SIZE, EntityStreamer.PAGE_SIZE * 2L), cursors);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void forEach_exactMultipleOfPageSize_endsWithAnEmptyPage() {
+        List<Long> table = LongStream.rangeClosed(1, EntityStreamer.PAGE_SIZE).boxed().toList();
+        List<Long> result = new ArrayList<>();
+
+        entityStreamer.forEach((after, limit) -> page(table, after, limit), id -> id, id -> id, result::add);
+
+        assertEquals(table, result);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void forEach_writesRowsAfterThePageTransactionCommits() {
+        entityStreamer.forEach((after, limit) -> {
+            events.add("read");
+            return List.of(1L, 2L);
+        }, id -> id, id -> id, id -> events.add("write " + id));
+
+        assertEquals(List.of("begin", "read", "commit", "write 1", "write 2"), events);
+    }
+
+    @Test
+    void forEach_releasesOpenInViewEntityManagerWhileStreaming() {
+        Object inView = new Object();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, inView);
+        BiFunction<Long, Limit, List<Long>> page = (after, limit) -> {
+            assertFalse(TransactionSynchronizationManager.hasResource(entityManagerFactory));
+            return List.of(1L);
+        };
+
+        assertThrows(IllegalStateException.class, () -> entityStreamer.forEach(page, id -> id, id -> id, id -> {
+            throw new IllegalStateException("cliente desconectado");
+        }));
+
+        assertSame(inView, TransactionSynchronizationManager.getResource(entityManagerFactory));
+    }
+
+    @Test
+    void forEach_insideATransaction_isRejected() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(IllegalStateException.class,
+                    () -> entityStreamer.forEach((after, limit) -> List.<Long>of(), id -> id, id -> id, id -> { }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static List<Long> page(List<Long> table, Long after, Limit limit) {
+        return table.stream().filter(id -> id > after).limit(limit.max()).toList();
+    }
+}
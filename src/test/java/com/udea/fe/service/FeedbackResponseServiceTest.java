@@ -8,9 +8,12 @@ import com.udea.fe.exception.FeedbackResponseNotFoundException;
 import com.udea.fe.repository.FeedbackRepository;
 import com.udea.fe.repository.FeedbackResponseRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.FeedbackResponseMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,7 +28,8 @@ class FeedbackResponseServiceTest {
     private FeedbackResponseRepository feedbackResponseRepository;
     private FeedbackRepository feedbackRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private FeedbackResponseMapper feedbackResponseMapper;
+    private EntityStreamer entityStreamer;
     private FeedbackResponseService service;
 
     @BeforeEach
@@ -33,12 +37,14 @@ class FeedbackResponseServiceTest {
         feedbackResponseRepository = mock(FeedbackResponseRepository.class);
         feedbackRepository = mock(FeedbackRepository.class);
         userRepository = mock(UserRepository.class);
-        modelMapper = mock(ModelMapper.class);
+        feedbackResponseMapper = mock(FeedbackResponseMapper.class);
+        entityStreamer = mock(EntityStreamer.class);
         service = new FeedbackResponseService(
                 feedbackResponseRepository,
                 feedbackRepository,
                 userRepository,
-                modelMapper);
+                feedbackResponseMapper, entityStreamer,
+                new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -53,10 +59,11 @@ class FeedbackResponseServiceTest {
         FeedbackResponse saved = new FeedbackResponse();
 
         when(feedbackRepository.findById(1L)).thenReturn(Optional.of(feedback));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(dto, FeedbackResponse.class)).thenReturn(response);
-        when(feedbackResponseRepository.save(response)).thenReturn(saved);
-        when(modelMapper.map(saved, FeedbackResponseDTO.class)).thenReturn(dto);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+        when(feedbackResponseMapper.toEntity(dto)).thenReturn(response);
+        when(feedbackResponseRepository.saveAndFlush(response)).thenReturn(saved);
+        when(feedbackResponseMapper.toDTO(saved)).thenReturn(dto);
 
         FeedbackResponseDTO result = service.createFeedbackResponse(dto);
 
@@ -86,10 +93,10 @@ class FeedbackResponseServiceTest {
 
         Feedback feedback = new Feedback();
 
-        when(modelMapper.map(any(FeedbackResponseDTO.class), eq(FeedbackResponse.class)))
+        when(feedbackResponseMapper.toEntity(any(FeedbackResponseDTO.class)))
                 .thenReturn(new FeedbackResponse());
         when(feedbackRepository.findById(1L)).thenReturn(Optional.of(feedback));
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(99L)).thenReturn(false);
 
         FeedbackResponseNotFoundException ex = assertThrows(
                 FeedbackResponseNotFoundException.class,
@@ -104,7 +111,7 @@ class FeedbackResponseServiceTest {
         FeedbackResponseDTO dto = new FeedbackResponseDTO();
 
         when(feedbackResponseRepository.findById(1L)).thenReturn(Optional.of(response));
-        when(modelMapper.map(response, FeedbackResponseDTO.class)).thenReturn(dto);
+        when(feedbackResponseMapper.toDTO(response)).thenReturn(dto);
 
         FeedbackResponseDTO result = service.getFeedbackResponseById(1L);
 
@@ -125,10 +132,10 @@ class FeedbackResponseServiceTest {
         FeedbackResponse response = new FeedbackResponse();
         FeedbackResponseDTO dto = new FeedbackResponseDTO();
 
-        when(feedbackResponseRepository.findAll()).thenReturn(List.of(response));
-        when(modelMapper.map(response, FeedbackResponseDTO.class)).thenReturn(dto);
+        when(feedbackResponseRepository.findByFeedbackResponseIdGreaterThanOrderByFeedbackResponseIdAsc(0L, Limit.of(50))).thenReturn(List.of(response));
+        when(feedbackResponseMapper.toDTO(response)).thenReturn(dto);
 
-        List<FeedbackResponseDTO> result = service.getAllFeedbackResponses();
+        List<FeedbackResponseDTO> result = service.getAllFeedbackResponses(null, 50);
 
         assertEquals(1, result.size());
         assertEquals(dto, result.get(0));
@@ -142,7 +149,7 @@ class FeedbackResponseServiceTest {
 
         when(feedbackResponseRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(feedbackResponseRepository.save(existing)).thenReturn(existing);
-        when(modelMapper.map(existing, FeedbackResponseDTO.class)).thenReturn(dto);
+        when(feedbackResponseMapper.toDTO(existing)).thenReturn(dto);
 
         FeedbackResponseDTO result = service.updateFeedbackResponse(1L, dto);
 
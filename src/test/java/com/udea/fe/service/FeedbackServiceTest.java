@@ -1,13 +1,18 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.FeedbackDTO;
-import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.DTO.FeedbackThreadRow;
 import com.udea.fe.entity.*;
 import com.udea.fe.exception.FeedbackNotFoundException;
 import com.udea.fe.repository.*;
+import com.udea.fe.mapper.FeedbackMapper;
+import com.udea.fe.mapper.FeedbackMapperImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,7 +29,9 @@ class FeedbackServiceTest {
     private SubmissionRepository submissionRepository;
     private UserRepository userRepository;
     private NotificationService notificationService;
-    private ModelMapper modelMapper;
+    private FeedbackMapper feedbackMapper;
+    private EntityStreamer entityStreamer;
+    private EntityReferences entityReferences;
     private FeedbackService feedbackService;
 
     @BeforeEach
@@ -33,9 +40,11 @@ class FeedbackServiceTest {
         submissionRepository = mock(SubmissionRepository.class);
         userRepository = mock(UserRepository.class);
         notificationService = mock(NotificationService.class);
-        modelMapper = mock(ModelMapper.class);
-        feedbackService = new FeedbackService(feedbackRepository, submissionRepository, userRepository, modelMapper,
-                notificationService);
+        feedbackMapper = mock(FeedbackMapper.class);
+        entityStreamer = mock(EntityStreamer.class);
+        entityReferences = new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class));
+        feedbackService = new FeedbackService(feedbackRepository, submissionRepository, userRepository, feedbackMapper,
+                notificationService, entityStreamer, entityReferences);
     }
 
     @Test
@@ -51,15 +60,16 @@ class FeedbackServiceTest {
         Feedback feedback = new Feedback();
 
         when(submissionRepository.findById(1L)).thenReturn(Optional.of(submission));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(dto, Feedback.class)).thenReturn(feedback);
-        when(feedbackRepository.save(any())).thenReturn(feedback);
-        when(modelMapper.map(any(), eq(FeedbackDTO.class))).thenReturn(dto);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+        when(feedbackMapper.toEntity(dto)).thenReturn(feedback);
+        when(feedbackRepository.saveAndFlush(any())).thenReturn(feedback);
+        when(feedbackMapper.toDTO(any())).thenReturn(dto);
 
         FeedbackDTO result = feedbackService.createFeedback(dto);
 
         assertEquals("Buen trabajo", result.getComment());
-        verify(notificationService).createNotification(any(NotificationDTO.class));
+        verify(notificationService).enqueue(eq(2L), eq("Has recibido una nueva retroalimentación."), eq("FEEDBACK"));
     }
 
     @Test
@@ -84,7 +94,7 @@ class FeedbackServiceTest {
 
         when(feedbackRepository.findById(1L)).thenReturn(Optional.of(feedback));
         when(feedbackRepository.save(any())).thenReturn(feedback);
-        when(modelMapper.map(any(), eq(FeedbackDTO.class))).thenReturn(dto);
+        when(feedbackMapper.toDTO(any())).thenReturn(dto);
 
         FeedbackDTO result = feedbackService.updateFeedback(1L, dto);
 
@@ -103,7 +113,7 @@ class FeedbackServiceTest {
         Feedback feedback = new Feedback();
         FeedbackDTO dto = new FeedbackDTO();
         when(feedbackRepository.findById(1L)).thenReturn(Optional.of(feedback));
-        when(modelMapper.map(feedback, FeedbackDTO.class)).thenReturn(dto);
+        when(feedbackMapper.toDTO(feedback)).thenReturn(dto);
 
         FeedbackDTO result = feedbackService.getFeedbackById(1L);
         assertNotNull(result);
@@ -134,10 +144,10 @@ class FeedbackServiceTest {
         Feedback feedback = new Feedback();
         FeedbackDTO dto = new FeedbackDTO();
 
-        when(feedbackRepository.findAll()).thenReturn(List.of(feedback));
-        when(modelMapper.map(feedback, FeedbackDTO.class)).thenReturn(dto);
+        when(feedbackRepository.findByFeedbackIdGreaterThanOrderByFeedbackIdAsc(0L, Limit.of(50))).thenReturn(List.of(feedback));
+        when(feedbackMapper.toDTO(feedback)).thenReturn(dto);
 
-        List<FeedbackDTO> result = feedbackService.getAllFeedbacks();
+        List<FeedbackDTO> result = feedbackService.getAllFeedbacks(null, 50);
 
         assertEquals(1, result.size());
     }
@@ -150,11 +160,45 @@ class FeedbackServiceTest {
         feedback.setSubmission(submission);
         FeedbackDTO dto = new FeedbackDTO();
 
-        when(feedbackRepository.findAll()).thenReturn(List.of(feedback));
-        when(modelMapper.map(feedback, FeedbackDTO.class)).thenReturn(dto);
+        when(feedbackRepository.findBySubmission_SubmissionId(1L)).thenReturn(List.of(feedback));
+        when(feedbackMapper.toDTO(feedback)).thenReturn(dto);
 
         List<FeedbackDTO> result = feedbackService.getFeedbacksBySubmissionId(1L);
         assertEquals(1, result.size());
+        verify(feedbackRepository, never()).findAll();
+    }
+
+    @Test
+    void getFeedbackThreadBySubmissionId_buildsTreeFromRows() {
+        LocalDateTime now = LocalDateTime.now();
+        feedbackService = new FeedbackService(feedbackRepository, submissionRepository, userRepository,
+                new FeedbackMapperImpl(), notificationService, entityStreamer, entityReferences);
+        when(feedbackRepository.findThreadRowsBySubmissionId(1L)).thenReturn(List.of(
+                new FeedbackThreadRow(10L, "Raíz", 4, now, 2L, null, 100L, "Gracias", now, 3L),
+                new FeedbackThreadRow(10L, "Raíz", 4, now, 2L, null, 101L, "Corregido", now, 3L),
+                new FeedbackThreadRow(11L, "Réplica", null, now, 2L, 10L, null, null, null, null),
+                new FeedbackThreadRow(12L, "Otra raíz", 5, now, 2L, null, null, null, null, null)));
+
+        List<FeedbackThreadDTO> thread = feedbackService.getFeedbackThreadBySubmissionId(1L);
+
+        assertEquals(2, thread.size());
+        FeedbackThreadDTO root = thread.get(0);
+        assertEquals(10L, root.getFeedbackId());
+        assertEquals(2, root.getResponses().size());
+        assertEquals(100L, root.getResponses().get(0).getId());
+        assertEquals("Gracias", root.getResponses().get(0).getComment());
+        assertEquals(10L, root.getResponses().get(0).getFeedbackId());
+        assertEquals(1, root.getReplies().size());
+        assertEquals(11L, root.getReplies().get(0).getFeedbackId());
+        assertTrue(root.getReplies().get(0).getResponses().isEmpty());
+        assertEquals(12L, thread.get(1).getFeedbackId());
+    }
+
+    @Test
+    void getFeedbackThreadBySubmissionId_empty() {
+        when(feedbackRepository.findThreadRowsBySubmissionId(1L)).thenReturn(List.of());
+
+        assertTrue(feedbackService.getFeedbackThreadBySubmissionId(1L).isEmpty());
     }
 
     @Test
@@ -182,23 +226,24 @@ class FeedbackServiceTest {
         saved.setCreatedBy(user);
 
         // Mocking
-        when(modelMapper.map(dto, Feedback.class)).thenReturn(feedback);
+        when(feedbackMapper.toEntity(dto)).thenReturn(feedback);
         when(submissionRepository.findById(1L)).thenReturn(Optional.of(submission));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
         when(feedbackRepository.findById(3L)).thenReturn(Optional.of(parent));
-        when(feedbackRepository.save(any())).thenReturn(saved);
-        when(modelMapper.map(saved, FeedbackDTO.class)).thenReturn(dto);
+        when(feedbackRepository.saveAndFlush(any())).thenReturn(saved);
+        when(feedbackMapper.toDTO(saved)).thenReturn(dto);
 
         // Act
         FeedbackDTO result = feedbackService.createFeedback(dto);
 
         // Assert
         assertNotNull(result);
-        verify(modelMapper).map(dto, Feedback.class);
+        verify(feedbackMapper).toEntity(dto);
         verify(submissionRepository).findById(1L);
-        verify(userRepository).findById(2L);
+        verify(userRepository).existsById(2L);
         verify(feedbackRepository).findById(3L);
-        verify(feedbackRepository).save(any(Feedback.class));
-        verify(notificationService).createNotification(any(NotificationDTO.class));
+        verify(feedbackRepository).saveAndFlush(any(Feedback.class));
+        verify(notificationService).enqueue(eq(2L), eq("Has recibido una nueva retroalimentación."), eq("FEEDBACK"));
     }
 }
@@ -0,0 +1,135 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.MembershipRow;
+import com.udea.fe.repository.UserTeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MembershipIndexTest {
+
+    private UserTeamRepository userTeamRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private MembershipIndex membershipIndex;
+
+    @BeforeEach
+    void setUp() {
+        userTeamRepository = mock(UserTeamRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        membershipIndex = new MembershipIndex(userTeamRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isMember_beforeFirstLoad_queriesDatabase() {
+        when(userTeamRepository.existsByUserIdAndProjectId(1L, 10L)).thenReturn(true);
+
+        assertTrue(membershipIndex.isMember(1L, 10L));
+
+        verify(userTeamRepository).existsByUserIdAndProjectId(1L, 10L);
+    }
+
+    @Test
+    void isMember_afterLoad_answersFromMemory() {
+        when(userTeamRepository.findAllMemberships()).thenReturn(List.of(
+                new MembershipRow(1L, 30L), new MembershipRow(1L, 10L), new MembershipRow(1L, 10L),
+                new MembershipRow(2L, 20L)));
+
+        membershipIndex.reconcile();
+
+        assertTrue(membershipIndex.isMember(1L, 10L));
+        assertTrue(membershipIndex.isMember(1L, 30L));
+        assertFalse(membershipIndex.isMember(1L, 20L));
+        assertFalse(membershipIndex.isMember(3L, 10L));
+        verify(userTeamRepository, never()).existsByUserIdAndProjectId(any(), any());
+        assertEquals(2, meterRegistry.get("memberships.index.users").gauge().value());
+    }
+
+    @Test
+    void memberAdded_insertsProjectInOrder() {
+        when(userTeamRepository.findAllMemberships()).thenReturn(List.of(
+                new MembershipRow(1L, 10L), new MembershipRow(1L, 30L)));
+        membershipIndex.reconcile();
+
+        membershipIndex.memberAdded(1L, 20L);
+        membershipIndex.memberAdded(2L, 5L);
+
+        assertTrue(membershipIndex.isMember(1L, 10L));
+        assertTrue(membershipIndex.isMember(1L, 20L));
+        assertTrue(membershipIndex.isMember(1L, 30L));
+        assertTrue(membershipIndex.isMember(2L, 5L));
+    }
+
+    @Test
+    void membershipsChanged_reloadsOnlyAffectedUsers() {
+        when(userTeamRepository.findAllMemberships()).thenReturn(List.of(
+                new MembershipRow(1L, 10L), new MembershipRow(2L, 10L)));
+        membershipIndex.reconcile();
+        // El usuario 1 sigue en otro equipo del proyecto 10; el 2 ya no está en ninguno
+        when(userTeamRepository.findProjectIdsByUserId(1L)).thenReturn(List.of(10L));
+        when(userTeamRepository.findProjectIdsByUserId(2L)).thenReturn(List.of());
+
+        membershipIndex.membershipsChanged(List.of(1L, 2L));
+
+        assertTrue(membershipIndex.isMember(1L, 10L));
+        assertFalse(membershipIndex.isMember(2L, 10L));
+        assertEquals(1, meterRegistry.get("memberships.index.users").gauge().value());
+    }
+
+    @Test
+    void changes_insideTransaction_applyOnlyAfterCommit() {
+        when(userTeamRepository.findAllMemberships()).thenReturn(List.of());
+        membershipIndex.reconcile();
+        TransactionSynchronizationManager.initSynchronization();
+
+        membershipIndex.memberAdded(1L, 10L);
+        assertFalse(membershipIndex.isMember(1L, 10L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(membershipIndex.isMember(1L, 10L));
+    }
+
+    @Test
+    void reconcile_correctsDriftAndCountsIt() {
+        when(userTeamRepository.findAllMemberships())
+                .thenReturn(List.of(new MembershipRow(1L, 10L), new MembershipRow(2L, 20L)))
+                .thenReturn(List.of(new MembershipRow(1L, 10L), new MembershipRow(3L, 30L)));
+        membershipIndex.reconcile();
+        assertEquals(0, meterRegistry.get("memberships.index.drift").counter().count());
+
+        membershipIndex.reconcile();
+
+        assertFalse(membershipIndex.isMember(2L, 20L));
+        assertTrue(membershipIndex.isMember(3L, 30L));
+        assertEquals(2, meterRegistry.get("memberships.index.drift").counter().count());
+    }
+
+    @Test
+    void reconcile_keepsChangesMadeDuringReload() {
+        membershipIndex.reconcile();
+        // El alta llega mientras se lee la carga completa, que ya no la incluye
+        when(userTeamRepository.findAllMemberships()).thenAnswer(invocation -> {
+            membershipIndex.memberAdded(1L, 10L);
+            return List.of();
+        });
+        when(userTeamRepository.findProjectIdsByUserId(1L)).thenReturn(List.of(10L));
+
+        membershipIndex.reconcile();
+
+        assertTrue(membershipIndex.isMember(1L, 10L));
+    }
+}
@@ -0,0 +1,173 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.User;
+import com.udea.fe.mapper.NotificationMapperImpl;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationHubTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationHub hub;
+
+    private static final LocalDateTime PUBLISHED_AT = LocalDateTime.of(2025, 5, 20, 10, 15, 30);
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new NotificationHub(notificationRepository, new NotificationMapperImpl(), meterRegistry,
+                Duration.ofMinutes(30), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void onNotificationsCreated_sendsOnlyToRecipientConnections() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.subscribe(1L, null, first);
+        hub.subscribe(1L, null, second);
+        hub.subscribe(2L, null, other);
+
+        hub.onNotificationsCreated(new NotificationsCreatedEvent(List.of(notification(5L, 1L))));
+
+        assertTrue(first.text().contains("id:2025-05-20T10:15:30\nevent:notification\n"));
+        assertEquals(1, second.events.size());
+        assertTrue(other.events.isEmpty());
+        assertEquals(3.0, meterRegistry.get("notifications.sse.connections").gauge().value());
+    }
+
+    @Test
+    void onNotificationsCreated_resendsCoalescedDigest() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(1L, null, emitter);
+
+        hub.onNotificationsCreated(new NotificationsCreatedEvent(List.of(), List.of(notification(5L, 1L))));
+
+        assertTrue(emitter.text().contains("id:2025-05-20T10:15:30\nevent:notification\n"));
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysFromCursorMinusOverlap() {
+        User user = new User();
+        user.setUserId(1L);
+        Notification missed = new Notification();
+        missed.setNotificationId(8L);
+        missed.setUser(user);
+        missed.setPublishedAt(PUBLISHED_AT.plusSeconds(5));
+        // Confirmada más tarde por una transacción que empezó antes del cursor: el margen la recupera
+        when(notificationRepository.findPublishedSince(
+                1L, PUBLISHED_AT.minusMinutes(1), Limit.of(NotificationHub.REPLAY_LIMIT))).thenReturn(List.of(missed));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        hub.subscribe(1L, PUBLISHED_AT.toString(), emitter);
+
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.text().contains("id:2025-05-20T10:15:35\n"));
+    }
+
+    @Test
+    void subscribe_withInvalidLastEventId_doesNotReplay() {
+        hub.subscribe(1L, "7", new RecordingEmitter());
+
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void subscribe_withoutLastEventId_doesNotReplay() {
+        hub.subscribe(1L, null, new RecordingEmitter());
+
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void subscribe_beyondLimit_closesOldestConnection() {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i <= NotificationHub.MAX_CONNECTIONS_PER_USER; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            hub.subscribe(1L, null, emitter);
+        }
+
+        assertTrue(emitters.get(0).completed);
+        assertEquals(NotificationHub.MAX_CONNECTIONS_PER_USER, hub.connectionCount());
+    }
+
+    @Test
+    void failedSend_dropsConnection() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        hub.subscribe(1L, null, emitter);
+
+        hub.onNotificationsCreated(new NotificationsCreatedEvent(List.of(notification(5L, 1L))));
+
+        assertEquals(0, hub.connectionCount());
+    }
+
+    @Test
+    void heartbeat_sendsCommentAndDropsClosedConnections() {
+        RecordingEmitter alive = new RecordingEmitter();
+        RecordingEmitter closed = new RecordingEmitter();
+        closed.failing = true;
+        hub.subscribe(1L, null, alive);
+        hub.subscribe(2L, null, closed);
+
+        hub.heartbeat();
+
+        assertTrue(alive.text().startsWith(":heartbeat"));
+        assertEquals(1, hub.connectionCount());
+    }
+
+    private NotificationDTO notification(Long id, Long userId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(id);
+        dto.setUserId(userId);
+        dto.setMessage("Mensaje");
+        dto.setPublishedAt(PUBLISHED_AT);
+        return dto;
+    }
+
+    // Guarda los eventos en lugar de escribirlos en una respuesta HTTP
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> events = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("conexión cerrada");
+            }
+            events.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String text() {
+            return events.stream()
+                    .flatMap(event -> event.build().stream())
+                    .map(part -> part.getData() instanceof String text ? text : "<json>")
+                    .collect(Collectors.joining());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.NotificationOutbox;
+import com.udea.fe.entity.User;
+import com.udea.fe.mapper.NotificationMapperImpl;
+import com.udea.fe.repository.NotificationOutboxRepository;
+import com.udea.fe.repository.NotificationRepository;
+import com.udea.fe.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationRepository notificationRepository;
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        notificationRepository = mock(NotificationRepository.class);
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = dispatcher(WINDOW);
+        when(userRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setUserId(invocation.getArgument(0));
+            return user;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_deliversNotificationsAndDeletesOutboxRows() {
+        NotificationOutbox first = entry(1L, 10L);
+        NotificationOutbox second = entry(2L, 11L);
+        claim(first, second);
+        when(userRepository.findExistingIds(List.of(10L, 11L))).thenReturn(List.of(10L, 11L));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        List<Notification> saved = captor.getValue();
+        assertEquals(List.of(10L, 11L), saved.stream().map(n -> n.getUser().getUserId()).toList());
+        assertEquals(first.getCreatedAt(), saved.get(0).getCreatedAt());
+        assertEquals("Mensaje", saved.get(0).getMessage());
+        verify(outboxRepository).deleteAllInBatch(List.of(first, second));
+        assertEquals(2.0, meterRegistry.counter("notifications.outbox.dispatched").count());
+
+        ArgumentCaptor<NotificationsCreatedEvent> event = ArgumentCaptor.forClass(NotificationsCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(10L, 11L), event.getValue().notifications().stream().map(NotificationDTO::getUserId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_sameUserAndType_coalescesIntoDigest() {
+        NotificationOutbox first = entry(1L, 10L);
+        NotificationOutbox second = entry(2L, 10L);
+        NotificationOutbox third = entry(3L, 10L);
+        claim(first, second, third);
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(3, captor.getValue().get(0).getEventCount());
+        verify(outboxRepository).deleteAllInBatch(List.of(first, second, third));
+        assertEquals(3.0, meterRegistry.counter("notifications.outbox.dispatched").count());
+        assertEquals(2.0, meterRegistry.counter("notifications.outbox.coalesced").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_openDigest_addsEventsWithoutNewRow() {
+        NotificationOutbox entry = entry(1L, 10L);
+        claim(entry);
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+        Notification open = digest(50L, 10L, entry.getCreatedAt().minusMinutes(1));
+        when(notificationRepository.findOpenDigests(eq(List.of(10L)), eq(List.of("ASIGNMENT")), eq(List.of("Mensaje")), any()))
+                .thenReturn(List.of(open));
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        assertTrue(captor.getValue().isEmpty());
+        assertEquals(3, open.getEventCount());
+        assertEquals(entry.getCreatedAt(), open.getLastEventAt());
+        // Se vuelve a publicar para el reenvío SSE
+        assertFalse(open.getPublishedAt().isBefore(before));
+
+        ArgumentCaptor<NotificationsCreatedEvent> event = ArgumentCaptor.forClass(NotificationsCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().notifications().isEmpty());
+        assertEquals(List.of(50L), event.getValue().coalesced().stream().map(NotificationDTO::getId).toList());
+        assertEquals(3, event.getValue().coalesced().get(0).getEventCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_digestOutsideWindow_opensNewNotification() {
+        NotificationOutbox entry = entry(1L, 10L);
+        claim(entry);
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+        Notification old = digest(50L, 10L, entry.getCreatedAt().minus(WINDOW).minusSeconds(1));
+        when(notificationRepository.findOpenDigests(eq(List.of(10L)), eq(List.of("ASIGNMENT")), eq(List.of("Mensaje")), any()))
+                .thenReturn(List.of(old));
+
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(1, captor.getValue().get(0).getEventCount());
+        assertEquals(2, old.getEventCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_zeroWindow_deliversOneRowPerEvent() {
+        NotificationOutboxDispatcher withoutCoalescing = dispatcher(Duration.ZERO);
+        claim(entry(1L, 10L), entry(2L, 10L));
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+
+        withoutCoalescing.dispatchBatch();
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(notificationRepository, never()).findOpenDigests(any(), any(), any(), any());
+        withoutCoalescing.shutdown();
+    }
+
+    @Test
+    void dispatchBatch_unknownUser_isMarkedFailedWithoutBlockingBatch() {
+        NotificationOutbox known = entry(1L, 10L);
+        NotificationOutbox unknown = entry(2L, 99L);
+        claim(known, unknown);
+        when(userRepository.findExistingIds(List.of(10L, 99L))).thenReturn(List.of(10L));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).deleteAllInBatch(List.of(known));
+        assertNotNull(unknown.getFailedAt());
+        assertEquals(NotificationOutboxDispatcher.MSG_USUARIO_NO_ENCONTRADO, unknown.getLastError());
+        assertEquals(1.0, meterRegistry.counter("notifications.outbox.failed").count());
+    }
+
+    @Test
+    void dispatchBatch_failure_schedulesRetryWithBackoff() {
+        NotificationOutbox entry = entry(1L, 10L);
+        claim(entry);
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+        when(notificationRepository.saveAll(any())).thenThrow(new IllegalStateException("base de datos caída"));
+        when(outboxRepository.findAllById(List.of(1L))).thenReturn(List.of(entry));
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        assertEquals(1, entry.getAttempts());
+        assertEquals("base de datos caída", entry.getLastError());
+        assertNull(entry.getFailedAt());
+        assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(4)));
+        assertEquals(1.0, meterRegistry.counter("notifications.outbox.retried").count());
+    }
+
+    @Test
+    void dispatchBatch_lastAttemptFails_marksEntryFailed() {
+        NotificationOutbox entry = entry(1L, 10L);
+        entry.setAttempts(MAX_ATTEMPTS - 1);
+        claim(entry);
+        when(userRepository.findExistingIds(List.of(10L))).thenReturn(List.of(10L));
+        when(notificationRepository.saveAll(any())).thenThrow(new IllegalStateException("error"));
+        when(outboxRepository.findAllById(List.of(1L))).thenReturn(List.of(entry));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(MAX_ATTEMPTS, entry.getAttempts());
+        assertNotNull(entry.getFailedAt());
+        assertEquals(1.0, meterRegistry.counter("notifications.outbox.failed").count());
+    }
+
+    @Test
+    void dispatchBatch_emptyOutbox_doesNothing() {
+        claim();
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verifyNoInteractions(notificationRepository, eventPublisher);
+        verify(userRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void backoff_growsExponentiallyAndIsCapped() {
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(20), dispatcher.backoff(3));
+        assertEquals(NotificationOutboxDispatcher.MAX_BACKOFF, dispatcher.backoff(40));
+    }
+
+    @Test
+    void poll_publishesBacklogAndLag() {
+        NotificationOutbox oldest = entry(1L, 10L);
+        oldest.setCreatedAt(LocalDateTime.now().minusMinutes(2));
+        when(outboxRepository.countByFailedAtIsNull()).thenReturn(0L);
+        when(outboxRepository.findFirstByFailedAtIsNullOrderByOutboxIdAsc()).thenReturn(Optional.of(oldest));
+
+        dispatcher.poll();
+
+        assertEquals(0.0, meterRegistry.get("notifications.outbox.pending").gauge().value());
+        assertTrue(meterRegistry.get("notifications.outbox.lag").gauge().value() >= 119);
+        dispatcher.shutdown();
+    }
+
+    private NotificationOutboxDispatcher dispatcher(Duration coalescingWindow) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new NotificationOutboxDispatcher(outboxRepository, notificationRepository, userRepository,
+                new NotificationMapperImpl(), eventPublisher, transactionTemplate, meterRegistry,
+                BATCH_SIZE, 1, MAX_ATTEMPTS, Duration.ofSeconds(5), coalescingWindow);
+    }
+
+    private Notification digest(Long id, Long userId, LocalDateTime createdAt) {
+        User user = new User();
+        user.setUserId(userId);
+        Notification notification = new Notification();
+        notification.setNotificationId(id);
+        notification.setUser(user);
+        notification.setMessage("Mensaje");
+        notification.setType("ASIGNMENT");
+        notification.setCreatedAt(createdAt);
+        notification.setLastEventAt(createdAt);
+        notification.setEventCount(2);
+        return notification;
+    }
+
+    private void claim(NotificationOutbox... entries) {
+        when(outboxRepository.findByFailedAtIsNullAndNextAttemptAtLessThanEqualOrderByOutboxIdAsc(
+                any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of(entries));
+    }
+
+    private NotificationOutbox entry(Long id, Long userId) {
+        NotificationOutbox entry = new NotificationOutbox(userId, "Mensaje", "ASIGNMENT", LocalDateTime.now().minusSeconds(1));
+        entry.setOutboxId(id);
+        return entry;
+    }
+}
@@ -0,0 +1,83 @@
+package com.udea.fe.service;
+
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationRetentionJobTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private NotificationRepository notificationRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    }
+
+    private NotificationRetentionJob job(boolean enabled) {
+        return new NotificationRetentionJob(notificationRepository, transactionTemplate, meterRegistry,
+                enabled, Duration.ofDays(180), BATCH_SIZE);
+    }
+
+    @Test
+    void purge_deletesInBatchesUntilAShortBatch() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+        when(notificationRepository.findReadIdsCreatedBefore(cutoff, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+
+        long total = job(true).purge(cutoff);
+
+        assertEquals(5, total);
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(5L));
+        assertEquals(5, meterRegistry.counter("notifications.retention.deleted").count());
+    }
+
+    @Test
+    void purge_nothingToDelete_stopsAfterFirstQuery() {
+        when(notificationRepository.findReadIdsCreatedBefore(any(), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of());
+
+        assertEquals(0, job(true).purge(LocalDateTime.now()));
+
+        verify(notificationRepository, times(1)).findReadIdsCreatedBefore(any(), any());
+        verify(notificationRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void run_usesMaxAgeAsCutoff() {
+        when(notificationRepository.findReadIdsCreatedBefore(any(), any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusDays(180);
+
+        job(true).run();
+
+        verify(notificationRepository).findReadIdsCreatedBefore(
+                argThat(cutoff -> !cutoff.isBefore(before) && cutoff.isBefore(LocalDateTime.now().minusDays(179))),
+                eq(Limit.of(BATCH_SIZE)));
+    }
+
+    @Test
+    void run_disabled_doesNothing() {
+        job(false).run();
+
+        verifyNoInteractions(notificationRepository);
+    }
+}
@@ -2,14 +2,17 @@ package com.udea.fe.service;
 
 import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.NotificationOutbox;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.NotificationNotFoundException;
 import com.udea.fe.exception.UserNotFoundException;
+import com.udea.fe.repository.NotificationOutboxRepository;
 import com.udea.fe.repository.NotificationRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.NotificationMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.mockito.ArgumentCaptor;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,15 +25,20 @@ class NotificationServiceTest {
 
     private NotificationRepository notificationRepository;
     private UserRepository userRepository;
-    private ModelMapper modelMapper;
+    private NotificationMapper notificationMapper;
+    private NotificationOutboxRepository notificationOutboxRepository;
+    private UnreadCounter unreadCounter;
     private NotificationService notificationService;
 
     @BeforeEach
     void setUp() {
         notificationRepository = mock(NotificationRepository.class);
         userRepository = mock(UserRepository.class);
-        modelMapper = mock(ModelMapper.class);
-        notificationService = new NotificationService(notificationRepository, userRepository, modelMapper);
+        notificationMapper = mock(NotificationMapper.class);
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        unreadCounter = mock(UnreadCounter.class);
+        notificationService = new NotificationService(notificationRepository, userRepository, notificationMapper,
+                notificationOutboxRepository, unreadCounter);
     }
 
     @Test
@@ -44,13 +52,14 @@ class NotificationServiceTest {
         Notification saved = new Notification();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(dto, Notification.class)).thenReturn(entity);
+        when(notificationMapper.toEntity(dto)).thenReturn(entity);
         when(notificationRepository.save(any())).thenReturn(saved);
-        when(modelMapper.map(saved, NotificationDTO.class)).thenReturn(dto);
+        when(notificationMapper.toDTO(saved)).thenReturn(dto);
 
         NotificationDTO result = notificationService.createNotification(dto);
         assertNotNull(result);
         verify(notificationRepository).save(any());
+        verify(unreadCounter).increment(1L, 1);
     }
 
     @Test
@@ -61,6 +70,32 @@ class NotificationServiceTest {
         assertThrows(UserNotFoundException.class, () -> notificationService.createNotification(dto));
     }
 
+    @Test
+    void enqueue_writesOutboxEntryWithoutLoadingUser() {
+        notificationService.enqueue(1L, "Nueva tarea", "ASIGNMENT");
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+        NotificationOutbox entry = captor.getValue();
+        assertEquals(1L, entry.getUserId());
+        assertEquals("Nueva tarea", entry.getMessage());
+        assertEquals("ASIGNMENT", entry.getType());
+        assertEquals(entry.getCreatedAt(), entry.getNextAttemptAt());
+        verifyNoInteractions(userRepository, notificationRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueueAll_savesOneEntryPerUserInASingleCall() {
+        int enqueued = notificationService.enqueueAll(List.of(1L, 2L), "Nueva tarea", "ASIGNMENT");
+
+        assertEquals(2, enqueued);
+        ArgumentCaptor<List<NotificationOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutboxRepository).saveAll(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue().stream().map(NotificationOutbox::getUserId).toList());
+        verifyNoInteractions(userRepository, notificationRepository);
+    }
+
     @Test
     void getById_success() {
         Notification notification = new Notification();
@@ -68,7 +103,7 @@ class NotificationServiceTest {
         NotificationDTO dto = new NotificationDTO();
 
         when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
-        when(modelMapper.map(notification, NotificationDTO.class)).thenReturn(dto);
+        when(notificationMapper.toDTO(notification)).thenReturn(dto);
 
         NotificationDTO result = notificationService.getById(1L);
         assertNotNull(result);
@@ -86,7 +121,7 @@ class NotificationServiceTest {
         NotificationDTO dto = new NotificationDTO();
 
         when(notificationRepository.findAll()).thenReturn(List.of(notification));
-        when(modelMapper.map(any(Notification.class), eq(NotificationDTO.class))).thenReturn(dto);
+        when(notificationMapper.toDTO(any(Notification.class))).thenReturn(dto);
 
         List<NotificationDTO> result = notificationService.getAll();
         assertEquals(1, result.size());
@@ -94,39 +129,51 @@ class NotificationServiceTest {
 
     @Test
     void getByUser_success() {
-        User user = new User();
-        user.setUserId(1L);
         Notification notification = new Notification();
         NotificationDTO dto = new NotificationDTO();
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(notificationRepository.findByUserUserIdAndIsReadFalse(1L)).thenReturn(List.of(notification));
-        when(modelMapper.map(any(Notification.class), eq(NotificationDTO.class))).thenReturn(dto);
+        when(notificationMapper.toDTO(any(Notification.class))).thenReturn(dto);
 
-        List<NotificationDTO> result = notificationService.getByUser("test@example.com");
+        List<NotificationDTO> result = notificationService.getByUser(1L);
         assertEquals(1, result.size());
-    }
-
-    @Test
-    void getByUser_userNotFound_throws() {
-        when(userRepository.findByEmail("fail@example.com")).thenReturn(Optional.empty());
-        assertThrows(UserNotFoundException.class, () -> notificationService.getByUser("fail@example.com"));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void markAsRead_success() {
-        Notification notification = new Notification();
-        notification.setNotificationId(1L);
-        notification.setRead(false);
+        Notification notification = unreadNotification();
         NotificationDTO dto = new NotificationDTO();
 
         when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
         when(notificationRepository.save(notification)).thenReturn(notification);
-        when(modelMapper.map(notification, NotificationDTO.class)).thenReturn(dto);
+        when(notificationMapper.toDTO(notification)).thenReturn(dto);
 
         NotificationDTO result = notificationService.markAsRead(1L);
         assertNotNull(result);
         assertTrue(notification.isRead());
+        verify(unreadCounter).decrement(5L);
+    }
+
+    @Test
+    void markAsRead_alreadyRead_keepsCounter() {
+        Notification notification = unreadNotification();
+        notification.setRead(true);
+
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
+        when(notificationRepository.save(notification)).thenReturn(notification);
+
+        notificationService.markAsRead(1L);
+
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    void countUnread_usesCounterForUser() {
+        when(unreadCounter.get(5L)).thenReturn(3L);
+
+        assertEquals(3L, notificationService.countUnread(5L));
+        verifyNoInteractions(notificationRepository, userRepository);
     }
 
     @Test
@@ -137,17 +184,73 @@ class NotificationServiceTest {
 
     @Test
     void delete_success() {
-        when(notificationRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(notificationRepository).deleteById(1L);
+        Notification notification = unreadNotification();
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
 
         notificationService.delete(1L);
 
-        verify(notificationRepository).deleteById(1L);
+        verify(notificationRepository).delete(notification);
+        verify(unreadCounter).decrement(5L);
     }
 
     @Test
     void delete_notFound_throws() {
-        when(notificationRepository.existsById(1L)).thenReturn(false);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(NotificationNotFoundException.class, () -> notificationService.delete(1L));
+        verify(notificationRepository, never()).delete(any());
+    }
+
+    @Test
+    void markAllAsRead_runsBulkUpdateAndAdjustsCounter() {
+        when(notificationRepository.markAllAsRead(eq(5L), any())).thenReturn(7);
+
+        assertEquals(7, notificationService.markAllAsRead(5L));
+
+        verify(unreadCounter).decrement(5L, 7);
+        verify(notificationRepository, never()).findById(any());
+    }
+
+    @Test
+    void markAsRead_ids_runsBulkUpdateScopedToUser() {
+        when(notificationRepository.markAsRead(eq(5L), eq(List.of(1L, 2L, 3L)), any())).thenReturn(2);
+
+        assertEquals(2, notificationService.markAsRead(5L, List.of(1L, 2L, 3L)));
+
+        verify(unreadCounter).decrement(5L, 2);
+    }
+
+    @Test
+    void markAsRead_emptyIds_doesNothing() {
+        assertEquals(0, notificationService.markAsRead(5L, List.of()));
+
+        verifyNoInteractions(notificationRepository, userRepository, unreadCounter);
+    }
+
+    @Test
+    void delete_ids_runsBulkDeleteAndInvalidatesCounter() {
+        when(notificationRepository.deleteByUserAndIds(5L, List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, notificationService.delete(5L, List.of(1L, 2L)));
+
+        verify(unreadCounter).invalidate(5L);
+    }
+
+    @Test
+    void delete_ids_nothingDeleted_keepsCounter() {
+        when(notificationRepository.deleteByUserAndIds(5L, List.of(9L))).thenReturn(0);
+
+        assertEquals(0, notificationService.delete(5L, List.of(9L)));
+
+        verifyNoInteractions(unreadCounter);
+    }
+
+    private Notification unreadNotification() {
+        User user = new User();
+        user.setUserId(5L);
+        Notification notification = new Notification();
+        notification.setNotificationId(1L);
+        notification.setUser(user);
+        notification.setRead(false);
+        return notification;
     }
 }
\ No newline at end of file
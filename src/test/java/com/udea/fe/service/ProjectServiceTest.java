@@ -14,7 +14,7 @@ import com.udea.fe.repository.UserRepository;
 import com.udea.fe.repository.UserTeamRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -27,8 +27,8 @@ class ProjectServiceTest {
     private ProjectRepository projectRepository;
     private UserRepository userRepository;
     private UserTeamRepository userTeamRepository;
-    private ModelMapper modelMapper;
     private ProjectMapper projectMapper;
+    private EntityStreamer entityStreamer;
     private ProjectService projectService;
 
     @BeforeEach
@@ -36,9 +36,9 @@ class ProjectServiceTest {
         projectRepository = mock(ProjectRepository.class);
         userRepository = mock(UserRepository.class);
         userTeamRepository = mock(UserTeamRepository.class);
-        modelMapper = mock(ModelMapper.class);
         projectMapper = mock(ProjectMapper.class);
-        projectService = new ProjectService(projectRepository, userRepository, userTeamRepository, modelMapper, projectMapper);
+        entityStreamer = mock(EntityStreamer.class);
+        projectService = new ProjectService(projectRepository, userRepository, userTeamRepository, projectMapper, entityStreamer);
     }
 
     @Test
@@ -50,9 +50,9 @@ class ProjectServiceTest {
         ProjectDTO savedDTO = new ProjectDTO();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(dto, Project.class)).thenReturn(project);
+        when(projectMapper.toEntity(dto)).thenReturn(project);
         when(projectRepository.save(project)).thenReturn(savedProject);
-        when(modelMapper.map(savedProject, ProjectDTO.class)).thenReturn(savedDTO);
+        when(projectMapper.toDTO(savedProject)).thenReturn(savedDTO);
 
         ProjectDTO result = projectService.createProject(dto);
         assertNotNull(result);
@@ -91,7 +91,7 @@ class ProjectServiceTest {
         Project project = new Project();
         ProjectDTO dto = new ProjectDTO();
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(modelMapper.map(project, ProjectDTO.class)).thenReturn(dto);
+        when(projectMapper.toDTO(project)).thenReturn(dto);
         assertNotNull(projectService.getProjectById(1L));
     }
 
@@ -105,9 +105,9 @@ class ProjectServiceTest {
     void getAllProjects_returnsList() {
         Project project = new Project();
         ProjectDTO dto = new ProjectDTO();
-        when(projectRepository.findAll()).thenReturn(List.of(project));
-        when(modelMapper.map(project, ProjectDTO.class)).thenReturn(dto);
-        assertEquals(1, projectService.getAllProjects().size());
+        when(projectRepository.findByProjectIdGreaterThanOrderByProjectIdAsc(0L, Limit.of(50))).thenReturn(List.of(project));
+        when(projectMapper.toDTO(project)).thenReturn(dto);
+        assertEquals(1, projectService.getAllProjects(null, 50).size());
     }
 
     @Test
@@ -118,7 +118,7 @@ class ProjectServiceTest {
 
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         when(projectRepository.save(project)).thenReturn(project);
-        when(modelMapper.map(project, ProjectDTO.class)).thenReturn(dto);
+        when(projectMapper.toDTO(project)).thenReturn(dto);
 
         ProjectDTO result = projectService.updateProject(1L, dto);
         assertEquals(dto, result);
@@ -138,7 +138,7 @@ class ProjectServiceTest {
         project.setEndDate(null);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         when(projectRepository.save(project)).thenReturn(project);
-        when(modelMapper.map(project, ProjectDTO.class)).thenReturn(new ProjectDTO());
+        when(projectMapper.toDTO(project)).thenReturn(new ProjectDTO());
         projectService.changeProjectStatus(1L, ProjectStatus.COMPLETED);
         assertEquals(ProjectStatus.COMPLETED, project.getStatus());
         assertNotNull(project.getEndDate());
@@ -0,0 +1,260 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
+import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.DTO.ProjectDTO;
+import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.config.CacheConfig;
+import com.udea.fe.entity.*;
+import com.udea.fe.mapper.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.udea.fe.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL por llamada de servicio: el número de consultas no debe
+ * crecer con el número de filas devueltas ahora que todas las relaciones @ManyToOne son LAZY.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({
+        SubmissionService.class, TeamService.class, ProjectService.class, FeedbackService.class,
+        TaskService.class, TaskAssignmentService.class, NotificationService.class, UnreadCounter.class,
+        MembershipIndex.class, SimpleMeterRegistry.class, EntityStreamer.class, EntityReferences.class, CacheConfig.class,
+        SubmissionMapperImpl.class, TeamMapperImpl.class, ProjectMapperImpl.class, FeedbackMapperImpl.class,
+        TaskMapperImpl.class, NotificationMapperImpl.class
+})
+class QueryBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskAssignmentService taskAssignmentService;
+
+    private StatementCounter counter;
+    private User teacher;
+    private Team team;
+    private Project project;
+    private Task task;
+    private Submission submission;
+    private User outsider;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory);
+
+        teacher = em.persist(user("teacher@udea.edu.co", Role.TEACHER));
+        project = new Project();
+        project.setName("Proyecto");
+        project.setCreatedBy(teacher);
+        em.persist(project);
+
+        team = new Team();
+        team.setName("Equipo");
+        team.setProject(project);
+        team.setLeader(teacher);
+        em.persist(team);
+        member(teacher, team);
+
+        task = new Task();
+        task.setName("Tarea");
+        task.setProject(project);
+        task.setCreatedBy(teacher);
+        em.persist(task);
+
+        for (int i = 0; i < ROWS; i++) {
+            User student = em.persist(user("student" + i + "@udea.edu.co", Role.STUDENT));
+            member(student, team);
+
+            Submission entry = new Submission();
+            entry.setContent("Entrega " + i);
+            entry.setSubmittedAt(LocalDateTime.now());
+            entry.setTask(task);
+            entry.setUser(student);
+            em.persist(entry);
+            submission = entry;
+        }
+
+        outsider = em.persist(user("outsider@udea.edu.co", Role.STUDENT));
+        assign(task, "TEAM", team.getTeamId());
+        assign(task, "USER", outsider.getUserId());
+        assign(task, "USER", teacher.getUserId());
+
+        for (int i = 0; i < ROWS; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setComment("Comentario " + i);
+            feedback.setSubmission(submission);
+            feedback.setCreatedBy(teacher);
+            em.persist(feedback);
+
+            FeedbackResponse response = new FeedbackResponse();
+            response.setComment("Respuesta " + i);
+            response.setFeedback(feedback);
+            response.setCreatedBy(teacher);
+            em.persist(response);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getSubmissionsByTaskId_loadsAuthorsWithTheSubmissions() {
+        List<SubmissionResponseDTO> result = counter.assertAtMost(1, () ->
+                submissionService.getSubmissionsByTaskId(task.getTaskId(), teacher.getUserId(), Role.TEACHER));
+
+        assertEquals(ROWS, result.size());
+        assertTrue(result.stream().allMatch(dto -> dto.getUserName() != null));
+    }
+
+    @Test
+    void getUsersByTeam_loadsMembersWithTeamDetails() {
+        List<UserTeam> result = counter.assertAtMost(2, () -> teamService.getUsersByTeam(team.getTeamId()));
+
+        assertEquals(ROWS + 1, result.size());
+        UserTeam member = result.get(0);
+        assertTrue(Hibernate.isInitialized(member.getUser()));
+        assertTrue(Hibernate.isInitialized(member.getTeam().getProject().getCreatedBy()));
+        assertTrue(Hibernate.isInitialized(member.getTeam().getLeader()));
+    }
+
+    @Test
+    void getProjectsByUserId_doesNotLoadProjectsOneByOne() {
+        List<ProjectDTO> result = counter.assertAtMost(2, () -> projectService.getProjectsByUserId(teacher.getUserId()));
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void getFeedbacksBySubmissionId_isASingleQuery() {
+        List<FeedbackDTO> result = counter.assertAtMost(1, () ->
+                feedbackService.getFeedbacksBySubmissionId(submission.getSubmissionId()));
+
+        assertEquals(ROWS, result.size());
+    }
+
+    @Test
+    void getFeedbackThreadBySubmissionId_isASingleQuery() {
+        List<FeedbackThreadDTO> result = counter.assertAtMost(1, () ->
+                feedbackService.getFeedbackThreadBySubmissionId(submission.getSubmissionId()));
+
+        assertEquals(ROWS, result.size());
+        assertTrue(result.stream().allMatch(thread -> thread.getResponses().size() == 1));
+    }
+
+    @Test
+    void getAllTasks_isASingleQuery() {
+        List<TaskDTO> result = counter.assertAtMost(1, () -> taskService.getAllTasks(null, 50));
+
+        assertEquals(1, result.size());
+        assertEquals(project.getProjectId(), result.get(0).getProjectId());
+    }
+
+    @Test
+    void getTasksByProjectIdAndUser_pagesWithoutExtraQueries() {
+        Page<TaskDTO> result = counter.assertAtMost(3, () -> taskService.getTasksByProjectIdAndUser(
+                project.getProjectId(), teacher.getUserId(), Role.TEACHER, null, null, PageRequest.of(0, 10)));
+
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void getUsersAssignedToTask_resolvesTeamMembersInASingleQuery() {
+        List<AssignedUserDTO> result = counter.assertAtMost(1, () ->
+                taskAssignmentService.getUsersAssignedToTask(task.getTaskId()));
+
+        // Los ROWS estudiantes y el docente por el equipo, más el usuario asignado directamente; sin duplicados
+        assertEquals(ROWS + 2, result.size());
+        assertEquals(ROWS + 2, result.stream().map(AssignedUserDTO::getId).distinct().count());
+        assertTrue(result.stream().anyMatch(dto -> dto.getId().equals(outsider.getUserId())));
+    }
+
+    @Test
+    void assignTaskBulk_insertsAssignmentsInBatches() {
+        Task other = new Task();
+        other.setName("Otra tarea");
+        other.setProject(project);
+        em.persist(other);
+        List<Long> students = new ArrayList<>();
+        for (int i = 0; i < ROWS * 4; i++) {
+            students.add(em.persist(user("bulk" + i + "@udea.edu.co", Role.STUDENT)).getUserId());
+        }
+        em.flush();
+        em.clear();
+
+        BulkTaskAssignmentRequestDTO request = new BulkTaskAssignmentRequestDTO();
+        request.setTaskId(other.getTaskId());
+        request.setUserIds(students);
+        // Lectura de tarea, validación, asignaciones existentes, un INSERT en lote de asignaciones, otro del
+        // outbox y como mucho un nextval: el presupuesto no depende del número de estudiantes
+        BulkTaskAssignmentResponseDTO response = counter.assertAtMost(6, () -> {
+            BulkTaskAssignmentResponseDTO result = taskAssignmentService.assignTaskBulk(request);
+            em.flush();
+            return result;
+        });
+
+        assertEquals(students.size(), response.getAssigned());
+        assertEquals(students.size(), response.getNotified());
+        em.clear();
+        assertEquals(0, taskAssignmentService.assignTaskBulk(request).getAssigned());
+    }
+
+    private void member(User user, Team team) {
+        UserTeam userTeam = new UserTeam();
+        userTeam.setId(new UserTeamId(user.getUserId(), team.getTeamId()));
+        userTeam.setUser(user);
+        userTeam.setTeam(team);
+        em.persist(userTeam);
+    }
+
+    private void assign(Task task, String type, Long assignedId) {
+        TaskAssignmentId id = new TaskAssignmentId();
+        id.setTaskId(task.getTaskId());
+        id.setAssignedType(type);
+        id.setAssignedId(assignedId);
+        TaskAssignment assignment = new TaskAssignment();
+        assignment.setId(id);
+        assignment.setTask(task);
+        em.persist(assignment);
+    }
+}
@@ -0,0 +1,32 @@
+package com.udea.fe.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara durante una llamada, usando sus estadísticas.
+ * Sirve para fijar un presupuesto de consultas por método de servicio y detectar N+1.
+ */
+class StatementCounter {
+
+    private final Statistics statistics;
+
+    StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    <T> T assertAtMost(long maxStatements, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long executed = statistics.getPrepareStatementCount();
+        assertTrue(executed <= maxStatements,
+                "Se esperaban como máximo " + maxStatements + " sentencias SQL y se ejecutaron " + executed);
+        return result;
+    }
+}
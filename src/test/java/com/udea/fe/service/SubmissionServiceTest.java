@@ -1,14 +1,17 @@
 package com.udea.fe.service;
 
-import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
 import com.udea.fe.entity.*;
 import com.udea.fe.repository.SubmissionRepository;
 import com.udea.fe.repository.TaskRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.mapper.SubmissionMapperImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,6 +26,7 @@ class SubmissionServiceTest {
     private TaskRepository taskRepository;
     private UserRepository userRepository;
     private NotificationService notificationService;
+    private EntityStreamer entityStreamer;
     private SubmissionService submissionService;
 
     @BeforeEach
@@ -31,7 +35,9 @@ class SubmissionServiceTest {
         taskRepository = mock(TaskRepository.class);
         userRepository = mock(UserRepository.class);
         notificationService = mock(NotificationService.class);
-        submissionService = new SubmissionService(submissionRepository, taskRepository, userRepository, notificationService);
+        entityStreamer = mock(EntityStreamer.class);
+        submissionService = new SubmissionService(submissionRepository, taskRepository, userRepository, notificationService, new SubmissionMapperImpl(), entityStreamer,
+                new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -57,15 +63,18 @@ class SubmissionServiceTest {
         saved.setTask(task);
         saved.setUser(user);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
-        when(submissionRepository.save(any())).thenReturn(saved);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+        when(submissionRepository.saveAndFlush(any())).thenReturn(saved);
 
         SubmissionResponseDTO result = submissionService.createSubmission(request);
 
         assertEquals(10L, result.getSubmissionId());
         assertEquals("Contenido", result.getContent());
-        verify(notificationService).createNotification(any(NotificationDTO.class));
+        verify(notificationService).enqueue(eq(2L), eq("Se ha realizado una nueva entrega."), eq("ENTREGA"));
+        verify(notificationService, never()).createNotification(any());
     }
 
     @Test
@@ -80,9 +89,9 @@ class SubmissionServiceTest {
         s1.setTask(task);
         s1.setUser(user);
 
-        when(submissionRepository.findAll()).thenReturn(List.of(s1));
+        when(submissionRepository.findBySubmissionIdGreaterThanOrderBySubmissionIdAsc(0L, Limit.of(50))).thenReturn(List.of(s1));
 
-        List<SubmissionResponseDTO> list = submissionService.getAllSubmissions();
+        List<SubmissionResponseDTO> list = submissionService.getAllSubmissions(null, 50);
 
         assertEquals(1, list.size());
         assertEquals("A", list.get(0).getContent());
@@ -109,13 +118,6 @@ class SubmissionServiceTest {
     @Test
     void getSubmissionsByTaskId_asTeacher() {
         Long taskId = 1L;
-        String email = "prof@mail.com";
-
-        User teacher = new User();
-        teacher.setUserId(99L);
-        teacher.setRole(Role.TEACHER);
-        teacher.setEmail(email);
-
         Submission s = new Submission();
         s.setSubmissionId(5L);
         s.setContent("Trabajo");
@@ -123,25 +125,18 @@ class SubmissionServiceTest {
         User user = new User(); user.setUserId(2L); user.setName("Juan");
         s.setTask(task); s.setUser(user);
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(teacher));
         when(submissionRepository.findByTask_TaskId(taskId)).thenReturn(List.of(s));
 
-        List<SubmissionResponseDTO> list = submissionService.getSubmissionsByTaskId(taskId, email);
+        List<SubmissionResponseDTO> list = submissionService.getSubmissionsByTaskId(taskId, 99L, Role.TEACHER);
         assertEquals(1, list.size());
         assertEquals("Trabajo", list.get(0).getContent());
         assertEquals("Juan", list.get(0).getUserName());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void getSubmissionsByTaskId_asStudent() {
         Long taskId = 1L;
-        String email = "student@mail.com";
-
-        User student = new User();
-        student.setUserId(77L);
-        student.setRole(Role.STUDENT);
-        student.setEmail(email);
-
         Submission s = new Submission();
         s.setSubmissionId(5L);
         s.setContent("Trabajo Estudiante");
@@ -149,10 +144,9 @@ class SubmissionServiceTest {
         User user = new User(); user.setUserId(77L); user.setName("Maria");
         s.setTask(task); s.setUser(user);
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(student));
         when(submissionRepository.findByTask_TaskIdAndUser_UserId(taskId, 77L)).thenReturn(List.of(s));
 
-        List<SubmissionResponseDTO> list = submissionService.getSubmissionsByTaskId(taskId, email);
+        List<SubmissionResponseDTO> list = submissionService.getSubmissionsByTaskId(taskId, 77L, Role.STUDENT);
         assertEquals(1, list.size());
         assertEquals("Trabajo Estudiante", list.get(0).getContent());
         assertEquals("Maria", list.get(0).getUserName());
@@ -1,15 +1,25 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.AssignedUserDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
 import com.udea.fe.entity.*;
+import com.udea.fe.exception.TeamNotFoundException;
+import com.udea.fe.exception.UserNotFoundException;
 import com.udea.fe.repository.TaskAssignmentRepository;
 import com.udea.fe.repository.TaskRepository;
+import com.udea.fe.repository.TeamRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.repository.UserTeamRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +29,8 @@ class TaskAssignmentServiceTest {
     private TaskRepository taskRepository;
     private TaskAssignmentRepository taskAssignmentRepository;
     private UserRepository userRepository;
+    private TeamRepository teamRepository;
+    private UserTeamRepository userTeamRepository;
     private NotificationService notificationService;
     private TaskAssignmentService service;
 
@@ -27,9 +39,11 @@ class TaskAssignmentServiceTest {
         taskRepository = mock(TaskRepository.class);
         taskAssignmentRepository = mock(TaskAssignmentRepository.class);
         userRepository = mock(UserRepository.class);
+        teamRepository = mock(TeamRepository.class);
+        userTeamRepository = mock(UserTeamRepository.class);
         notificationService = mock(NotificationService.class);
         service = new TaskAssignmentService(taskRepository, taskAssignmentRepository, userRepository,
-                notificationService);
+                teamRepository, userTeamRepository, notificationService);
     }
 
     @Test
@@ -52,88 +66,227 @@ class TaskAssignmentServiceTest {
         assertEquals("Tarea asignada correctamente", response.getMessage());
 
         verify(taskAssignmentRepository).save(any(TaskAssignment.class));
-        verify(notificationService).createNotification(any(NotificationDTO.class));
+        verify(notificationService).enqueueAll(List.of(2L), "Se le ha asignado una nueva tarea", "ASIGNMENT");
+        verify(notificationService, never()).createNotification(any(NotificationDTO.class));
     }
 
     @Test
-    void assignTask_taskNotFound_throwsException() {
+    void assignTask_toTeam_notifiesTeamMembers() {
         TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
         request.setTaskId(1L);
+        request.setAssignedId(5L);
+        request.setAssignedType("TEAM");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        Task task = new Task();
+        task.setTaskId(1L);
 
-        Exception ex = assertThrows(RuntimeException.class, () -> service.assignTask(request));
-        assertEquals("Tarea no encontrada", ex.getMessage());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(5L))).thenReturn(List.of(20L, 21L));
+
+        service.assignTask(request);
+
+        verify(notificationService).enqueueAll(List.of(20L, 21L), "Se le ha asignado una nueva tarea", "ASIGNMENT");
     }
 
     @Test
-    void getUsersAssignedToTask_success() {
-        Long taskId = 1L;
+    void assignTask_alreadyAssigned_doesNotInsertAgain() {
+        TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
+        request.setTaskId(1L);
+        request.setAssignedId(2L);
+        request.setAssignedType("USER");
 
-        TaskAssignmentId id1 = new TaskAssignmentId();
-        id1.setTaskId(taskId);
-        id1.setAssignedId(1L);
-        id1.setAssignedType("USER");
+        Task task = new Task();
+        task.setTaskId(1L);
 
-        TaskAssignmentId id2 = new TaskAssignmentId();
-        id2.setTaskId(taskId);
-        id2.setAssignedId(2L);
-        id2.setAssignedType("USER");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskAssignmentRepository.existsById(any(TaskAssignmentId.class))).thenReturn(true);
 
-        TaskAssignment assignment1 = new TaskAssignment();
-        assignment1.setId(id1);
+        service.assignTask(request);
 
-        TaskAssignment assignment2 = new TaskAssignment();
-        assignment2.setId(id2);
+        verify(taskAssignmentRepository, never()).save(any(TaskAssignment.class));
+        verifyNoInteractions(notificationService);
+    }
 
-        User user1 = new User();
-        user1.setUserId(1L);
+    @Test
+    void assignTask_sameTeamTwice_notifiesMembersOnce() {
+        TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
+        request.setTaskId(1L);
+        request.setAssignedId(5L);
+        request.setAssignedType("TEAM");
 
-        User user2 = new User();
-        user2.setUserId(2L);
+        Task task = new Task();
+        task.setTaskId(1L);
 
-        when(taskAssignmentRepository.findById_TaskId(taskId))
-                .thenReturn(List.of(assignment1, assignment2));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskAssignmentRepository.existsById(any(TaskAssignmentId.class))).thenReturn(false, true);
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(5L))).thenReturn(List.of(20L, 21L));
 
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(user1));
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.of(user2));
+        service.assignTask(request);
+        TaskAssignmentResponseDTO second = service.assignTask(request);
 
-        List<User> result = service.getUsersAssignedToTask(taskId);
+        assertEquals(5L, second.getAssignedId());
+        verify(taskAssignmentRepository, times(1)).save(any(TaskAssignment.class));
+        verify(notificationService, times(1)).enqueueAll(List.of(20L, 21L), "Se le ha asignado una nueva tarea", "ASIGNMENT");
+    }
+
+    @Test
+    void assignTask_lowercaseType_isStoredUppercase() {
+        TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
+        request.setTaskId(1L);
+        request.setAssignedId(5L);
+        request.setAssignedType(" team ");
+
+        Task task = new Task();
+        task.setTaskId(1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(5L))).thenReturn(List.of(20L));
+
+        TaskAssignmentResponseDTO response = service.assignTask(request);
 
-        assertEquals(2, result.size());
+        assertEquals("TEAM", response.getAssignedType());
+        verify(taskAssignmentRepository).save(argThat(a -> "TEAM".equals(a.getId().getAssignedType())));
+        verify(notificationService).enqueueAll(List.of(20L), "Se le ha asignado una nueva tarea", "ASIGNMENT");
     }
 
     @Test
-    void getUsersAssignedToTask_someUsersMissing_returnsOnlyFound() {
+    void assignTask_unknownType_throwsException() {
+        TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
+        request.setTaskId(1L);
+        request.setAssignedId(5L);
+        request.setAssignedType("GROUP");
+
+        Task task = new Task();
+        task.setTaskId(1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        Exception ex = assertThrows(RuntimeException.class, () -> service.assignTask(request));
+        assertEquals("Tipo de asignación no válido: GROUP", ex.getMessage());
+        verify(taskAssignmentRepository, never()).save(any(TaskAssignment.class));
+    }
+
+    @Test
+    void assignTask_taskNotFound_throwsException() {
+        TaskAssignmentRequestDTO request = new TaskAssignmentRequestDTO();
+        request.setTaskId(1L);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Exception ex = assertThrows(RuntimeException.class, () -> service.assignTask(request));
+        assertEquals("Tarea no encontrada", ex.getMessage());
+    }
+
+    @Test
+    void getUsersAssignedToTask_returnsProjectionFromSingleQuery() {
         Long taskId = 1L;
+        List<AssignedUserDTO> users = List.of(
+                new AssignedUserDTO(1L, "Ana", "ana@udea.edu.co", Role.STUDENT),
+                new AssignedUserDTO(2L, "Luis", "luis@udea.edu.co", Role.STUDENT));
+
+        when(userRepository.findAssignedToTask(taskId)).thenReturn(users);
+
+        List<AssignedUserDTO> result = service.getUsersAssignedToTask(taskId);
+
+        assertEquals(users, result);
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(taskAssignmentRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void assignTaskBulk_insertsNewAssignmentsAndNotifiesUsersAndTeamMembers() {
+        Task task = new Task();
+        task.setTaskId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(10L, 11L));
+        when(teamRepository.findExistingIds(any())).thenReturn(List.of(5L));
+        when(taskAssignmentRepository.findById_TaskId(1L)).thenReturn(List.of(existingAssignment(1L, "USER", 11L)));
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(5L))).thenReturn(List.of(10L, 20L, 21L));
+        when(notificationService.enqueueAll(any(), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Collection.class).size());
+
+        BulkTaskAssignmentResponseDTO response = service.assignTaskBulk(bulkRequest(1L, List.of(10L, 11L, 10L), List.of(5L)));
+
+        assertEquals(2, response.getAssigned());
+        assertEquals(1, response.getAlreadyAssigned());
+        assertEquals(3, response.getNotified());
+
+        verify(taskAssignmentRepository).saveAll(argThat((List<TaskAssignment> saved) -> saved.size() == 2
+                && saved.stream().allMatch(TaskAssignment::isNew)));
+        verify(notificationService).enqueueAll(eq(Set.of(10L, 20L, 21L)), eq("Se le ha asignado una nueva tarea"),
+                eq("ASIGNMENT"));
+        verify(notificationService, never()).createNotification(any());
+    }
+
+    @Test
+    void assignTaskBulk_everythingAlreadyAssigned_isIdempotent() {
+        Task task = new Task();
+        task.setTaskId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(10L));
+        when(taskAssignmentRepository.findById_TaskId(1L)).thenReturn(List.of(existingAssignment(1L, "USER", 10L)));
 
-        TaskAssignmentId id1 = new TaskAssignmentId();
-        id1.setTaskId(taskId);
-        id1.setAssignedId(1L);
-        id1.setAssignedType("USER");
+        BulkTaskAssignmentResponseDTO response = service.assignTaskBulk(bulkRequest(1L, List.of(10L), List.of()));
 
-        TaskAssignmentId id2 = new TaskAssignmentId();
-        id2.setTaskId(taskId);
-        id2.setAssignedId(2L);
-        id2.setAssignedType("USER");
+        assertEquals(0, response.getAssigned());
+        assertEquals(1, response.getAlreadyAssigned());
+        assertEquals(0, response.getNotified());
+        verify(taskAssignmentRepository).saveAll(List.of());
+        verifyNoInteractions(notificationService, userTeamRepository);
+    }
 
-        TaskAssignment assignment1 = new TaskAssignment();
-        assignment1.setId(id1);
+    @Test
+    void assignTaskBulk_unknownUser_throwsBeforeInserting() {
+        Task task = new Task();
+        task.setTaskId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(10L));
 
-        TaskAssignment assignment2 = new TaskAssignment();
-        assignment2.setId(id2);
+        Exception ex = assertThrows(UserNotFoundException.class,
+                () -> service.assignTaskBulk(bulkRequest(1L, List.of(10L, 99L), List.of())));
 
-        User user1 = new User();
-        user1.setUserId(1L);
+        assertEquals("Usuarios no encontrados: [99]", ex.getMessage());
+        verify(taskAssignmentRepository, never()).saveAll(any());
+    }
 
-        when(taskAssignmentRepository.findById_TaskId(taskId))
-                .thenReturn(List.of(assignment1, assignment2));
+    @Test
+    void assignTaskBulk_unknownTeam_throws() {
+        Task task = new Task();
+        task.setTaskId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(teamRepository.findExistingIds(any())).thenReturn(List.of());
 
-        when(userRepository.findById(eq(1L))).thenReturn(Optional.of(user1));
-        when(userRepository.findById(eq(2L))).thenReturn(Optional.empty()); // simulamos uno que no existe
+        assertThrows(TeamNotFoundException.class,
+                () -> service.assignTaskBulk(bulkRequest(1L, List.of(), List.of(7L))));
+    }
 
-        List<User> result = service.getUsersAssignedToTask(taskId);
+    @Test
+    void assignTaskBulk_withoutAssignees_throws() {
+        Task task = new Task();
+        task.setTaskId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> service.assignTaskBulk(bulkRequest(1L, null, null)));
+        assertEquals("Debe indicar al menos un usuario o un equipo", ex.getMessage());
+    }
+
+    private BulkTaskAssignmentRequestDTO bulkRequest(Long taskId, List<Long> userIds, List<Long> teamIds) {
+        BulkTaskAssignmentRequestDTO request = new BulkTaskAssignmentRequestDTO();
+        request.setTaskId(taskId);
+        request.setUserIds(userIds == null ? null : new ArrayList<>(userIds));
+        request.setTeamIds(teamIds == null ? null : new ArrayList<>(teamIds));
+        return request;
+    }
 
-        assertEquals(1, result.size());
+    private TaskAssignment existingAssignment(Long taskId, String type, Long assignedId) {
+        TaskAssignmentId id = new TaskAssignmentId();
+        id.setTaskId(taskId);
+        id.setAssignedType(type);
+        id.setAssignedId(assignedId);
+        TaskAssignment assignment = new TaskAssignment();
+        assignment.setId(id);
+        return assignment;
     }
-}
\ No newline at end of file
+}
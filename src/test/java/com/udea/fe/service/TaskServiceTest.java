@@ -3,15 +3,23 @@ package com.udea.fe.service;
 import com.udea.fe.DTO.TaskDTO;
 import com.udea.fe.entity.*;
 import com.udea.fe.repository.*;
+import com.udea.fe.mapper.TaskMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,11 +31,13 @@ class TaskServiceTest {
     private TaskService taskService;
 
     @Mock private TaskRepository taskRepository;
-    @Mock private TaskAssignmentRepository taskAssignmentRepository;
     @Mock private ProjectRepository projectRepository;
     @Mock private UserRepository userRepository;
-    @Mock private UserTeamRepository userTeamRepository;
-    @Mock private ModelMapper modelMapper;
+    @Mock private MembershipIndex membershipIndex;
+    @Mock private TaskMapper taskMapper;
+    @Mock private EntityStreamer entityStreamer;
+    @Spy private EntityReferences entityReferences =
+            new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class));
 
     private TaskDTO taskDTO;
     private Task task;
@@ -61,12 +71,14 @@ class TaskServiceTest {
 
     @Test
     void createTask_successful() {
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(taskRepository.existsByNameAndProject_ProjectId("Test Task", 1L)).thenReturn(false);
-        when(modelMapper.map(taskDTO, Task.class)).thenReturn(task);
-        when(taskRepository.save(any())).thenReturn(task);
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.saveAndFlush(any())).thenReturn(task);
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
 
         TaskDTO result = taskService.createTask(taskDTO);
         assertNotNull(result);
@@ -83,7 +95,7 @@ class TaskServiceTest {
     @Test
     void getTaskById_successful() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
 
         TaskDTO result = taskService.getTaskById(1L);
         assertEquals(taskDTO.getName(), result.getName());
@@ -98,10 +110,12 @@ class TaskServiceTest {
     @Test
     void updateTask_successful() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(taskRepository.save(task)).thenReturn(task);
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
 
         TaskDTO result = taskService.updateTask(1L, taskDTO);
         assertNotNull(result);
@@ -121,7 +135,7 @@ class TaskServiceTest {
         task.setStatus(TaskStatus.PENDING);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(task)).thenReturn(task);
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
 
         TaskDTO result = taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS);
         assertNotNull(result);
@@ -157,49 +171,73 @@ class TaskServiceTest {
 
         @Test
         void getTasksByProjectIdAndUser_asTeacher() {
-        user.setRole(Role.TEACHER);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(userTeamRepository.existsByUserIdAndProjectId(1L, 1L)).thenReturn(true);
-        when(taskRepository.findByProject_ProjectId(1L)).thenReturn(List.of(task));
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
-
-        List<TaskDTO> result = taskService.getTasksByProjectIdAndUser(1L, "test@example.com");
-        assertEquals(1, result.size());
-        assertEquals("Test Task", result.get(0).getName());
+        when(membershipIndex.isMember(1L, 1L)).thenReturn(true);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(taskRepository.findByProjectFiltered(1L, null, null, pageable)).thenReturn(new PageImpl<>(List.of(task), pageable, 1));
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
+
+        Page<TaskDTO> result = taskService.getTasksByProjectIdAndUser(1L, 1L, Role.TEACHER, null, null, pageable);
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Task", result.getContent().get(0).getName());
+        verify(taskRepository, never()).findVisibleToUser(any(), any(), any(), any(), any());
+        verifyNoInteractions(userRepository);
         }
 
         @Test
         void getTasksByProjectIdAndUser_asStudentAssigned() {
-        user.setRole(Role.STUDENT);
-        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
-        when(userTeamRepository.existsByUserIdAndProjectId(1L, 1L)).thenReturn(false);
-        TaskAssignment assignment = mock(TaskAssignment.class);
-        when(assignment.getTask()).thenReturn(task);
-        when(taskAssignmentRepository.findById_AssignedIdAndId_AssignedType(1L, "USER")).thenReturn(List.of(assignment));
-        when(taskRepository.findByProject_ProjectId(1L)).thenReturn(List.of(task));
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
-
-        List<TaskDTO> result = taskService.getTasksByProjectIdAndUser(1L, "student@example.com");
-        assertEquals(1, result.size());
-        assertEquals("Test Task", result.get(0).getName());
+        Pageable pageable = PageRequest.of(0, 20);
+        when(taskRepository.findVisibleToUser(1L, 1L, TaskStatus.PENDING, TaskPriority.HIGH, pageable))
+                .thenReturn(new PageImpl<>(List.of(task), pageable, 1));
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
+
+        Page<TaskDTO> result = taskService.getTasksByProjectIdAndUser(
+                1L, 1L, Role.STUDENT, TaskStatus.PENDING, TaskPriority.HIGH, pageable);
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Task", result.getContent().get(0).getName());
+        verify(taskRepository, never()).findByProjectFiltered(any(), any(), any(), any());
+        verifyNoInteractions(membershipIndex);
         }
 
         @Test
-        void getTasksByProjectIdAndUser_userNotFound() {
-        when(userRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
-        assertThrows(RuntimeException.class, () -> taskService.getTasksByProjectIdAndUser(1L, "notfound@example.com"));
+        void getTasksByProjectIdAndUser_teacherOutsideProjectSeesOnlyAssigned() {
+        when(membershipIndex.isMember(1L, 1L)).thenReturn(false);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(taskRepository.findVisibleToUser(1L, 1L, null, null, pageable)).thenReturn(Page.empty(pageable));
+
+        Page<TaskDTO> result = taskService.getTasksByProjectIdAndUser(1L, 1L, Role.TEACHER, null, null, pageable);
+        assertTrue(result.isEmpty());
         }
 
         @Test
         void getAllTasks_successful() {
-        when(taskRepository.findAll()).thenReturn(List.of(task));
-        when(modelMapper.map(task, TaskDTO.class)).thenReturn(taskDTO);
+        when(taskRepository.findByTaskIdGreaterThanOrderByTaskIdAsc(0L, Limit.of(50))).thenReturn(List.of(task));
+        when(taskMapper.toDTO(task)).thenReturn(taskDTO);
 
-        List<TaskDTO> result = taskService.getAllTasks();
+        List<TaskDTO> result = taskService.getAllTasks(null, 50);
         assertEquals(1, result.size());
         assertEquals("Test Task", result.get(0).getName());
         }
 
+        @Test
+        void getAllTasks_afterCursor_queriesFromThatId() {
+        when(taskRepository.findByTaskIdGreaterThanOrderByTaskIdAsc(40L, Limit.of(10))).thenReturn(List.of());
+
+        List<TaskDTO> result = taskService.getAllTasks(40L, 10);
+        assertTrue(result.isEmpty());
+        verify(taskRepository, never()).findAll();
+        }
+
+        @Test
+        void streamAllTasks_pagesWithTheKeysetQuery() {
+        when(taskRepository.findByTaskIdGreaterThanOrderByTaskIdAsc(40L, Limit.of(500))).thenReturn(List.of(task));
+        List<TaskDTO> sink = new ArrayList<>();
+
+        taskService.streamAllTasks(sink::add);
+        ArgumentCaptor<BiFunction<Long, Limit, List<Task>>> page = ArgumentCaptor.forClass(BiFunction.class);
+        verify(entityStreamer).forEach(page.capture(), any(), any(), any());
+        assertEquals(List.of(task), page.getValue().apply(40L, Limit.of(500)));
+        }
+
         @Test
         void createTask_throwsIfDescriptionMissing() {
         taskDTO.setDescription(null);
@@ -230,23 +268,26 @@ class TaskServiceTest {
 
         @Test
         void createTask_throwsIfProjectNotFound() {
-        when(projectRepository.findById(1L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(1L)).thenReturn(false);
         Exception ex = assertThrows(RuntimeException.class, () -> taskService.createTask(taskDTO));
         assertEquals("Proyecto no encontrado", ex.getMessage());
         }
 
         @Test
         void createTask_throwsIfUserNotFound() {
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(1L)).thenReturn(false);
         Exception ex = assertThrows(RuntimeException.class, () -> taskService.createTask(taskDTO));
         assertEquals("Usuario no encontrado", ex.getMessage());
         }
 
         @Test
         void createTask_throwsIfTaskExists() {
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(taskRepository.existsByNameAndProject_ProjectId("Test Task", 1L)).thenReturn(true);
         Exception ex = assertThrows(IllegalArgumentException.class, () -> taskService.createTask(taskDTO));
         assertEquals("Ya existe una tarea con ese nombre en este proyecto", ex.getMessage());
@@ -262,7 +303,7 @@ class TaskServiceTest {
         void updateTask_projectNotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         taskDTO.setProjectId(2L);
-        when(projectRepository.findById(2L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(2L)).thenReturn(false);
         Exception ex = assertThrows(RuntimeException.class, () -> taskService.updateTask(1L, taskDTO));
         assertEquals("Proyecto no encontrado", ex.getMessage());
         }
@@ -271,8 +312,9 @@ class TaskServiceTest {
         void updateTask_userNotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         taskDTO.setCreatedById(2L);
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(2L)).thenReturn(false);
         Exception ex = assertThrows(RuntimeException.class, () -> taskService.updateTask(1L, taskDTO));
         assertEquals("Usuario no encontrado", ex.getMessage());
         }
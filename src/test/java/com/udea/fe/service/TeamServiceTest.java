@@ -4,9 +4,11 @@ import com.udea.fe.DTO.TeamDTO;
 import com.udea.fe.entity.*;
 import com.udea.fe.exception.*;
 import com.udea.fe.repository.*;
+import com.udea.fe.mapper.TeamMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 import java.util.List;
@@ -22,7 +24,8 @@ class TeamServiceTest {
     private ProjectRepository projectRepository;
     private UserRepository userRepository;
     private UserTeamRepository userTeamRepository;
-    private ModelMapper modelMapper;
+    private TeamMapper teamMapper;
+    private MembershipIndex membershipIndex;
     private TeamService teamService;
 
     @BeforeEach
@@ -31,9 +34,10 @@ class TeamServiceTest {
         projectRepository = mock(ProjectRepository.class);
         userRepository = mock(UserRepository.class);
         userTeamRepository = mock(UserTeamRepository.class);
-        modelMapper = mock(ModelMapper.class);
+        teamMapper = mock(TeamMapper.class);
+        membershipIndex = mock(MembershipIndex.class);
         teamService = new TeamService(teamRepository, projectRepository, userRepository, userTeamRepository,
-                modelMapper);
+                teamMapper, membershipIndex, new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -52,16 +56,18 @@ class TeamServiceTest {
         User leader = new User();
         leader.setUserId(2L);
 
-        when(modelMapper.map(dto, Team.class)).thenReturn(team);
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(leader));
-        when(teamRepository.save(team)).thenReturn(team);
-        when(modelMapper.map(team, TeamDTO.class)).thenReturn(dto);
+        when(teamMapper.toEntity(dto)).thenReturn(team);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(leader);
+        when(teamRepository.saveAndFlush(team)).thenReturn(team);
+        when(teamMapper.toDTO(team)).thenReturn(dto);
 
         TeamDTO result = teamService.createTeam(dto);
 
         assertEquals("Team 1", result.getName());
-        verify(teamRepository).save(team);
+        verify(teamRepository).saveAndFlush(team);
     }
 
     @Test
@@ -69,7 +75,7 @@ class TeamServiceTest {
         TeamDTO dto = new TeamDTO();
         dto.setProjectId(999L);
 
-        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(999L)).thenReturn(false);
 
         assertThrows(ProjectNotFoundException.class, () -> teamService.createTeam(dto));
     }
@@ -82,16 +88,22 @@ class TeamServiceTest {
 
         User user = new User();
         user.setUserId(userId);
+        Project project = new Project();
+        project.setProjectId(5L);
         Team team = new Team();
         team.setTeamId(teamId);
+        team.setProject(project);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+        when(teamRepository.getReferenceById(teamId)).thenReturn(team);
         when(userTeamRepository.existsById(new UserTeamId(userId, teamId))).thenReturn(false);
 
         teamService.addUserToTeam(userId, teamId, role);
 
-        verify(userTeamRepository).save(any(UserTeam.class));
+        verify(userTeamRepository).saveAndFlush(any(UserTeam.class));
+        verify(membershipIndex).memberAdded(userId, 5L);
     }
 
     @Test
@@ -108,6 +120,7 @@ class TeamServiceTest {
 
         // Verificar que se llamó deleteById con algún UserTeamId
         verify(userTeamRepository).deleteById(any(UserTeamId.class));
+        verify(membershipIndex).membershipsChanged(List.of(userId));
     }
 
     @Test
@@ -128,7 +141,7 @@ class TeamServiceTest {
         dto.setId(1L);
 
         when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
-        when(modelMapper.map(team, TeamDTO.class)).thenReturn(dto);
+        when(teamMapper.toDTO(team)).thenReturn(dto);
 
         TeamDTO result = teamService.getTeamById(1L);
         assertEquals(1L, result.getId());
@@ -139,9 +152,10 @@ class TeamServiceTest {
         Project project = new Project();
         Team team1 = new Team();
         Team team2 = new Team();
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
         when(teamRepository.findByProject(project)).thenReturn(List.of(team1, team2));
-        when(modelMapper.map(any(Team.class), eq(TeamDTO.class)))
+        when(teamMapper.toDTO(any(Team.class)))
                 .thenReturn(new TeamDTO(), new TeamDTO());
 
         List<TeamDTO> result = teamService.getTeamsByProject(1L);
@@ -168,23 +182,50 @@ class TeamServiceTest {
         updated.setTeamId(1L);
 
         when(teamRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(leader));
-        when(projectRepository.findById(3L)).thenReturn(Optional.of(project));
-        when(teamRepository.save(existing)).thenReturn(updated);
-        when(modelMapper.map(updated, TeamDTO.class)).thenReturn(dto);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(leader);
+        when(projectRepository.existsById(3L)).thenReturn(true);
+        when(projectRepository.getReferenceById(3L)).thenReturn(project);
+        when(teamRepository.saveAndFlush(existing)).thenReturn(updated);
+        when(teamMapper.toDTO(updated)).thenReturn(dto);
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(1L))).thenReturn(List.of(7L, 8L));
 
         TeamDTO result = teamService.updateTeam(1L, dto);
         assertEquals("new", result.getName());
+        verify(membershipIndex).membershipsChanged(List.of(7L, 8L));
+    }
+
+    @Test
+    void updateTeam_sameProject_keepsMembershipIndex() {
+        Project project = new Project();
+        project.setProjectId(3L);
+        Team existing = new Team();
+        existing.setTeamId(1L);
+        existing.setProject(project);
+
+        TeamDTO dto = new TeamDTO();
+        dto.setName("new");
+        dto.setProjectId(3L);
+
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(teamRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        teamService.updateTeam(1L, dto);
+
+        verify(projectRepository, never()).existsById(any());
+        verifyNoInteractions(membershipIndex);
     }
 
     @Test
     void deleteTeam_success() {
         when(teamRepository.existsById(1L)).thenReturn(true);
+        when(userTeamRepository.findUserIdsByTeamIds(List.of(1L))).thenReturn(List.of(4L));
         doNothing().when(teamRepository).deleteById(1L);
 
         teamService.deleteTeam(1L);
 
         verify(teamRepository).deleteById(1L);
+        verify(membershipIndex).membershipsChanged(List.of(4L));
     }
 
     @Test
@@ -206,8 +247,8 @@ class TeamServiceTest {
         userTeam.setTeam(team);
         userTeam.setUser(user);
 
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
-        when(userTeamRepository.findByTeam(team)).thenReturn(List.of(userTeam));
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+        when(userTeamRepository.findByTeam_TeamId(teamId)).thenReturn(List.of(userTeam));
 
         List<UserTeam> result = teamService.getUsersByTeam(teamId);
 
@@ -218,7 +259,7 @@ class TeamServiceTest {
     @Test
     void getUsersByTeam_teamNotFound_throws() {
         Long teamId = 1L;
-        when(teamRepository.findById(teamId)).thenReturn(Optional.empty());
+        when(teamRepository.existsById(teamId)).thenReturn(false);
 
         Exception ex = assertThrows(TeamNotFoundException.class, () -> teamService.getUsersByTeam(teamId));
         assertEquals("Equipo no encontrado", ex.getMessage());
@@ -236,8 +277,10 @@ class TeamServiceTest {
         Team team = new Team();
         team.setTeamId(teamId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+        when(teamRepository.getReferenceById(teamId)).thenReturn(team);
         when(userTeamRepository.existsById(any(UserTeamId.class))).thenReturn(true);
 
         Exception ex = assertThrows(AlreadyInTeamException.class,
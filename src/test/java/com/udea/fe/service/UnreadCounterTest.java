@@ -0,0 +1,147 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UnreadCounterTest {
+
+    private NotificationRepository notificationRepository;
+    private UnreadCounter unreadCounter;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        unreadCounter = new UnreadCounter(notificationRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void twoInstances_convergeOnceTheEntryExpires() {
+        AtomicLong nanos = new AtomicLong();
+        UnreadCounter writer = new UnreadCounter(notificationRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofSeconds(30), nanos::get);
+        UnreadCounter other = new UnreadCounter(notificationRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofSeconds(30), nanos::get);
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(4L, 4L, 0L);
+        writer.get(1L);
+        other.get(1L);
+
+        // markAllAsRead en la primera instancia: la segunda no se entera
+        writer.decrement(1L, 4);
+        assertEquals(0, writer.get(1L));
+        assertEquals(4, other.get(1L));
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertEquals(0, other.get(1L));
+    }
+
+    @Test
+    void get_missCountsOnceThenAnswersFromMemory() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(3L);
+
+        assertEquals(3, unreadCounter.get(1L));
+        assertEquals(3, unreadCounter.get(1L));
+
+        verify(notificationRepository, times(1)).countByUserUserIdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void incrementAndDecrement_adjustLoadedCounter() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(3L);
+        unreadCounter.get(1L);
+
+        unreadCounter.increment(1L, 2);
+        unreadCounter.decrement(1L);
+
+        assertEquals(4, unreadCounter.get(1L));
+    }
+
+    @Test
+    void decrement_neverGoesBelowZero() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(0L);
+        unreadCounter.get(1L);
+
+        unreadCounter.decrement(1L);
+
+        assertEquals(0, unreadCounter.get(1L));
+    }
+
+    @Test
+    void changes_forUnloadedUser_areIgnoredUntilLoaded() {
+        unreadCounter.increment(1L, 5);
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(2L);
+
+        assertEquals(2, unreadCounter.get(1L));
+    }
+
+    @Test
+    void changes_insideTransaction_applyOnlyAfterCommit() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(3L);
+        unreadCounter.get(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        unreadCounter.decrement(1L);
+        assertEquals(3, unreadCounter.get(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(2, unreadCounter.get(1L));
+    }
+
+    @Test
+    void invalidate_recountsOnNextGet() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(1L)).thenReturn(3L, 1L);
+        unreadCounter.get(1L);
+
+        unreadCounter.invalidate(1L);
+
+        assertEquals(1, unreadCounter.get(1L));
+    }
+
+    @Test
+    void onNotificationsCreated_countsPerRecipient() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(anyLong())).thenReturn(0L);
+        unreadCounter.get(1L);
+        unreadCounter.get(2L);
+
+        unreadCounter.onNotificationsCreated(new NotificationsCreatedEvent(List.of(
+                notification(1L), notification(1L), notification(2L))));
+
+        assertEquals(2, unreadCounter.get(1L));
+        assertEquals(1, unreadCounter.get(2L));
+    }
+
+    @Test
+    void onNotificationsCreated_ignoresCoalescedDigests() {
+        when(notificationRepository.countByUserUserIdAndIsReadFalse(anyLong())).thenReturn(1L);
+        unreadCounter.get(1L);
+
+        unreadCounter.onNotificationsCreated(new NotificationsCreatedEvent(List.of(), List.of(notification(1L))));
+
+        assertEquals(1, unreadCounter.get(1L));
+    }
+
+    private NotificationDTO notification(Long userId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setUserId(userId);
+        return dto;
+    }
+}
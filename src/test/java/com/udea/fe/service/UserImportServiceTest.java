@@ -0,0 +1,261 @@
+package com.udea.fe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.fe.DTO.UserImportReportDTO;
+import com.udea.fe.DTO.UserImportRowDTO;
+import com.udea.fe.DTO.UserKeyRow;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import com.udea.fe.mapper.UserMapperImpl;
+import com.udea.fe.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private static final String HEADER = "name,email,password,dni,role,status\n";
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private UserImportService userImportService;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> saveWithIds(invocation.getArgument(0)));
+        userImportService = service(500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    void importUsers_csv_createsValidRowsWithHashedPasswords() throws IOException {
+        UserImportReportDTO report = importCsv(HEADER
+                + "Ana,ana@udea.edu.co,secreta1,1001,STUDENT,\n"
+                + "Luis,luis@udea.edu.co,secreta2,1002,TEACHER,INACTIVE\n");
+
+        assertEquals(2, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertEquals(List.of(1L, 2L), report.getRows().stream().map(UserImportRowDTO::getUserId).toList());
+
+        List<User> saved = savedUsers().get(0);
+        assertEquals("hash:secreta1", saved.get(0).getPassword());
+        assertEquals(Role.STUDENT, saved.get(0).getRole());
+        assertEquals(Status.ACTIVE, saved.get(0).getStatus());
+        assertEquals(Status.INACTIVE, saved.get(1).getStatus());
+        assertNotNull(saved.get(0).getCreatedAt());
+    }
+
+    @Test
+    void importUsers_duplicates_areReportedPerRow() throws IOException {
+        when(userRepository.findKeysByEmailOrDni(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new UserKeyRow("ana@udea.edu.co", "9999")));
+
+        UserImportReportDTO report = importCsv(HEADER
+                + "Ana,ana@udea.edu.co,secreta,1001,STUDENT,\n"
+                + "Luis,luis@udea.edu.co,secreta,1002,STUDENT,\n"
+                + "Luisa,luisa@udea.edu.co,secreta,1002,STUDENT,\n"
+                + "Otro Luis,luis@udea.edu.co,secreta,1003,STUDENT,\n"
+                + "Luisa,luisa@udea.edu.co,secreta,1004,STUDENT,\n");
+
+        assertEquals(2, report.getCreated());
+        assertEquals(3, report.getFailed());
+        List<UserImportRowDTO> rows = report.getRows();
+        assertEquals(UserImportService.MSG_EMAIL_DUPLICADO, rows.get(0).getMessage());
+        assertEquals(UserImportRowDTO.CREATED, rows.get(1).getStatus());
+        assertEquals(UserImportService.MSG_DNI_DUPLICADO, rows.get(2).getMessage());
+        assertEquals(UserImportService.MSG_EMAIL_DUPLICADO, rows.get(3).getMessage());
+        // La fila 3 se rechazó por el DNI: su email sigue libre para la fila 5
+        assertEquals(UserImportRowDTO.CREATED, rows.get(4).getStatus());
+        verify(userRepository, times(1)).findKeysByEmailOrDni(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void importUsers_largeFile_oneQueryAndOneBatchPerChunk() throws IOException {
+        userImportService.shutdown();
+        userImportService = service(2);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 5; i++) {
+            csv.append("Usuario ").append(i).append(",u").append(i).append("@udea.edu.co,secreta,").append(i).append(",STUDENT,\n");
+        }
+
+        UserImportReportDTO report = importCsv(csv.toString());
+
+        assertEquals(5, report.getCreated());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), report.getRows().stream().map(UserImportRowDTO::getRow).toList());
+        verify(userRepository, times(3)).findKeysByEmailOrDni(anyCollection(), anyCollection());
+        assertEquals(List.of(2, 2, 1), savedUsers().stream().map(List::size).toList());
+    }
+
+    @Test
+    void importUsers_json_invalidAndIncompleteRowsAreRejected() throws IOException {
+        UserImportReportDTO report = importJson("""
+                [
+                  {"name": "Ana", "email": "ana@udea.edu.co", "password": "secreta", "dni": "1001", "role": "STUDENT"},
+                  {"name": "Luis", "email": "luis@udea.edu.co", "password": "secreta", "dni": "1002", "role": "DECANO"},
+                  {"name": "Sin clave", "email": "sinclave@udea.edu.co", "dni": "1003"}
+                ]
+                """);
+
+        assertEquals(1, report.getCreated());
+        assertEquals(UserImportRowDTO.ERROR, report.getRows().get(1).getStatus());
+        assertTrue(report.getRows().get(1).getMessage().startsWith("Fila inválida"));
+        assertEquals("luis@udea.edu.co", report.getRows().get(1).getEmail());
+        assertEquals("Faltan campos obligatorios: password", report.getRows().get(2).getMessage());
+    }
+
+    @Test
+    void importUsers_adminRole_isRejectedAndMissingRoleDefaultsToStudent() throws IOException {
+        UserImportReportDTO report = importCsv(HEADER
+                + "Ana,ana@udea.edu.co,secreta1,1001,,\n"
+                + "Root,root@udea.edu.co,secreta2,1002,ADMIN,\n");
+
+        assertEquals(1, report.getCreated());
+        assertEquals(UserImportRowDTO.ERROR, report.getRows().get(1).getStatus());
+        assertEquals(UserImportService.MSG_ROL_NO_PERMITIDO, report.getRows().get(1).getMessage());
+        List<User> saved = savedUsers().get(0);
+        assertEquals(1, saved.size());
+        assertEquals(Role.STUDENT, saved.get(0).getRole());
+    }
+
+    @Test
+    void importUsers_adminRoleWithFlag_isCreated() throws IOException {
+        userImportService.shutdown();
+        userImportService = service(500, true);
+
+        UserImportReportDTO report = importCsv(HEADER + "Root,root@udea.edu.co,secreta,1002,ADMIN,\n");
+
+        assertEquals(1, report.getCreated());
+        assertEquals(Role.ADMIN, savedUsers().get(0).get(0).getRole());
+    }
+
+    @Test
+    void importUsers_onlyInvalidRows_skipsDatabase() throws IOException {
+        UserImportReportDTO report = importCsv(HEADER + "Ana,,secreta,,STUDENT,\n");
+
+        assertEquals(1, report.getFailed());
+        assertEquals("Faltan campos obligatorios: email, dni", report.getRows().get(0).getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void importUsers_malformedJson_keepsRowsReadBeforeTheError() throws IOException {
+        UserImportReportDTO report = importJson("""
+                [
+                  {"name": "Ana", "email": "ana@udea.edu.co", "password": "secreta", "dni": "1001"},
+                  {"name": "Luis", "email":
+                """);
+
+        assertEquals(2, report.getTotal());
+        assertEquals(UserImportRowDTO.CREATED, report.getRows().get(0).getStatus());
+        assertEquals(2, report.getRows().get(1).getRow());
+        assertTrue(report.getRows().get(1).getMessage().startsWith("Archivo mal formado"));
+    }
+
+    @Test
+    void importUsers_concurrentConflict_marksChunkAsFailed() throws IOException {
+        when(userRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uq_users_email"));
+
+        UserImportReportDTO report = importCsv(HEADER + "Ana,ana@udea.edu.co,secreta,1001,STUDENT,\n");
+
+        assertEquals(0, report.getCreated());
+        assertEquals(UserImportService.MSG_CONFLICTO, report.getRows().get(0).getMessage());
+    }
+
+    @Test
+    void importUsers_failedChunk_isReportedAndLaterChunksAreImported() throws IOException {
+        userImportService.shutdown();
+        userImportService = service(2);
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> saveWithIds(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("conexión cerrada"))
+                .thenAnswer(invocation -> saveWithIds(invocation.getArgument(0)));
+
+        UserImportReportDTO report = importCsv(HEADER
+                + "Ana,ana@udea.edu.co,secreta,1001,STUDENT,\n"
+                + "Luis,luis@udea.edu.co,secreta,1002,STUDENT,\n"
+                + "Eva,eva@udea.edu.co,secreta,1003,STUDENT,\n"
+                + "Juan,juan@udea.edu.co,secreta,1004,STUDENT,\n"
+                + "Sara,sara@udea.edu.co,secreta,1005,STUDENT,\n");
+
+        assertEquals(5, report.getTotal());
+        assertEquals(3, report.getCreated());
+        List<UserImportRowDTO> rows = report.getRows();
+        assertEquals(List.of(UserImportRowDTO.CREATED, UserImportRowDTO.CREATED, UserImportRowDTO.ERROR,
+                UserImportRowDTO.ERROR, UserImportRowDTO.CREATED), rows.stream().map(UserImportRowDTO::getStatus).toList());
+        assertEquals(UserImportService.MSG_ERROR_BLOQUE, rows.get(2).getMessage());
+        assertEquals("juan@udea.edu.co", rows.get(3).getEmail());
+    }
+
+    @Test
+    void importUsers_hashingFailure_marksChunkAsFailed() throws IOException {
+        when(passwordEncoder.encode("rota")).thenThrow(new IllegalArgumentException("clave no válida"));
+
+        UserImportReportDTO report = importCsv(HEADER
+                + "Ana,ana@udea.edu.co,secreta,1001,STUDENT,\n"
+                + "Luis,luis@udea.edu.co,rota,1002,STUDENT,\n");
+
+        assertEquals(0, report.getCreated());
+        assertEquals(UserImportService.MSG_ERROR_BLOQUE, report.getRows().get(0).getMessage());
+        assertEquals(UserImportService.MSG_ERROR_BLOQUE, report.getRows().get(1).getMessage());
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    private UserImportService service(int chunkSize) {
+        return service(chunkSize, false);
+    }
+
+    private UserImportService service(int chunkSize, boolean allowAdmin) {
+        return new UserImportService(userRepository, passwordEncoder, new UserMapperImpl(), new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), chunkSize, 2, allowAdmin);
+    }
+
+    private UserImportReportDTO importCsv(String content) throws IOException {
+        return userImportService.importUsers(stream(content), UserImportService.Format.CSV);
+    }
+
+    private UserImportReportDTO importJson(String content) throws IOException {
+        return userImportService.importUsers(stream(content), UserImportService.Format.JSON);
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<User> saveWithIds(List<User> users) {
+        users.forEach(user -> user.setUserId(ids.incrementAndGet()));
+        return users;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<User>> savedUsers() {
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, atLeastOnce()).saveAll(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+}
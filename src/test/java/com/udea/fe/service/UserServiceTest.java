@@ -6,9 +6,12 @@ import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.UserException;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.service.PrincipalCache;
+import com.udea.fe.security.service.TokenRevocationList;
+import com.udea.fe.mapper.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -24,15 +27,21 @@ class UserServiceTest {
 
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+    private PrincipalCache principalCache;
+    private TokenRevocationList tokenRevocationList;
+    private EntityStreamer entityStreamer;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
         passwordEncoder = mock(PasswordEncoder.class);
-        modelMapper = mock(ModelMapper.class);
-        userService = new UserService(userRepository, passwordEncoder, modelMapper);
+        userMapper = mock(UserMapper.class);
+        principalCache = mock(PrincipalCache.class);
+        tokenRevocationList = mock(TokenRevocationList.class);
+        entityStreamer = mock(EntityStreamer.class);
+        userService = new UserService(userRepository, passwordEncoder, userMapper, principalCache, tokenRevocationList, entityStreamer);
     }
 
     @Test
@@ -49,8 +58,8 @@ class UserServiceTest {
         when(userRepository.findByDni("123")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("juan@mail.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("pass")).thenReturn("encrypted");
-        when(modelMapper.map(any(UserDTO.class), eq(User.class))).thenReturn(user);
-        when(modelMapper.map(any(User.class), eq(UserDTO.class))).thenReturn(dto);
+        when(userMapper.toEntity(any(UserDTO.class))).thenReturn(user);
+        when(userMapper.toDTO(any(User.class))).thenReturn(dto);
         when(userRepository.save(any())).thenReturn(user);
 
         UserDTO result = userService.createUser(dto);
@@ -73,8 +82,8 @@ class UserServiceTest {
         when(userRepository.findByDni("321")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("ana@mail.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("clave")).thenReturn("encrypted");
-        when(modelMapper.map(any(UserDTO.class), eq(User.class))).thenReturn(user);
-        when(modelMapper.map(any(User.class), eq(UserDTO.class))).thenReturn(dto);
+        when(userMapper.toEntity(any(UserDTO.class))).thenReturn(user);
+        when(userMapper.toDTO(any(User.class))).thenReturn(dto);
         when(userRepository.save(any())).thenAnswer(invocation -> {
             User u = invocation.getArgument(0);
             u.setCreatedAt(LocalDateTime.now());
@@ -120,7 +129,7 @@ class UserServiceTest {
         UserDTO dto = new UserDTO(1L, "Carlos", "carlos@mail.com", "999", "pass", Role.STUDENT, Status.ACTIVE);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserDTO.class)).thenReturn(dto);
+        when(userMapper.toDTO(user)).thenReturn(dto);
 
         UserDTO result = userService.getUserByID(1L);
         assertEquals("Carlos", result.getName());
@@ -146,11 +155,11 @@ class UserServiceTest {
         UserDTO dto1 = new UserDTO(1L, "A", "a@mail.com", "111", null, Role.STUDENT, Status.ACTIVE);
         UserDTO dto2 = new UserDTO(2L, "B", "b@mail.com", "222", null, Role.TEACHER, Status.ACTIVE);
 
-        when(userRepository.findByRoleNot(Role.ADMIN)).thenReturn(List.of(user1, user2));
-        when(modelMapper.map(user1, UserDTO.class)).thenReturn(dto1);
-        when(modelMapper.map(user2, UserDTO.class)).thenReturn(dto2);
+        when(userRepository.findByRoleNotAndUserIdGreaterThanOrderByUserIdAsc(Role.ADMIN, 0L, Limit.of(50))).thenReturn(List.of(user1, user2));
+        when(userMapper.toDTO(user1)).thenReturn(dto1);
+        when(userMapper.toDTO(user2)).thenReturn(dto2);
 
-        List<UserDTO> users = userService.getAllUsers();
+        List<UserDTO> users = userService.getAllUsers(null, 50);
         assertEquals(2, users.size());
     }
 
@@ -211,6 +220,7 @@ class UserServiceTest {
     void deactivateUser_success() {
         User user = new User();
         user.setUserId(1L);
+        user.setEmail("user@mail.com");
         user.setStatus(Status.ACTIVE);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -220,6 +230,8 @@ class UserServiceTest {
 
         assertEquals(Status.INACTIVE, user.getStatus());
         verify(userRepository).save(user);
+        verify(principalCache).evict("user@mail.com");
+        verify(tokenRevocationList).revoke("user@mail.com");
     }
 
     @Test
@@ -269,7 +281,7 @@ class UserServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
         when(passwordEncoder.encode("nuevaClave")).thenReturn("claveCifrada");
         when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(modelMapper.map(any(User.class), eq(UserDTO.class))).thenReturn(dto);
+        when(userMapper.toDTO(any(User.class))).thenReturn(dto);
 
         UserDTO resultado = userService.updateUser(userId, dto);
 
@@ -7,9 +7,12 @@ import com.udea.fe.exception.ProjectNotFoundException;
 import com.udea.fe.exception.WorkspaceNotFoundException;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.WorkspaceRepository;
+import com.udea.fe.mapper.WorkspaceMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,15 +24,18 @@ class WorkspaceServiceTest {
 
     private WorkspaceRepository workspaceRepository;
     private ProjectRepository projectRepository;
-    private ModelMapper modelMapper;
+    private WorkspaceMapper workspaceMapper;
+    private EntityStreamer entityStreamer;
     private WorkspaceService workspaceService;
 
     @BeforeEach
     void setUp() {
         workspaceRepository = mock(WorkspaceRepository.class);
         projectRepository = mock(ProjectRepository.class);
-        modelMapper = mock(ModelMapper.class);
-        workspaceService = new WorkspaceService(workspaceRepository, projectRepository, modelMapper);
+        workspaceMapper = mock(WorkspaceMapper.class);
+        entityStreamer = mock(EntityStreamer.class);
+        workspaceService = new WorkspaceService(workspaceRepository, projectRepository, workspaceMapper, entityStreamer,
+                new EntityReferences(new ConcurrentMapCacheManager(), mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -40,15 +46,16 @@ class WorkspaceServiceTest {
         Project project = new Project();
         Workspace savedWorkspace = new Workspace();
 
-        when(modelMapper.map(dto, Workspace.class)).thenReturn(workspace);
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(workspaceRepository.save(workspace)).thenReturn(savedWorkspace);
-        when(modelMapper.map(savedWorkspace, WorkspaceDTO.class)).thenReturn(dto);
+        when(workspaceMapper.toEntity(dto)).thenReturn(workspace);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(workspaceRepository.saveAndFlush(workspace)).thenReturn(savedWorkspace);
+        when(workspaceMapper.toDTO(savedWorkspace)).thenReturn(dto);
 
         WorkspaceDTO result = workspaceService.createWorkspace(dto);
 
         assertNotNull(result);
-        verify(workspaceRepository).save(workspace);
+        verify(workspaceRepository).saveAndFlush(workspace);
     }
 
     @Test
@@ -57,7 +64,7 @@ class WorkspaceServiceTest {
         WorkspaceDTO dto = new WorkspaceDTO();
         dto.setProjectId(999L); // Un ID que no existe
 
-        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+        when(projectRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
         ProjectNotFoundException ex = assertThrows(
@@ -72,7 +79,7 @@ class WorkspaceServiceTest {
         WorkspaceDTO dto = new WorkspaceDTO();
 
         when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
-        when(modelMapper.map(workspace, WorkspaceDTO.class)).thenReturn(dto);
+        when(workspaceMapper.toDTO(workspace)).thenReturn(dto);
 
         WorkspaceDTO result = workspaceService.getWorkspaceById(1L);
 
@@ -90,10 +97,10 @@ class WorkspaceServiceTest {
         Workspace workspace = new Workspace();
         WorkspaceDTO dto = new WorkspaceDTO();
 
-        when(workspaceRepository.findAll()).thenReturn(List.of(workspace));
-        when(modelMapper.map(workspace, WorkspaceDTO.class)).thenReturn(dto);
+        when(workspaceRepository.findByWorkspaceIdGreaterThanOrderByWorkspaceIdAsc(0L, Limit.of(50))).thenReturn(List.of(workspace));
+        when(workspaceMapper.toDTO(workspace)).thenReturn(dto);
 
-        List<WorkspaceDTO> result = workspaceService.getAllWorkspaces();
+        List<WorkspaceDTO> result = workspaceService.getAllWorkspaces(null, 50);
         assertEquals(1, result.size());
     }
 
@@ -109,10 +116,11 @@ class WorkspaceServiceTest {
             WorkspaceDTO source = invocation.getArgument(0);
             Workspace dest = invocation.getArgument(1);
             return null;
-        }).when(modelMapper).map(any(WorkspaceDTO.class), any(Workspace.class));
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(workspaceRepository.save(workspace)).thenReturn(workspace);
-        when(modelMapper.map(workspace, WorkspaceDTO.class)).thenReturn(dto);
+        }).when(workspaceMapper).updateEntity(any(WorkspaceDTO.class), any(Workspace.class));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        when(workspaceRepository.saveAndFlush(workspace)).thenReturn(workspace);
+        when(workspaceMapper.toDTO(workspace)).thenReturn(dto);
 
         WorkspaceDTO result = workspaceService.updateWorkspace(1L, dto);
 